@@ -65,6 +65,11 @@ public interface Claims {
      */
     String domain = "domain";
 
+    /**
+     * The "token_type" claim identifies the kind of token (access or refresh token) the JWT has been issued as.
+     */
+    String token_type = "token_type";
+
     /**
      * The claims parameter used to request that specific Claims be returned
      */
@@ -106,6 +106,14 @@ public class JWT extends HashMap<String, Object> {
         put(Claims.domain, domain);
     }
 
+    public String getTokenType() {
+        return containsKey(Claims.token_type) ? (String) get(Claims.token_type) : null;
+    }
+
+    public void setTokenType(String tokenType) {
+        put(Claims.token_type, tokenType);
+    }
+
     public Object getClaimsRequestParameter() {
         return get(Claims.claims);
     }
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.core.domain;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outcome of the security domains deployments on the gateway node.
+ *
+ * Domain events are handled by listeners which can not report errors to the publisher, failed deployments are
+ * recorded here so that they can be retried. The progress of the deployment done at startup and the deployment and
+ * update durations are exposed through the readiness check.
+ *
+ * @author GraviteeSource Team
+ */
+public class DomainDeploymentStatus {
+
+    private final Set<String> failedDomains = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger bootstrapProcessed = new AtomicInteger();
+    private volatile int bootstrapTotal = -1;
+    private volatile boolean bootstrapped;
+    private final AtomicLong deployments = new AtomicLong();
+    private final AtomicLong deploymentTime = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong updateTime = new AtomicLong();
+    private final AtomicLong maxUpdateTime = new AtomicLong();
+
+    /**
+     * @param domainId the deployed domain
+     * @param time deployment duration in milliseconds
+     */
+    public void deployed(String domainId, long time) {
+        failedDomains.remove(domainId);
+        deployments.incrementAndGet();
+        deploymentTime.addAndGet(time);
+    }
+
+    /**
+     * @param domainId the domain whose settings have been updated in place
+     * @param time update duration in milliseconds
+     */
+    public void updated(String domainId, long time) {
+        updates.incrementAndGet();
+        updateTime.addAndGet(time);
+        maxUpdateTime.accumulateAndGet(time, Math::max);
+    }
+
+    public void failed(String domainId) {
+        failedDomains.add(domainId);
+    }
+
+    public void removed(String domainId) {
+        failedDomains.remove(domainId);
+    }
+
+    public boolean isFailed(String domainId) {
+        return failedDomains.contains(domainId);
+    }
+
+    public Set<String> getFailedDomains() {
+        return Collections.unmodifiableSet(new HashSet<>(failedDomains));
+    }
+
+    public void bootstrapStarted(int domains) {
+        bootstrapProcessed.set(0);
+        bootstrapTotal = domains;
+    }
+
+    public void bootstrapProgress() {
+        bootstrapProcessed.incrementAndGet();
+    }
+
+    public void bootstrapCompleted() {
+        bootstrapped = true;
+    }
+
+    /**
+     * @return <code>true</code> once every domain known at startup has been deployed or has failed to deploy
+     */
+    public boolean isBootstrapped() {
+        return bootstrapped;
+    }
+
+    /**
+     * @return the number of domains deployed at startup, -1 until the domains have been loaded
+     */
+    public int getBootstrapTotal() {
+        return bootstrapTotal;
+    }
+
+    public int getBootstrapProcessed() {
+        return bootstrapProcessed.get();
+    }
+
+    public long getDeployments() {
+        return deployments.get();
+    }
+
+    /**
+     * @return average deployment duration in milliseconds
+     */
+    public long getAverageDeploymentTime() {
+        long count = deployments.get();
+        return count == 0 ? 0 : deploymentTime.get() / count;
+    }
+
+    public long getUpdates() {
+        return updates.get();
+    }
+
+    /**
+     * @return average in place update duration in milliseconds
+     */
+    public long getAverageUpdateTime() {
+        long count = updates.get();
+        return count == 0 ? 0 : updateTime.get() / count;
+    }
+
+    public long getMaxUpdateTime() {
+        return maxUpdateTime.get();
+    }
+}
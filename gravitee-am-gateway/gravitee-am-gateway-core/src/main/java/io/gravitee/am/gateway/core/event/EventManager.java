@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.core.event;
+
+import io.gravitee.common.event.EventListener;
+
+/**
+ * Gateway event manager with per security domain topics.
+ *
+ * Events carrying a {@link io.gravitee.am.model.common.event.Payload} are only delivered to the listeners of the
+ * payload's domain (and to the listeners subscribed without domain), asynchronously and in publication order for a
+ * given domain. Any other event is delivered synchronously to the listeners subscribed without domain.
+ *
+ * @author GraviteeSource Team
+ */
+public interface EventManager extends io.gravitee.common.event.EventManager {
+
+    /**
+     * Subscribe to the events of a single security domain, or to the events of every domain if <code>domain</code>
+     * is <code>null</code>.
+     */
+    <T extends Enum> void subscribeForEvents(EventListener<T, ?> eventListener, Class<T> events, String domain);
+
+    /**
+     * Remove a listener previously registered with {@link #subscribeForEvents(EventListener, Class, String)}.
+     */
+    <T extends Enum> void unsubscribeForEvents(EventListener<T, ?> eventListener, Class<T> events, String domain);
+}
@@ -17,25 +17,28 @@ package io.gravitee.am.gateway.handler;
 
 import io.gravitee.am.gateway.handler.auth.idp.IdentityProviderManager;
 import io.gravitee.am.gateway.handler.certificate.CertificateManager;
+import io.gravitee.am.gateway.handler.domain.UpdatableDomain;
 import io.gravitee.am.gateway.handler.oauth2.client.ClientService;
 import io.gravitee.am.gateway.handler.oauth2.granter.extensiongrant.ExtensionGrantManager;
+import io.gravitee.am.gateway.handler.oauth2.scope.ScopeService;
 import io.gravitee.am.gateway.handler.spring.HandlerConfiguration;
 import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
+import io.gravitee.am.gateway.service.RoleService;
 import io.gravitee.am.model.Domain;
 import io.gravitee.common.component.LifecycleComponent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.ApplicationContext;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.AnnotatedBeanDefinitionReader;
 import org.springframework.context.support.AbstractApplicationContext;
-import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
 
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -45,14 +48,38 @@ public class SecurityDomainRouterFactory {
 
     private final Logger logger = LoggerFactory.getLogger(SecurityDomainRouterFactory.class);
 
+    // components that require event listener feature
+    private static final List<Class<? extends LifecycleComponent>> COMPONENTS = Arrays.asList(
+            ClientService.class,
+            CertificateManager.class,
+            IdentityProviderManager.class,
+            ExtensionGrantManager.class,
+            RoleService.class,
+            ScopeService.class);
+
     @Autowired
     private ApplicationContext gatewayApplicationContext;
 
+    private final Map<String, AbstractApplicationContext> domainApplicationContexts = new ConcurrentHashMap<>();
+
     public VertxSecurityDomainHandler create(Domain domain) {
         if (domain.isEnabled()) {
-            AbstractApplicationContext internalApplicationContext = createApplicationContext(domain);
-            startComponents(internalApplicationContext);
+            long startTime = System.currentTimeMillis();
+            ComponentTimings timings = new ComponentTimings();
+            AbstractApplicationContext internalApplicationContext = createApplicationContext(domain, timings);
+            long contextTime = System.currentTimeMillis() - startTime;
+            try {
+                startComponents(internalApplicationContext, timings);
+            } catch (RuntimeException ex) {
+                // the domain is not deployed, release what has already been started
+                stopComponents(internalApplicationContext);
+                internalApplicationContext.close();
+                throw ex;
+            }
             VertxSecurityDomainHandler handler = internalApplicationContext.getBean(VertxSecurityDomainHandler.class);
+            domainApplicationContexts.put(domain.getId(), internalApplicationContext);
+            logger.info("Domain {} started in {} ms (context: {} ms, {})",
+                    domain.getName(), System.currentTimeMillis() - startTime, contextTime, timings);
             return handler;
         } else {
             logger.warn("Domain is disabled !");
@@ -60,46 +87,112 @@ public class SecurityDomainRouterFactory {
         }
     }
 
-    AbstractApplicationContext createApplicationContext(Domain domain) {
-        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+    /**
+     * Stop the components of an undeployed domain so that they release the resources they share with other domains,
+     * then close the domain context to destroy its beans.
+     *
+     * @param domain the undeployed domain
+     */
+    public void destroy(Domain domain) {
+        AbstractApplicationContext applicationContext = domainApplicationContexts.remove(domain.getId());
+        if (applicationContext != null) {
+            stopComponents(applicationContext);
+            try {
+                applicationContext.close();
+            } catch (Exception e) {
+                logger.error("An error occurs while closing the context of domain {}", domain.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Each domain still runs in its own Spring context, trimmed down to the domain-bound components: stateless services
+     * are shared from the gateway context.
+     *
+     * No classpath scanner is created (the domain configuration is explicit) and the gateway class loader is used
+     * so that the configuration classes proxies are generated once. Placeholders are resolved against the gateway
+     * environment, unresolvable placeholders are left as is.
+     */
+    AbstractApplicationContext createApplicationContext(Domain domain, BeanPostProcessor timings) {
+        GenericApplicationContext context = new GenericApplicationContext();
         context.setParent(gatewayApplicationContext);
-        context.setClassLoader(new ReactorHandlerClassLoader(gatewayApplicationContext.getClassLoader()));
         context.setEnvironment((ConfigurableEnvironment) gatewayApplicationContext.getEnvironment());
+        context.getBeanFactory().addBeanPostProcessor(timings);
 
-        PropertySourcesPlaceholderConfigurer configurer = new PropertySourcesPlaceholderConfigurer();
-        configurer.setIgnoreUnresolvablePlaceholders(true);
-        configurer.setEnvironment(gatewayApplicationContext.getEnvironment());
-        context.addBeanFactoryPostProcessor(configurer);
-
-        context.getBeanFactory().registerSingleton("domain", domain);
-        context.register(HandlerConfiguration.class);
+        // domain settings can be updated while the domain is running
+        context.getBeanFactory().registerSingleton("domain", new UpdatableDomain(domain));
+        new AnnotatedBeanDefinitionReader(context).register(HandlerConfiguration.class);
         context.setId("context-domain-" + domain.getId());
         context.refresh();
 
         return context;
     }
 
-    private static class ReactorHandlerClassLoader extends URLClassLoader {
-        public ReactorHandlerClassLoader(ClassLoader parent) {
-            super(new URL[]{}, parent);
-        }
-    }
-
-    private void startComponents(ApplicationContext applicationContext) {
-        // register components that require event listener feature
-        List<Class<? extends LifecycleComponent>> components = new ArrayList<>();
-        components.add(ClientService.class);
-        components.add(CertificateManager.class);
-        components.add(IdentityProviderManager.class);
-        components.add(ExtensionGrantManager.class);
-
-        components.forEach(componentClass -> {
+    private void startComponents(ApplicationContext applicationContext, ComponentTimings timings) {
+        COMPONENTS.forEach(componentClass -> {
             LifecycleComponent lifecyclecomponent = applicationContext.getBean(componentClass);
+            long startTime = System.currentTimeMillis();
             try {
                 lifecyclecomponent.start();
             } catch (Exception e) {
-                logger.error("An error occurs while starting component {}", componentClass.getSimpleName(), e);
+                throw new IllegalStateException("An error occurs while starting component " + componentClass.getSimpleName(), e);
+            }
+            timings.started(componentClass, System.currentTimeMillis() - startTime);
+        });
+    }
+
+    private void stopComponents(ApplicationContext applicationContext) {
+        COMPONENTS.forEach(componentClass -> {
+            try {
+                applicationContext.getBean(componentClass).stop();
+            } catch (Exception e) {
+                logger.error("An error occurs while stopping component {}", componentClass.getSimpleName(), e);
             }
         });
     }
+
+    /**
+     * Record the initialization (clients, certificates, identity providers, ... loading) and start durations
+     * of the domain components.
+     */
+    private static class ComponentTimings implements BeanPostProcessor {
+
+        private final Map<String, Long> initStartTimes = new ConcurrentHashMap<>();
+        private final Map<Class<?>, Long> initTimes = new ConcurrentHashMap<>();
+        private final Map<Class<?>, Long> startTimes = new ConcurrentHashMap<>();
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+            if (component(bean) != null) {
+                initStartTimes.put(beanName, System.currentTimeMillis());
+            }
+            return bean;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            Long initStartTime = initStartTimes.remove(beanName);
+            if (initStartTime != null) {
+                initTimes.put(component(bean), System.currentTimeMillis() - initStartTime);
+            }
+            return bean;
+        }
+
+        void started(Class<?> component, long time) {
+            startTimes.put(component, time);
+        }
+
+        private static Class<?> component(Object bean) {
+            return COMPONENTS.stream().filter(componentClass -> componentClass.isInstance(bean)).findFirst().orElse(null);
+        }
+
+        @Override
+        public String toString() {
+            StringJoiner joiner = new StringJoiner(", ");
+            COMPONENTS.forEach(componentClass -> joiner.add(componentClass.getSimpleName()
+                    + ": init " + initTimes.getOrDefault(componentClass, 0L) + " ms"
+                    + ", start " + startTimes.getOrDefault(componentClass, 0L) + " ms"));
+            return joiner.toString();
+        }
+    }
 }
@@ -15,6 +15,7 @@
  */
 package io.gravitee.am.gateway.handler.auth.idp.impl;
 
+import io.gravitee.am.gateway.core.event.EventManager;
 import io.gravitee.am.gateway.core.event.IdentityProviderEvent;
 import io.gravitee.am.gateway.handler.auth.idp.IdentityProviderManager;
 import io.gravitee.am.identityprovider.api.AuthenticationProvider;
@@ -25,9 +26,9 @@ import io.gravitee.am.plugins.idp.core.IdentityProviderPluginManager;
 import io.gravitee.am.repository.management.api.IdentityProviderRepository;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventListener;
-import io.gravitee.common.event.EventManager;
 import io.gravitee.common.service.AbstractService;
 import io.reactivex.Maybe;
+import io.reactivex.schedulers.Schedulers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
@@ -64,7 +65,16 @@ public class IdentityProviderManagerImpl extends AbstractService implements Iden
     @Override
     public Maybe<AuthenticationProvider> get(String id) {
         AuthenticationProvider authenticationProvider = providers.get(id);
-        return (authenticationProvider != null) ? Maybe.just(authenticationProvider) : Maybe.empty();
+        if (authenticationProvider != null) {
+            return Maybe.just(authenticationProvider);
+        }
+        if (!identities.containsKey(id)) {
+            return Maybe.empty();
+        }
+
+        // authentication providers are created on first use, plugin context creation must not run on the event loop
+        return Maybe.fromCallable(() -> providers.computeIfAbsent(id, this::acquireAuthenticationProvider))
+                .subscribeOn(Schedulers.io());
     }
 
     @Override
@@ -78,10 +88,10 @@ public class IdentityProviderManagerImpl extends AbstractService implements Iden
         logger.info("Initializing identity providers for domain {}", domain.getName());
 
         // identity providers are required for extension grants bean creation
-        // make blocking call to create them first
+        // make blocking call to load them first, authentication providers are created on first use
         try {
             Set<IdentityProvider> identityProviders = identityProviderRepository.findByDomain(domain.getId()).blockingGet();
-            identityProviders.forEach(identityProvider -> updateAuthenticationProvider(identityProvider));
+            identityProviders.forEach(identityProvider -> identities.put(identityProvider.getId(), identityProvider));
             logger.info("Identity providers loaded for domain {}", domain.getName());
         } catch (Exception e) {
             logger.error("Unable to initialize identity providers for domain {}", domain.getName(), e);
@@ -93,7 +103,17 @@ public class IdentityProviderManagerImpl extends AbstractService implements Iden
         super.doStart();
 
         logger.info("Register event listener for identity provider events");
-        eventManager.subscribeForEvents(this, IdentityProviderEvent.class);
+        eventManager.subscribeForEvents(this, IdentityProviderEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        eventManager.unsubscribeForEvents(this, IdentityProviderEvent.class, domain.getId());
+
+        // authentication providers may be shared with other domains
+        providers.keySet().forEach(this::releaseAuthenticationProvider);
     }
 
     @Override
@@ -126,16 +146,31 @@ public class IdentityProviderManagerImpl extends AbstractService implements Iden
 
     private void removeIdentityProvider(String identityProviderId) {
         logger.info("Domain {} has received identity provider event, delete identity provider {}", domain.getName(), identityProviderId);
-        providers.remove(identityProviderId);
         identities.remove(identityProviderId);
+        releaseAuthenticationProvider(identityProviderId);
     }
 
     private void updateAuthenticationProvider(IdentityProvider identityProvider) {
-        logger.info("\tInitializing identity provider: {} [{}]", identityProvider.getName(), identityProvider.getType());
-        AuthenticationProvider authenticationProvider =
-                identityProviderPluginManager.create(identityProvider.getType(), identityProvider.getConfiguration(),
-                        identityProvider.getMappers(), identityProvider.getRoleMapper());
-        providers.put(identityProvider.getId(), authenticationProvider);
+        // the new configuration is used on next authentication
         identities.put(identityProvider.getId(), identityProvider);
+        releaseAuthenticationProvider(identityProvider.getId());
+    }
+
+    private AuthenticationProvider acquireAuthenticationProvider(String identityProviderId) {
+        IdentityProvider identityProvider = identities.get(identityProviderId);
+        if (identityProvider == null) {
+            return null;
+        }
+
+        logger.info("\tInitializing identity provider: {} [{}]", identityProvider.getName(), identityProvider.getType());
+        return identityProviderPluginManager.acquire(identityProvider.getType(), identityProvider.getConfiguration(),
+                identityProvider.getMappers(), identityProvider.getRoleMapper());
+    }
+
+    private void releaseAuthenticationProvider(String identityProviderId) {
+        AuthenticationProvider authenticationProvider = providers.remove(identityProviderId);
+        if (authenticationProvider != null) {
+            identityProviderPluginManager.release(authenticationProvider);
+        }
     }
 }
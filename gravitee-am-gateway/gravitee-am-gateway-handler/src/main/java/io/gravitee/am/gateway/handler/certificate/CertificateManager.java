@@ -15,6 +15,7 @@
  */
 package io.gravitee.am.gateway.handler.certificate;
 
+import io.gravitee.am.model.Client;
 import io.gravitee.common.service.Service;
 import io.reactivex.Maybe;
 
@@ -33,4 +34,13 @@ public interface CertificateManager extends Service {
     Collection<CertificateProvider> providers();
 
     CertificateProvider defaultCertificateProvider();
+
+    /**
+     * Synchronous lookup of the certificate provider used to sign and verify the client tokens.
+     * Fallback to the default certificate provider if the client has no certificate or if it is not yet deployed.
+     *
+     * @param client the OAuth2 client
+     * @return the certificate provider, never <code>null</code>
+     */
+    CertificateProvider resolve(Client client);
 }
@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.certificate;
+
+import io.gravitee.am.model.Client;
+
+import java.util.Collection;
+
+/**
+ * Gateway-wide index of the deployed certificate providers.
+ *
+ * Each security domain registers the providers of its own certificates, the registry exposes them to the other domains
+ * (tokens of a domain may be verified by another one and the JWKS endpoint publishes every key).
+ *
+ * @author GraviteeSource Team
+ */
+public interface CertificateRegistry {
+
+    /**
+     * @param domain the security domain
+     * @param id the certificate identifier
+     * @return the certificate provider or <code>null</code> if none is registered for this domain
+     */
+    CertificateProvider get(String domain, String id);
+
+    void register(String domain, String id, CertificateProvider certificateProvider);
+
+    void unregister(String domain, String id);
+
+    /**
+     * Remove all the certificate providers of an undeployed domain.
+     */
+    void unregisterAll(String domain);
+
+    /**
+     * @return the certificate providers of all the security domains
+     */
+    Collection<CertificateProvider> providers();
+
+    /**
+     * @return the certificate provider of the gateway signing key, used by the clients without certificate
+     */
+    CertificateProvider defaultCertificateProvider();
+
+    /**
+     * Synchronous lookup of the certificate provider used to sign and verify the client tokens.
+     * Fallback to the default certificate provider if the client has no certificate or if it is not yet deployed.
+     *
+     * @param client the OAuth2 client
+     * @return the certificate provider, never <code>null</code>
+     */
+    CertificateProvider resolve(Client client);
+}
@@ -16,47 +16,27 @@
 package io.gravitee.am.gateway.handler.certificate.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.gravitee.am.certificate.api.CertificateMetadata;
-import io.gravitee.am.certificate.api.DefaultKey;
 import io.gravitee.am.gateway.core.event.CertificateEvent;
+import io.gravitee.am.gateway.core.event.EventManager;
 import io.gravitee.am.gateway.handler.certificate.CertificateManager;
 import io.gravitee.am.gateway.handler.certificate.CertificateProvider;
-import io.gravitee.am.gateway.handler.jwt.impl.JJwtBuilder;
-import io.gravitee.am.gateway.handler.jwt.impl.JJwtParser;
+import io.gravitee.am.gateway.handler.certificate.CertificateRegistry;
 import io.gravitee.am.model.Certificate;
+import io.gravitee.am.model.Client;
 import io.gravitee.am.model.Domain;
 import io.gravitee.am.model.common.event.Payload;
-import io.gravitee.am.model.jose.JWK;
 import io.gravitee.am.plugins.certificate.core.CertificatePluginManager;
 import io.gravitee.am.repository.management.api.CertificateRepository;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventListener;
-import io.gravitee.common.event.EventManager;
 import io.gravitee.common.service.AbstractService;
-import io.jsonwebtoken.JwsHeader;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.JacksonDeserializer;
-import io.jsonwebtoken.io.JacksonSerializer;
-import io.jsonwebtoken.security.Keys;
-import io.reactivex.Flowable;
 import io.reactivex.Maybe;
-import io.reactivex.Observable;
-import io.reactivex.Single;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 
-import java.security.Key;
-import java.security.KeyPair;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.stream.Collectors;
 
 /**
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
@@ -65,13 +45,6 @@ import java.util.stream.Collectors;
 public class CertificateManagerImpl extends AbstractService implements CertificateManager, InitializingBean, EventListener<CertificateEvent, Payload> {
 
     private static final Logger logger = LoggerFactory.getLogger(CertificateManagerImpl.class);
-    private static final String defaultDigestAlgorithm = "SHA-256";
-
-    @Value("${jwt.secret:s3cR3t4grAv1t3310AMS1g1ingDftK3y}")
-    private String signingKeySecret;
-
-    @Value("${jwt.kid:default-gravitee-AM-key}")
-    private String signingKeyId;
 
     @Autowired
     private Domain domain;
@@ -88,9 +61,8 @@ public class CertificateManagerImpl extends AbstractService implements Certifica
     @Autowired
     private ObjectMapper objectMapper;
 
-    private ConcurrentMap<String, Map<String, CertificateProvider>> domainsCertificateProviders = new ConcurrentHashMap<>();
-
-    private CertificateProvider defaultCertificateProvider;
+    @Autowired
+    private CertificateRegistry certificateRegistry;
 
     @Override
     public Maybe<CertificateProvider> get(String id) {
@@ -99,39 +71,33 @@ public class CertificateManagerImpl extends AbstractService implements Certifica
 
     @Override
     public Maybe<CertificateProvider> findByDomainAndId(String domain, String id) {
-        return id == null ? Maybe.empty() : Observable.fromIterable(domainsCertificateProviders.get(domain).entrySet())
-                .filter(certificateProviderEntry -> certificateProviderEntry.getKey().equals(id))
-                .firstElement()
-                .map(Map.Entry::getValue);
+        CertificateProvider certificateProvider = certificateRegistry.get(domain, id);
+        return certificateProvider == null ? Maybe.empty() : Maybe.just(certificateProvider);
+    }
+
+    @Override
+    public CertificateProvider resolve(Client client) {
+        return certificateRegistry.resolve(client);
     }
 
     @Override
     public Collection<CertificateProvider> providers() {
-        return domainsCertificateProviders
-                .entrySet()
-                .stream()
-                .flatMap(p -> p.getValue().entrySet().stream().map(Map.Entry::getValue))
-                .collect(Collectors.toList());
+        return certificateRegistry.providers();
     }
 
     @Override
     public CertificateProvider defaultCertificateProvider() {
-        return defaultCertificateProvider;
+        return certificateRegistry.defaultCertificateProvider();
     }
 
     @Override
     public void afterPropertiesSet() {
-        logger.info("Initializing default certificate provider for domain {}", domain.getName());
-        initDefaultCertificateProvider();
-
         logger.info("Initializing certificates for domain {}", domain.getName());
-        certificateRepository.findAll()
+        certificateRepository.findByDomain(domain.getId())
                 .subscribe(
                         certificates -> {
                             certificates.forEach(certificate -> {
-                                if (certificate.getDomain().equals(domain.getId())) {
-                                    logger.info("Initializing certificate: {} [{}]", certificate.getName(), certificate.getType());
-                                }
+                                logger.info("Initializing certificate: {} [{}]", certificate.getName(), certificate.getType());
                                 updateCertificateProvider(certificate);
                             });
                             logger.info("Certificates loaded for domain {}", domain.getName());
@@ -144,19 +110,30 @@ public class CertificateManagerImpl extends AbstractService implements Certifica
         super.doStart();
 
         logger.info("Register event listener for certificate events");
-        eventManager.subscribeForEvents(this, CertificateEvent.class);
+        eventManager.subscribeForEvents(this, CertificateEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        logger.info("Unregister event listener for certificate events");
+        eventManager.unsubscribeForEvents(this, CertificateEvent.class, domain.getId());
+        certificateRegistry.unregisterAll(domain.getId());
     }
 
     @Override
     public void onEvent(Event<CertificateEvent, Payload> event) {
-        switch (event.type()) {
-            case DEPLOY:
-            case UPDATE:
-                updateCertificate(event.content().getId(), event.type());
-                break;
-            case UNDEPLOY:
-                removeCertificate(event.content().getId(), event.content().getDomain());
-                break;
+        if (domain.getId().equals(event.content().getDomain())) {
+            switch (event.type()) {
+                case DEPLOY:
+                case UPDATE:
+                    updateCertificate(event.content().getId(), event.type());
+                    break;
+                case UNDEPLOY:
+                    removeCertificate(event.content().getId());
+                    break;
+            }
         }
     }
 
@@ -173,9 +150,9 @@ public class CertificateManagerImpl extends AbstractService implements Certifica
                         () -> logger.error("No certificate found with id {}", certificateId));
     }
 
-    private void removeCertificate(String certificateId, String domainId) {
+    private void removeCertificate(String certificateId) {
         logger.info("Domain {} has received certificate event, delete certificate {}", domain.getName(), certificateId);
-        domainsCertificateProviders.get(domainId).remove(certificateId);
+        certificateRegistry.unregister(domain.getId(), certificateId);
     }
 
     private void updateCertificateProvider(Certificate certificate) {
@@ -183,73 +160,9 @@ public class CertificateManagerImpl extends AbstractService implements Certifica
         io.gravitee.am.certificate.api.CertificateProvider provider = certificatePluginManager.create(certificate.getType(), certificate.getConfiguration(), certificate.getMetadata());
 
         // create certificate provider
-        CertificateProvider certificateProvider = create(provider);
+        CertificateProvider certificateProvider = CertificateProviderFactory.create(provider, objectMapper);
 
         // add certificate provider to its domain
-        Map<String, CertificateProvider> existingDomainCertificateProviders = domainsCertificateProviders.get(certificate.getDomain());
-        if (existingDomainCertificateProviders != null) {
-            Map<String, CertificateProvider> updateCertificateProviders = new HashMap<>(existingDomainCertificateProviders);
-            updateCertificateProviders.put(certificate.getId(), certificateProvider);
-            domainsCertificateProviders.put(certificate.getDomain(), updateCertificateProviders);
-        } else {
-            domainsCertificateProviders.put(certificate.getDomain(), Collections.singletonMap(certificate.getId(), certificateProvider));
-        }
-    }
-
-    private void initDefaultCertificateProvider() {
-        // create default signing HMAC key
-        Key key = Keys.hmacShaKeyFor(signingKeySecret.getBytes());
-        io.gravitee.am.certificate.api.Key certificateKey = new DefaultKey(signingKeyId, key);
-
-        // create default certificate provider
-        setDefaultCertificateProvider(certificateKey);
-    }
-
-    private void setDefaultCertificateProvider(io.gravitee.am.certificate.api.Key key) {
-        CertificateMetadata certificateMetadata = new CertificateMetadata();
-        certificateMetadata.setMetadata(Collections.singletonMap(CertificateMetadata.DIGEST_ALGORITHM_NAME, defaultDigestAlgorithm));
-
-        io.gravitee.am.certificate.api.CertificateProvider defaultProvider = new io.gravitee.am.certificate.api.CertificateProvider() {
-
-            @Override
-            public Single<io.gravitee.am.certificate.api.Key> key() {
-                return Single.just(key);
-            }
-
-            @Override
-            public Single<String> publicKey() {
-                return null;
-            }
-
-            @Override
-            public Flowable<JWK> keys() {
-                return null;
-            }
-
-            @Override
-            public CertificateMetadata certificateMetadata() {
-                return certificateMetadata;
-            }
-        };
-
-        defaultCertificateProvider = create(defaultProvider);
-    }
-
-    private CertificateProvider create(io.gravitee.am.certificate.api.CertificateProvider provider) {
-        // create certificate provider
-        CertificateProvider certificateProvider = new CertificateProvider(provider);
-
-        // create parser and builder (default to jjwt)
-        io.gravitee.am.certificate.api.Key providerKey = provider.key().blockingGet();
-        Key signingKey = providerKey.getValue() instanceof KeyPair ? ((KeyPair) providerKey.getValue()).getPrivate() : (Key) providerKey.getValue();
-        Key verifyingKey = providerKey.getValue() instanceof KeyPair ? ((KeyPair) providerKey.getValue()).getPublic() : (Key) providerKey.getValue();
-
-        io.jsonwebtoken.JwtParser jjwtParser = Jwts.parser().deserializeJsonWith(new JacksonDeserializer(objectMapper)).setSigningKey(verifyingKey);
-        io.jsonwebtoken. JwtBuilder jjwtBuilder = Jwts.builder().serializeToJsonWith(new JacksonSerializer(objectMapper)).signWith(signingKey).setHeaderParam(JwsHeader.KEY_ID, providerKey.getKeyId());
-
-        certificateProvider.setJwtParser(new JJwtParser(jjwtParser));
-        certificateProvider.setJwtBuilder(new JJwtBuilder(jjwtBuilder));
-
-        return certificateProvider;
+        certificateRegistry.register(certificate.getDomain(), certificate.getId(), certificateProvider);
     }
 }
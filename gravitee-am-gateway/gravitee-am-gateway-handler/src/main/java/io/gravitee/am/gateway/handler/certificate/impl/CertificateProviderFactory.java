@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.certificate.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.am.gateway.handler.certificate.CertificateProvider;
+import io.gravitee.am.gateway.handler.jwt.impl.DefaultJwtBuilder;
+import io.gravitee.am.gateway.handler.jwt.impl.DefaultJwtParser;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.Key;
+import java.security.KeyPair;
+
+/**
+ * Build the gateway certificate providers of the domain certificates and of the default signing key.
+ *
+ * @author GraviteeSource Team
+ */
+final class CertificateProviderFactory {
+
+    private CertificateProviderFactory() { }
+
+    static CertificateProvider create(io.gravitee.am.certificate.api.CertificateProvider provider, ObjectMapper objectMapper) {
+        // create certificate provider
+        CertificateProvider certificateProvider = new CertificateProvider(provider);
+
+        // create parser and builder, both are thread-safe and shared by all the requests using this certificate
+        io.gravitee.am.certificate.api.Key providerKey = provider.key().blockingGet();
+        Key signingKey = providerKey.getValue() instanceof KeyPair ? ((KeyPair) providerKey.getValue()).getPrivate() : (Key) providerKey.getValue();
+        Key verifyingKey = providerKey.getValue() instanceof KeyPair ? ((KeyPair) providerKey.getValue()).getPublic() : (Key) providerKey.getValue();
+        SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forSigningKey(signingKey);
+
+        certificateProvider.setJwtParser(new DefaultJwtParser(verifyingKey, signatureAlgorithm, objectMapper));
+        certificateProvider.setJwtBuilder(new DefaultJwtBuilder(signingKey, providerKey.getKeyId(), objectMapper));
+
+        return certificateProvider;
+    }
+}
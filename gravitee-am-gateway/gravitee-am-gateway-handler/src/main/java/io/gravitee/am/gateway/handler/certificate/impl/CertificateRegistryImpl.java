@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.certificate.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.am.certificate.api.CertificateMetadata;
+import io.gravitee.am.certificate.api.DefaultKey;
+import io.gravitee.am.gateway.handler.certificate.CertificateProvider;
+import io.gravitee.am.gateway.handler.certificate.CertificateRegistry;
+import io.gravitee.am.model.Client;
+import io.gravitee.am.model.jose.JWK;
+import io.jsonwebtoken.security.Keys;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.security.Key;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class CertificateRegistryImpl implements CertificateRegistry, InitializingBean {
+
+    private static final String defaultDigestAlgorithm = "SHA-256";
+
+    @Value("${jwt.secret:s3cR3t4grAv1t3310AMS1g1ingDftK3y}")
+    private String signingKeySecret;
+
+    @Value("${jwt.kid:default-gravitee-AM-key}")
+    private String signingKeyId;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private CertificateProvider defaultCertificateProvider;
+
+    private final ConcurrentMap<String, ConcurrentMap<String, CertificateProvider>> domainsCertificateProviders = new ConcurrentHashMap<>();
+
+    @Override
+    public CertificateProvider get(String domain, String id) {
+        if (domain == null || id == null) {
+            return null;
+        }
+        Map<String, CertificateProvider> certificateProviders = domainsCertificateProviders.get(domain);
+        return certificateProviders == null ? null : certificateProviders.get(id);
+    }
+
+    @Override
+    public void register(String domain, String id, CertificateProvider certificateProvider) {
+        domainsCertificateProviders
+                .computeIfAbsent(domain, k -> new ConcurrentHashMap<>())
+                .put(id, certificateProvider);
+    }
+
+    @Override
+    public void unregister(String domain, String id) {
+        Map<String, CertificateProvider> certificateProviders = domainsCertificateProviders.get(domain);
+        if (certificateProviders != null) {
+            certificateProviders.remove(id);
+        }
+    }
+
+    @Override
+    public void unregisterAll(String domain) {
+        domainsCertificateProviders.remove(domain);
+    }
+
+    @Override
+    public Collection<CertificateProvider> providers() {
+        return domainsCertificateProviders
+                .values()
+                .stream()
+                .flatMap(certificateProviders -> certificateProviders.values().stream())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public CertificateProvider defaultCertificateProvider() {
+        return defaultCertificateProvider;
+    }
+
+    @Override
+    public CertificateProvider resolve(Client client) {
+        CertificateProvider certificateProvider = get(client.getDomain(), client.getCertificate());
+        return certificateProvider == null ? defaultCertificateProvider : certificateProvider;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // create default signing HMAC key
+        Key key = Keys.hmacShaKeyFor(signingKeySecret.getBytes());
+        io.gravitee.am.certificate.api.Key certificateKey = new DefaultKey(signingKeyId, key);
+
+        // create default certificate provider
+        setDefaultCertificateProvider(certificateKey);
+    }
+
+    private void setDefaultCertificateProvider(io.gravitee.am.certificate.api.Key key) {
+        CertificateMetadata certificateMetadata = new CertificateMetadata();
+        certificateMetadata.setMetadata(Collections.singletonMap(CertificateMetadata.DIGEST_ALGORITHM_NAME, defaultDigestAlgorithm));
+
+        io.gravitee.am.certificate.api.CertificateProvider defaultProvider = new io.gravitee.am.certificate.api.CertificateProvider() {
+
+            @Override
+            public Single<io.gravitee.am.certificate.api.Key> key() {
+                return Single.just(key);
+            }
+
+            @Override
+            public Single<String> publicKey() {
+                return null;
+            }
+
+            @Override
+            public Flowable<JWK> keys() {
+                return null;
+            }
+
+            @Override
+            public CertificateMetadata certificateMetadata() {
+                return certificateMetadata;
+            }
+        };
+
+        defaultCertificateProvider = CertificateProviderFactory.create(defaultProvider, objectMapper);
+    }
+}
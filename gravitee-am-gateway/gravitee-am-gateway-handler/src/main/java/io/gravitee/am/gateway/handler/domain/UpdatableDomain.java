@@ -0,0 +1,197 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.domain;
+
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.common.event.Event;
+import io.gravitee.am.model.login.LoginForm;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@link Domain} shared by the components of a security domain, whose settings can be replaced while requests are
+ * being served.
+ *
+ * Settings are read from an immutable copy of the domain. {@link #update(Domain)} publishes a new copy with a single
+ * volatile write, so readers never see a partially applied update. Components reading several settings for the same
+ * request should read them from a single {@link #snapshot()}.
+ *
+ * @author GraviteeSource Team
+ */
+public class UpdatableDomain extends Domain {
+
+    private volatile Domain snapshot;
+
+    public UpdatableDomain(Domain domain) {
+        // the identifier never changes, it is used by equals and hashCode
+        super.setId(domain.getId());
+        this.snapshot = copy(domain);
+    }
+
+    public Domain snapshot() {
+        return snapshot;
+    }
+
+    public void update(Domain domain) {
+        if (!getId().equals(domain.getId())) {
+            throw new IllegalArgumentException("Domain " + domain.getId() + " can not replace domain " + getId());
+        }
+        this.snapshot = copy(domain);
+    }
+
+    @Override
+    public String getName() {
+        return snapshot.getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return snapshot.getDescription();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return snapshot.isEnabled();
+    }
+
+    @Override
+    public boolean isMaster() {
+        return snapshot.isMaster();
+    }
+
+    @Override
+    public Date getCreatedAt() {
+        return snapshot.getCreatedAt();
+    }
+
+    @Override
+    public Date getUpdatedAt() {
+        return snapshot.getUpdatedAt();
+    }
+
+    @Override
+    public String getPath() {
+        return snapshot.getPath();
+    }
+
+    @Override
+    public LoginForm getLoginForm() {
+        return snapshot.getLoginForm();
+    }
+
+    @Override
+    public Set<String> getIdentities() {
+        return snapshot.getIdentities();
+    }
+
+    @Override
+    public Set<String> getOauth2Identities() {
+        return snapshot.getOauth2Identities();
+    }
+
+    @Override
+    public Event getLastEvent() {
+        return snapshot.getLastEvent();
+    }
+
+    @Override
+    public void setId(String id) {
+        throw immutable();
+    }
+
+    @Override
+    public void setName(String name) {
+        throw immutable();
+    }
+
+    @Override
+    public void setDescription(String description) {
+        throw immutable();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        throw immutable();
+    }
+
+    @Override
+    public void setMaster(boolean master) {
+        throw immutable();
+    }
+
+    @Override
+    public void setCreatedAt(Date createdAt) {
+        throw immutable();
+    }
+
+    @Override
+    public void setUpdatedAt(Date updatedAt) {
+        throw immutable();
+    }
+
+    @Override
+    public void setPath(String path) {
+        throw immutable();
+    }
+
+    @Override
+    public void setLoginForm(LoginForm loginForm) {
+        throw immutable();
+    }
+
+    @Override
+    public void setIdentities(Set<String> identities) {
+        throw immutable();
+    }
+
+    @Override
+    public void setOauth2Identities(Set<String> oauth2Identities) {
+        throw immutable();
+    }
+
+    @Override
+    public void setLastEvent(Event lastEvent) {
+        throw immutable();
+    }
+
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("Domain settings are replaced with UpdatableDomain#update");
+    }
+
+    private static Domain copy(Domain domain) {
+        Domain copy = new Domain();
+        copy.setId(domain.getId());
+        copy.setName(domain.getName());
+        copy.setDescription(domain.getDescription());
+        copy.setEnabled(domain.isEnabled());
+        copy.setMaster(domain.isMaster());
+        copy.setCreatedAt(domain.getCreatedAt());
+        copy.setUpdatedAt(domain.getUpdatedAt());
+        copy.setPath(domain.getPath());
+        copy.setLoginForm(domain.getLoginForm());
+        copy.setIdentities(unmodifiable(domain.getIdentities()));
+        copy.setOauth2Identities(unmodifiable(domain.getOauth2Identities()));
+        copy.setLastEvent(domain.getLastEvent());
+        return copy;
+    }
+
+    private static Set<String> unmodifiable(Set<String> values) {
+        return values == null ? null : Collections.unmodifiableSet(new HashSet<>(values));
+    }
+}
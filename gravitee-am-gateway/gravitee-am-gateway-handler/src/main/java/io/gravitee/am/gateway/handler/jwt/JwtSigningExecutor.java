@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt;
+
+import io.reactivex.Single;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded thread-pool used to sign JWT.
+ *
+ * RSA/ECDSA signatures are CPU intensive (several milliseconds with 2048/4096-bit keys) and must not run on the Vert.x event loop,
+ * otherwise every other request handled by the same event loop is stalled.
+ *
+ * When the queue is full, the configured reject policy applies :
+ * - abort (default) : the signing request fails right away
+ * - caller_runs : the token is signed on the calling thread, which is the Vert.x event loop for gateway requests
+ * (back pressure on the caller at the cost of stalling the event loop)
+ * The result is emitted on the Vert.x context of the caller, if any, so that the rest of the request processing
+ * stays on its event loop.
+ *
+ * @author GraviteeSource Team
+ */
+public class JwtSigningExecutor implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtSigningExecutor.class);
+    private static final String THREAD_NAME_PREFIX = "gio.am-jwt-signer-";
+    private static final String CALLER_RUNS_POLICY = "caller_runs";
+
+    @Value("${jwt.signing.pool.size:0}")
+    private int poolSize;
+
+    @Value("${jwt.signing.pool.queueCapacity:1000}")
+    private int queueCapacity;
+
+    @Value("${jwt.signing.pool.rejectPolicy:abort}")
+    private String rejectPolicy = "abort";
+
+    private ThreadPoolExecutor executor;
+    private final AtomicLong signedTokens = new AtomicLong();
+    private final AtomicLong signingTime = new AtomicLong();
+    private final AtomicLong rejectedTasks = new AtomicLong();
+
+    public JwtSigningExecutor() { }
+
+    public JwtSigningExecutor(int poolSize, int queueCapacity, String rejectPolicy) {
+        this.poolSize = poolSize;
+        this.queueCapacity = queueCapacity;
+        this.rejectPolicy = rejectPolicy;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+
+        logger.info("Initializing JWT signing pool [size: {}, queue capacity: {}, reject policy: {}]", threads, queueCapacity, rejectPolicy);
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new SignerThreadFactory(), (task, pool) -> {
+                    rejectedTasks.incrementAndGet();
+                    throw new RejectedExecutionException("JWT signing pool is saturated");
+                });
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Run the signing task on the signing pool
+     * @param task signing task
+     * @return signed JWT string representation
+     */
+    public Single<String> execute(Callable<String> task) {
+        return Single.create(emitter -> {
+            // null if the caller is not running on Vert.x
+            final Context context = Vertx.currentContext();
+            try {
+                executor.execute(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        String signedJwt = task.call();
+                        signedTokens.incrementAndGet();
+                        signingTime.addAndGet(System.nanoTime() - start);
+                        emit(context, () -> emitter.onSuccess(signedJwt));
+                    } catch (Exception ex) {
+                        emit(context, () -> emitter.onError(ex));
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                if (!CALLER_RUNS_POLICY.equalsIgnoreCase(rejectPolicy)) {
+                    logger.warn("JWT signing pool is saturated, signing request rejected");
+                    emitter.onError(ex);
+                    return;
+                }
+                // already on the caller thread, no need to switch context
+                logger.debug("JWT signing pool is saturated, signing on the calling thread");
+                long start = System.nanoTime();
+                String signedJwt = task.call();
+                signedTokens.incrementAndGet();
+                signingTime.addAndGet(System.nanoTime() - start);
+                emitter.onSuccess(signedJwt);
+            }
+        });
+    }
+
+    private static void emit(Context context, Runnable emission) {
+        if (context == null) {
+            emission.run();
+        } else {
+            context.runOnContext(v -> emission.run());
+        }
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getSignedTokens() {
+        return signedTokens.get();
+    }
+
+    public long getRejectedTasks() {
+        return rejectedTasks.get();
+    }
+
+    /**
+     * @return average signing time in microseconds
+     */
+    public long getAverageSigningTime() {
+        long count = signedTokens.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(signingTime.get() / count);
+    }
+
+    private static class SignerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
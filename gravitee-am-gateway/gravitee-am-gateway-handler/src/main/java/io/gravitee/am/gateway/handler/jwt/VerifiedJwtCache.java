@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt;
+
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.gateway.handler.certificate.CertificateProvider;
+
+/**
+ * Cache of already verified JWT.
+ *
+ * Resource servers introspect the same token many times, the cache avoids re-verifying the JWS signature
+ * and re-parsing the claims on each call. Entries are evicted when the token expires or is revoked.
+ *
+ * @author GraviteeSource Team
+ */
+public interface VerifiedJwtCache {
+
+    /**
+     * Get a JWT previously verified with the given certificate provider
+     * @param token JWT signed string representation
+     * @param certificateProvider certificate provider used to verify the token
+     * @return verified JWT or null if the token is not in the cache (or has expired)
+     */
+    JWT get(String token, CertificateProvider certificateProvider);
+
+    /**
+     * Get a JWT previously verified, whatever the certificate provider used to verify it
+     * @param token JWT signed string representation
+     * @return verified JWT or null if the token is not in the cache (or has expired)
+     */
+    JWT get(String token);
+
+    /**
+     * Put a verified JWT in the cache
+     * @param token JWT signed string representation
+     * @param certificateProvider certificate provider used to verify the token
+     * @param jwt verified JWT
+     */
+    void put(String token, CertificateProvider certificateProvider, JWT jwt);
+
+    /**
+     * Evict a JWT from the cache
+     * @param jti JWT identifier
+     */
+    void evict(String jti);
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.gateway.handler.jwt.JwtBuilder;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe JWT builder bound to a signing key.
+ *
+ * The JWS header is encoded once, claims are serialized in a per-thread reusable buffer and signed
+ * with a per-thread {@link java.security.Signature} / {@link javax.crypto.Mac} instance.
+ *
+ * @author GraviteeSource Team
+ */
+public class DefaultJwtBuilder implements JwtBuilder {
+
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final ObjectMapper objectMapper;
+    private final SignatureEngine signatureEngine;
+    private final byte[] encodedHeader;
+    private final ThreadLocal<Buffer> claimsBuffers = ThreadLocal.withInitial(Buffer::new);
+    private final ThreadLocal<Buffer> tokenBuffers = ThreadLocal.withInitial(Buffer::new);
+
+    public DefaultJwtBuilder(Key signingKey, String keyId, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.signatureEngine = SignatureEngine.forSigning(SignatureAlgorithm.forSigningKey(signingKey), signingKey);
+        this.encodedHeader = encodeHeader(signatureEngine.getAlgorithm(), keyId, objectMapper);
+    }
+
+    @Override
+    public String sign(JWT payload) {
+        Buffer claims = claimsBuffers.get();
+        Buffer token = tokenBuffers.get();
+        try {
+            claims.reset();
+            objectMapper.writeValue(claims, payload);
+
+            // header.payload
+            token.reset();
+            token.write(encodedHeader);
+            token.write('.');
+            try (OutputStream base64 = BASE64_URL_ENCODER.wrap(token)) {
+                base64.write(claims.array(), 0, claims.size());
+            }
+
+            // header.payload.signature
+            byte[] signature = signatureEngine.sign(token.array(), 0, token.size());
+            token.write('.');
+            token.write(BASE64_URL_ENCODER.encode(signature));
+
+            return new String(token.array(), 0, token.size(), StandardCharsets.US_ASCII);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Unable to sign JWT", ex);
+        } finally {
+            release(claimsBuffers, claims);
+            release(tokenBuffers, token);
+        }
+    }
+
+    private static byte[] encodeHeader(SignatureAlgorithm algorithm, String keyId, ObjectMapper objectMapper) {
+        Map<String, Object> header = new LinkedHashMap<>();
+        if (keyId != null) {
+            header.put(JwsHeader.KEY_ID, keyId);
+        }
+        header.put(JwsHeader.ALGORITHM, algorithm.getValue());
+        try {
+            return BASE64_URL_ENCODER.encode(objectMapper.writeValueAsBytes(header));
+        } catch (Exception ex) {
+            throw new IllegalStateException("Unable to encode JWS header", ex);
+        }
+    }
+
+    private static void release(ThreadLocal<Buffer> buffers, Buffer buffer) {
+        // do not retain unusually large buffers
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            buffers.remove();
+        }
+    }
+
+    /**
+     * {@link ByteArrayOutputStream} giving access to its internal array to avoid copies.
+     */
+    private static class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(1024);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+    }
+}
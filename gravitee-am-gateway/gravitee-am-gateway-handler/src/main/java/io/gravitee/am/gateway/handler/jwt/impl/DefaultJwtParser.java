@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.common.jwt.exception.ExpiredJwtException;
+import io.gravitee.am.common.jwt.exception.JwtException;
+import io.gravitee.am.common.jwt.exception.MalformedJwtException;
+import io.gravitee.am.common.jwt.exception.SignatureException;
+import io.gravitee.am.gateway.handler.jwt.JwtParser;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Thread-safe JWT parser bound to a verifying key.
+ *
+ * Only tokens signed with the algorithm of the key are accepted. Once a JWS header has been validated,
+ * it is remembered so that tokens issued with the same header skip header parsing.
+ *
+ * @author GraviteeSource Team
+ */
+public class DefaultJwtParser implements JwtParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(DefaultJwtParser.class);
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {};
+
+    private final ObjectMapper objectMapper;
+    private final SignatureEngine signatureEngine;
+    private volatile String trustedHeader;
+
+    public DefaultJwtParser(Key verifyingKey, SignatureAlgorithm algorithm, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.signatureEngine = SignatureEngine.forVerification(algorithm, verifyingKey);
+    }
+
+    @Override
+    public JWT parse(String payload) {
+        int headerEnd = payload != null ? payload.indexOf('.') : -1;
+        int claimsEnd = headerEnd != -1 ? payload.indexOf('.', headerEnd + 1) : -1;
+        if (claimsEnd == -1 || payload.indexOf('.', claimsEnd + 1) != -1) {
+            logger.debug("The following JWT token : {} is malformed", payload);
+            throw new MalformedJwtException("Token is malformed");
+        }
+        if (claimsEnd == payload.length() - 1) {
+            logger.debug("Verifying JWT token signature : {} has failed", payload);
+            throw new SignatureException("Token's signature is invalid");
+        }
+
+        // check header
+        String header = payload.substring(0, headerEnd);
+        if (!header.equals(trustedHeader)) {
+            verifyHeader(header, payload);
+            trustedHeader = header;
+        }
+
+        // check signature
+        try {
+            byte[] signingInput = payload.substring(0, claimsEnd).getBytes(StandardCharsets.US_ASCII);
+            byte[] signature = BASE64_URL_DECODER.decode(payload.substring(claimsEnd + 1));
+            if (!signatureEngine.verify(signingInput, 0, signingInput.length, signature)) {
+                logger.debug("Verifying JWT token signature : {} has failed", payload);
+                throw new SignatureException("Token's signature is invalid");
+            }
+        } catch (SignatureException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            logger.debug("Verifying JWT token signature : {} has failed", payload);
+            throw new SignatureException("Token's signature is invalid", ex);
+        }
+
+        // read claims
+        JWT jwt;
+        try {
+            jwt = new JWT(objectMapper.readValue(BASE64_URL_DECODER.decode(payload.substring(headerEnd + 1, claimsEnd)), MAP_TYPE));
+        } catch (Exception ex) {
+            logger.debug("The following JWT token : {} is malformed", payload);
+            throw new MalformedJwtException("Token is malformed", ex);
+        }
+
+        // check time based claims
+        final long now = System.currentTimeMillis();
+        if (jwt.getExp() > 0 && now > jwt.getExp() * 1000L) {
+            logger.debug("The following JWT token : {} is expired", payload);
+            throw new ExpiredJwtException("Token is expired");
+        }
+        if (jwt.getNbf() > 0 && now < jwt.getNbf() * 1000L) {
+            logger.debug("The following JWT token : {} is not yet valid", payload);
+            throw new JwtException("Token is not yet valid");
+        }
+
+        return jwt;
+    }
+
+    private void verifyHeader(String header, String payload) {
+        Map<String, Object> jwsHeader;
+        try {
+            jwsHeader = objectMapper.readValue(BASE64_URL_DECODER.decode(header), MAP_TYPE);
+        } catch (Exception ex) {
+            logger.debug("The following JWT token : {} is malformed", payload);
+            throw new MalformedJwtException("Token is malformed", ex);
+        }
+
+        if (!signatureEngine.getAlgorithm().getValue().equals(jwsHeader.get(JwsHeader.ALGORITHM))) {
+            logger.debug("Verifying JWT token signature : {} has failed, unexpected algorithm {}", payload, jwsHeader.get(JwsHeader.ALGORITHM));
+            throw new SignatureException("Token's signature is invalid");
+        }
+    }
+}
@@ -17,9 +17,11 @@ package io.gravitee.am.gateway.handler.jwt.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.gravitee.am.common.jwt.JWT;
-import io.gravitee.am.gateway.handler.certificate.CertificateManager;
 import io.gravitee.am.gateway.handler.certificate.CertificateProvider;
+import io.gravitee.am.gateway.handler.certificate.CertificateRegistry;
 import io.gravitee.am.gateway.handler.jwt.JwtService;
+import io.gravitee.am.gateway.handler.jwt.JwtSigningExecutor;
+import io.gravitee.am.gateway.handler.jwt.VerifiedJwtCache;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidTokenException;
 import io.gravitee.am.model.Client;
 import io.reactivex.Single;
@@ -27,11 +29,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import java.util.Map;
 import java.util.Objects;
 
 /**
+ * Stateless, shared by all the security domains of the gateway.
+ *
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -40,11 +44,17 @@ public class JwtServiceImpl implements JwtService {
     private static final Logger logger = LoggerFactory.getLogger(JwtServiceImpl.class);
 
     @Autowired
-    private CertificateManager certificateManager;
+    private CertificateRegistry certificateRegistry;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JwtSigningExecutor jwtSigningExecutor;
+
+    @Autowired
+    private VerifiedJwtCache verifiedJwtCache;
+
     @Override
     public Single<String> encode(JWT jwt, CertificateProvider certificateProvider) {
         Objects.requireNonNull(certificateProvider, "Certificate provider is required to sign JWT");
@@ -53,25 +63,26 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public Single<String> encode(JWT jwt, Client client) {
-        return certificateManager.get(client.getCertificate())
-                .defaultIfEmpty(certificateManager.defaultCertificateProvider())
-                .flatMapSingle(certificateProvider -> encode(jwt, certificateProvider));
+        return encode(jwt, certificateRegistry.resolve(client));
     }
 
     @Override
     public Single<JWT> decodeAndVerify(String jwt, Client client) {
-        // use findByDomainAndId method because introspect token can be use across domains
-        return certificateManager.findByDomainAndId(client.getDomain(), client.getCertificate())
-                .defaultIfEmpty(certificateManager.defaultCertificateProvider())
-                .flatMapSingle(certificateProvider -> decode(certificateProvider, jwt))
-                .map(claims -> new JWT(claims));
+        // resolve the certificate provider from the client domain because introspect token can be use across domains
+        return decode(certificateRegistry.resolve(client), jwt);
     }
 
     @Override
     public Single<JWT> decode(String jwt) {
         return Single.create(emitter -> {
             try {
-                String json = new String(Base64.getDecoder().decode(jwt.split("\\.")[1]), "UTF-8");
+                // token already verified, no need to decode it again
+                JWT verifiedJwt = verifiedJwtCache.get(jwt);
+                if (verifiedJwt != null) {
+                    emitter.onSuccess(verifiedJwt);
+                    return;
+                }
+                String json = new String(Base64.getUrlDecoder().decode(jwt.split("\\.")[1]), StandardCharsets.UTF_8);
                 emitter.onSuccess(objectMapper.readValue(json, JWT.class));
             } catch (Exception ex) {
                 logger.debug("Failed to decode JWT", ex);
@@ -82,11 +93,19 @@ public class JwtServiceImpl implements JwtService {
     }
 
     private Single<String> sign(CertificateProvider certificateProvider, JWT jwt) {
-        return Single.just(certificateProvider.getJwtBuilder().sign(jwt));
+        // RSA Signer can be very slow, delegate work to a bounded thread-pool
+        return jwtSigningExecutor.execute(() -> certificateProvider.getJwtBuilder().sign(jwt));
     }
 
-    private Single<Map<String, Object>> decode(CertificateProvider certificateProvider, String payload) {
-        return Single.just(certificateProvider.getJwtParser().parse(payload));
+    private Single<JWT> decode(CertificateProvider certificateProvider, String payload) {
+        return Single.fromCallable(() -> {
+            JWT verifiedJwt = verifiedJwtCache.get(payload, certificateProvider);
+            if (verifiedJwt == null) {
+                verifiedJwt = certificateProvider.getJwtParser().parse(payload);
+                verifiedJwtCache.put(payload, certificateProvider, verifiedJwt);
+            }
+            return verifiedJwt;
+        });
     }
 
 }
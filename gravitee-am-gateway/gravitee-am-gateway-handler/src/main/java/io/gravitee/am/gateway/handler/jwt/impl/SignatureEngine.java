@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt.impl;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.crypto.EllipticCurveProvider;
+
+import javax.crypto.Mac;
+import java.security.*;
+
+/**
+ * Sign or verify JWS signing input with a given key.
+ *
+ * {@link Mac} and {@link Signature} instances are stateful and not thread-safe, they are initialized once per thread
+ * with the key and reused for each token (a sign/verify call resets them to their initialized state).
+ *
+ * @author GraviteeSource Team
+ */
+class SignatureEngine {
+
+    private final SignatureAlgorithm algorithm;
+    private final ThreadLocal<Mac> macs;
+    private final ThreadLocal<Signature> signatures;
+    private final int ecSignatureLength;
+
+    private SignatureEngine(SignatureAlgorithm algorithm, Key key, boolean signing) {
+        this.algorithm = algorithm;
+        if (algorithm.isHmac()) {
+            this.macs = ThreadLocal.withInitial(() -> initMac(algorithm, key));
+            this.signatures = null;
+        } else {
+            this.macs = null;
+            this.signatures = ThreadLocal.withInitial(() -> initSignature(algorithm, key, signing));
+        }
+        this.ecSignatureLength = algorithm.isEllipticCurve() ? EllipticCurveProvider.getSignatureByteArrayLength(algorithm) : 0;
+    }
+
+    static SignatureEngine forSigning(SignatureAlgorithm algorithm, Key signingKey) {
+        algorithm.assertValidSigningKey(signingKey);
+        return new SignatureEngine(algorithm, signingKey, true);
+    }
+
+    static SignatureEngine forVerification(SignatureAlgorithm algorithm, Key verifyingKey) {
+        algorithm.assertValidVerificationKey(verifyingKey);
+        return new SignatureEngine(algorithm, verifyingKey, false);
+    }
+
+    SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return JWS signature of the signing input (R || S concatenation for ECDSA as required by RFC 7518)
+     */
+    byte[] sign(byte[] data, int offset, int length) throws GeneralSecurityException {
+        if (macs != null) {
+            Mac mac = macs.get();
+            mac.update(data, offset, length);
+            return mac.doFinal();
+        }
+
+        Signature signature = signatures.get();
+        signature.update(data, offset, length);
+        byte[] signed = signature.sign();
+        return algorithm.isEllipticCurve() ? EllipticCurveProvider.transcodeSignatureToConcat(signed, ecSignatureLength) : signed;
+    }
+
+    boolean verify(byte[] data, int offset, int length, byte[] jwsSignature) throws GeneralSecurityException {
+        if (macs != null) {
+            Mac mac = macs.get();
+            mac.update(data, offset, length);
+            // constant time comparison
+            return MessageDigest.isEqual(mac.doFinal(), jwsSignature);
+        }
+
+        Signature signature = signatures.get();
+        signature.update(data, offset, length);
+        if (algorithm.isEllipticCurve()) {
+            if (jwsSignature.length != ecSignatureLength) {
+                return false;
+            }
+            return signature.verify(EllipticCurveProvider.transcodeSignatureToDER(jwsSignature));
+        }
+        return signature.verify(jwsSignature);
+    }
+
+    private static Mac initMac(SignatureAlgorithm algorithm, Key key) {
+        try {
+            Mac mac = Mac.getInstance(algorithm.getJcaName());
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to initialize " + algorithm.getJcaName() + " MAC", ex);
+        }
+    }
+
+    private static Signature initSignature(SignatureAlgorithm algorithm, Key key, boolean signing) {
+        try {
+            Signature signature = Signature.getInstance(algorithm.getJcaName());
+            if (signing) {
+                signature.initSign((PrivateKey) key);
+            } else {
+                signature.initVerify((PublicKey) key);
+            }
+            return signature;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to initialize " + algorithm.getJcaName() + " signature", ex);
+        }
+    }
+}
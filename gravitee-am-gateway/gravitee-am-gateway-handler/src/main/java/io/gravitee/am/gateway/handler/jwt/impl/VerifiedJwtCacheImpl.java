@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.gateway.handler.certificate.CertificateProvider;
+import io.gravitee.am.gateway.handler.jwt.VerifiedJwtCache;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory {@link VerifiedJwtCache}. Tokens are kept at most {@code jwt.cache.ttl} seconds and never after their expiration.
+ * Tokens are also indexed by JWT identifier so that revoked tokens are evicted without scanning the cache.
+ *
+ * @author GraviteeSource Team
+ */
+public class VerifiedJwtCacheImpl implements VerifiedJwtCache, InitializingBean {
+
+    @Value("${jwt.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${jwt.cache.maxSize:10000}")
+    private long maxSize = 10000;
+
+    @Value("${jwt.cache.ttl:300}")
+    private long ttl = 300;
+
+    private Cache<String, Entry> cache;
+
+    private final ConcurrentMap<String, String> tokensByJti = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl, TimeUnit.SECONDS)
+                .<String, Entry>removalListener(notification -> {
+                    // a replaced entry is still indexed by the new one
+                    String jti = notification.getValue().jwt.getJti();
+                    if (jti != null && notification.getCause() != RemovalCause.REPLACED) {
+                        tokensByJti.remove(jti, notification.getKey());
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public JWT get(String token, CertificateProvider certificateProvider) {
+        Entry entry = get0(token);
+        // the token must have been verified with the same certificate
+        return entry != null && entry.certificateProvider == certificateProvider ? new JWT(entry.jwt) : null;
+    }
+
+    @Override
+    public JWT get(String token) {
+        Entry entry = get0(token);
+        return entry != null ? new JWT(entry.jwt) : null;
+    }
+
+    @Override
+    public void put(String token, CertificateProvider certificateProvider, JWT jwt) {
+        if (!enabled || token == null || isExpired(jwt)) {
+            return;
+        }
+        cache.put(token, new Entry(certificateProvider, new JWT(jwt)));
+        if (jwt.getJti() != null) {
+            tokensByJti.put(jwt.getJti(), token);
+        }
+    }
+
+    @Override
+    public void evict(String jti) {
+        if (!enabled || jti == null) {
+            return;
+        }
+        String token = tokensByJti.remove(jti);
+        if (token != null) {
+            cache.invalidate(token);
+        }
+    }
+
+    private Entry get0(String token) {
+        if (!enabled || token == null) {
+            return null;
+        }
+        Entry entry = cache.getIfPresent(token);
+        if (entry != null && isExpired(entry.jwt)) {
+            cache.invalidate(token);
+            return null;
+        }
+        return entry;
+    }
+
+    private static boolean isExpired(JWT jwt) {
+        return jwt.getExp() > 0 && System.currentTimeMillis() > jwt.getExp() * 1000L;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public void setTtl(long ttl) {
+        this.ttl = ttl;
+    }
+
+    private static class Entry {
+        private final CertificateProvider certificateProvider;
+        private final JWT jwt;
+
+        Entry(CertificateProvider certificateProvider, JWT jwt) {
+            this.certificateProvider = certificateProvider;
+            this.jwt = jwt;
+        }
+    }
+}
@@ -23,7 +23,6 @@ import io.gravitee.am.model.Client;
 import io.gravitee.am.model.Domain;
 import io.gravitee.am.model.oauth2.ScopeApproval;
 import io.gravitee.am.repository.oauth2.api.ScopeApprovalRepository;
-import io.reactivex.Observable;
 import io.reactivex.Single;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -85,10 +84,8 @@ public class ApprovalServiceImpl implements ApprovalService {
             }
         }
 
-        return Observable.fromIterable(approvals)
-                .flatMapSingle(approval -> scopeApprovalRepository.upsert(approval))
-                .toList()
-                .flatMap(savedApprovals -> {
+        return scopeApprovalRepository.upsertAll(approvals)
+                .andThen(Single.fromCallable(() -> {
                     boolean approved;
                     authorizationRequest.setScopes(approvedScopes);
                     if (approvedScopes.isEmpty() && !requestedScopes.isEmpty()) {
@@ -98,8 +95,8 @@ public class ApprovalServiceImpl implements ApprovalService {
                         approved = true;
                     }
                     authorizationRequest.setApproved(approved);
-                    return Single.just(authorizationRequest);
-                });
+                    return authorizationRequest;
+                }));
     }
 
     private Single<AuthorizationRequest> checkUserApproval(AuthorizationRequest authorizationRequest, String username) {
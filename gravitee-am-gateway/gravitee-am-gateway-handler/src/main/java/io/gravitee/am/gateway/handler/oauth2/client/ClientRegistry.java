@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.client;
+
+import io.gravitee.am.model.Client;
+
+/**
+ * Gateway-wide index of the deployed clients.
+ *
+ * Each security domain registers its own clients, the registry makes them available to the other domains
+ * (e.g. to introspect a token issued by another domain).
+ *
+ * @author GraviteeSource Team
+ */
+public interface ClientRegistry {
+
+    /**
+     * @param domain the security domain
+     * @param clientId the OAuth2 client_id
+     * @return the client or <code>null</code> if none is registered for this domain
+     */
+    Client get(String domain, String clientId);
+
+    /**
+     * Register a new client or replace a registered one, its client_id may have changed.
+     */
+    void register(Client client);
+
+    /**
+     * @param domain the security domain
+     * @param id the client technical identifier
+     */
+    void unregister(String domain, String id);
+
+    /**
+     * Remove all the clients of an undeployed domain.
+     */
+    void unregisterAll(String domain);
+}
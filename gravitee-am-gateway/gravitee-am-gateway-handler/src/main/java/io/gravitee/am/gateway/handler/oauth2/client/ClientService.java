@@ -28,4 +28,13 @@ public interface ClientService extends Service {
     Maybe<Client> findByClientId(String clientId);
 
     Maybe<Client> findByDomainAndClientId(String domain, String clientId);
+
+    /**
+     * Synchronous lookup against the in-memory client index.
+     *
+     * @param domain the security domain
+     * @param clientId the OAuth2 client_id
+     * @return the client or <code>null</code> if none is registered for this domain
+     */
+    Client getByDomainAndClientId(String domain, String clientId);
 }
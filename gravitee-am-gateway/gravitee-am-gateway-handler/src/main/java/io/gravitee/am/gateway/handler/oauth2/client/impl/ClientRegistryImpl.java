@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.client.impl;
+
+import io.gravitee.am.gateway.handler.oauth2.client.ClientRegistry;
+import io.gravitee.am.model.Client;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ClientRegistryImpl implements ClientRegistry {
+
+    /**
+     * Clients indexed by domain then by client_id
+     */
+    private final ConcurrentMap<String, ConcurrentMap<String, Client>> domainsClients = new ConcurrentHashMap<>();
+    /**
+     * Client technical id to client_id, used to keep the index consistent on update and undeploy events
+     */
+    private final ConcurrentMap<String, String> clientIds = new ConcurrentHashMap<>();
+
+    @Override
+    public Client get(String domain, String clientId) {
+        if (domain == null || clientId == null) {
+            return null;
+        }
+        Map<String, Client> clients = domainsClients.get(domain);
+        return clients == null ? null : clients.get(clientId);
+    }
+
+    @Override
+    public void register(Client client) {
+        ConcurrentMap<String, Client> domainClients = domainsClients.computeIfAbsent(client.getDomain(), k -> new ConcurrentHashMap<>());
+        domainClients.put(client.getClientId(), client);
+        // client_id may have changed, drop the previous entry
+        String previousClientId = clientIds.put(client.getId(), client.getClientId());
+        if (previousClientId != null && !previousClientId.equals(client.getClientId())) {
+            domainClients.computeIfPresent(previousClientId, (key, existing) -> existing.getId().equals(client.getId()) ? null : existing);
+        }
+    }
+
+    @Override
+    public void unregister(String domain, String id) {
+        String clientId = clientIds.remove(id);
+        ConcurrentMap<String, Client> clients = domainsClients.get(domain);
+        if (clientId != null && clients != null) {
+            clients.computeIfPresent(clientId, (key, client) -> client.getId().equals(id) ? null : client);
+        }
+    }
+
+    @Override
+    public void unregisterAll(String domain) {
+        Map<String, Client> clients = domainsClients.remove(domain);
+        if (clients != null) {
+            clients.values().forEach(client -> clientIds.remove(client.getId()));
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package io.gravitee.am.gateway.handler.oauth2.client.impl;
 
 import io.gravitee.am.gateway.core.event.ClientEvent;
+import io.gravitee.am.gateway.core.event.EventManager;
+import io.gravitee.am.gateway.handler.oauth2.client.ClientRegistry;
 import io.gravitee.am.gateway.handler.oauth2.client.ClientService;
 import io.gravitee.am.model.Client;
 import io.gravitee.am.model.Domain;
@@ -23,21 +25,13 @@ import io.gravitee.am.model.common.event.Payload;
 import io.gravitee.am.repository.management.api.ClientRepository;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventListener;
-import io.gravitee.common.event.EventManager;
 import io.gravitee.common.service.AbstractService;
 import io.reactivex.Maybe;
-import io.reactivex.Observable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
@@ -46,7 +40,6 @@ import java.util.concurrent.ConcurrentMap;
 public class ClientServiceImpl extends AbstractService implements ClientService, InitializingBean, EventListener<ClientEvent, Payload> {
 
     private final Logger logger = LoggerFactory.getLogger(ClientServiceImpl.class);
-    private ConcurrentMap<String, Set<Client>> domainsClients = new ConcurrentHashMap<>();
 
     @Autowired
     private Domain domain;
@@ -57,6 +50,9 @@ public class ClientServiceImpl extends AbstractService implements ClientService,
     @Autowired
     private EventManager eventManager;
 
+    @Autowired
+    private ClientRegistry clientRegistry;
+
     @Override
     public Maybe<Client> findByClientId(String clientId) {
         return findByDomainAndClientId(domain.getId(), clientId);
@@ -64,18 +60,22 @@ public class ClientServiceImpl extends AbstractService implements ClientService,
 
     @Override
     public Maybe<Client> findByDomainAndClientId(String domain, String clientId) {
-        return Observable.fromIterable(domainsClients.get(domain))
-                .filter(client -> client.getClientId().equals(clientId))
-                .firstElement();
+        Client client = getByDomainAndClientId(domain, clientId);
+        return client == null ? Maybe.empty() : Maybe.just(client);
+    }
+
+    @Override
+    public Client getByDomainAndClientId(String domain, String clientId) {
+        return clientRegistry.get(domain, clientId);
     }
 
     @Override
     public void afterPropertiesSet() {
         logger.info("Initializing clients for domain {}", domain.getName());
-        clientRepository.findAll()
+        clientRepository.findByDomain(domain.getId())
                 .subscribe(
                         clients -> {
-                            updateClients(clients);
+                            clients.forEach(clientRegistry::register);
                             logger.info("Clients loaded for domain {}", domain.getName());
                         },
                         error -> logger.error("Unable to initialize clients for domain {}", domain.getName(), error));
@@ -87,19 +87,30 @@ public class ClientServiceImpl extends AbstractService implements ClientService,
         super.doStart();
 
         logger.info("Register event listener for client events");
-        eventManager.subscribeForEvents(this, ClientEvent.class);
+        eventManager.subscribeForEvents(this, ClientEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        logger.info("Unregister event listener for client events");
+        eventManager.unsubscribeForEvents(this, ClientEvent.class, domain.getId());
+        clientRegistry.unregisterAll(domain.getId());
     }
 
     @Override
     public void onEvent(Event<ClientEvent, Payload> event) {
-        switch (event.type()) {
-            case DEPLOY:
-            case UPDATE:
-                updateClient(event.content().getId(), event.type());
-                break;
-            case UNDEPLOY:
-                removeClient(event.content().getId(), event.content().getDomain());
-                break;
+        if (domain.getId().equals(event.content().getDomain())) {
+            switch (event.type()) {
+                case DEPLOY:
+                case UPDATE:
+                    updateClient(event.content().getId(), event.type());
+                    break;
+                case UNDEPLOY:
+                    removeClient(event.content().getId());
+                    break;
+            }
         }
     }
 
@@ -109,31 +120,15 @@ public class ClientServiceImpl extends AbstractService implements ClientService,
         clientRepository.findById(clientId)
                 .subscribe(
                         client -> {
-                            updateClients(Collections.singleton(client));
+                            clientRegistry.register(client);
                             logger.info("Client {} {}d for domain {}", clientId, eventType, domain.getName());
                         },
                         error -> logger.error("Unable to {} client for domain {}", eventType, domain.getName(), error),
                         () -> logger.error("No client found with id {}", clientId));
     }
 
-    private void removeClient(String clientId, String domainId) {
+    private void removeClient(String clientId) {
         logger.info("Domain {} has received client event, delete client {}", domain.getName(), clientId);
-        domainsClients.get(domainId).removeIf(client -> client.getId().equals(clientId));
-    }
-
-    private void updateClients(Set<Client> clients) {
-        clients.forEach(client -> {
-            Set<Client> existingDomainClients = domainsClients.get(client.getDomain());
-            if (existingDomainClients != null) {
-                Set<Client> updateClients = new HashSet<>(existingDomainClients);
-                if (updateClients.contains(client)) {
-                    updateClients.remove(client);
-                }
-                updateClients.add(client);
-                domainsClients.put(client.getDomain(), updateClients);
-            } else {
-                domainsClients.put(client.getDomain(), Collections.singleton(client));
-            }
-        });
+        clientRegistry.unregister(domain.getId(), clientId);
     }
 }
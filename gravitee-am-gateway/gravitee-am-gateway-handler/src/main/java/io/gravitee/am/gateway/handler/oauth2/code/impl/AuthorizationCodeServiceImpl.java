@@ -84,6 +84,8 @@ public class AuthorizationCodeServiceImpl implements AuthorizationCodeService {
         // If an authorization code is used more than once, the authorization server MUST deny the request and SHOULD
         // revoke (when possible) all tokens previously issued based on that authorization code.
         // https://tools.ietf.org/html/rfc6749#section-4.1.2
+        // Note: stateless tokens are never issued for this grant (see AuthorizationCodeTokenGranter), every token issued
+        // from an authorization code is stored and can be found here.
         return accessTokenRepository.findByAuthorizationCode(code)
                 .flatMapCompletable(accessToken -> {
                     Completable deleteAccessTokenAction = accessTokenRepository.delete(accessToken.getToken());
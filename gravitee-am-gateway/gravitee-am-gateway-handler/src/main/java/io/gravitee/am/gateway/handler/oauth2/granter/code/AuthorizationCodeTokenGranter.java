@@ -19,6 +19,7 @@ import io.gravitee.am.gateway.handler.auth.UserAuthenticationManager;
 import io.gravitee.am.gateway.handler.oauth2.code.AuthorizationCodeService;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidGrantException;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidRequestException;
+import io.gravitee.am.gateway.handler.oauth2.exception.UnauthorizedClientException;
 import io.gravitee.am.gateway.handler.oauth2.granter.AbstractTokenGranter;
 import io.gravitee.am.gateway.handler.oauth2.pkce.PKCEUtils;
 import io.gravitee.am.gateway.handler.oauth2.request.TokenRequest;
@@ -73,6 +74,12 @@ public class AuthorizationCodeTokenGranter extends AbstractTokenGranter {
             return Single.error(new InvalidRequestException("Missing parameter: code"));
         }
 
+        // stateless tokens are not stored and could not be revoked if the authorization code is replayed
+        // https://tools.ietf.org/html/rfc6749#section-4.1.2
+        if (client.isStatelessTokens()) {
+            return Single.error(new UnauthorizedClientException("Stateless tokens are not supported for the authorization_code grant."));
+        }
+
         return super.parseRequest(tokenRequest, client)
                 .flatMap(tokenRequest1 -> authorizationCodeService.remove(code, client)
                         .map(authorizationCode -> {
@@ -16,6 +16,7 @@
 package io.gravitee.am.gateway.handler.oauth2.granter.extensiongrant.impl;
 
 import io.gravitee.am.extensiongrant.api.ExtensionGrantProvider;
+import io.gravitee.am.gateway.core.event.EventManager;
 import io.gravitee.am.gateway.core.event.ExtensionGrantEvent;
 import io.gravitee.am.gateway.handler.auth.idp.IdentityProviderManager;
 import io.gravitee.am.gateway.handler.oauth2.granter.CompositeTokenGranter;
@@ -25,7 +26,9 @@ import io.gravitee.am.gateway.handler.oauth2.granter.extensiongrant.ExtensionGra
 import io.gravitee.am.gateway.handler.oauth2.request.TokenRequestResolver;
 import io.gravitee.am.gateway.handler.oauth2.token.TokenService;
 import io.gravitee.am.gateway.service.UserService;
+import io.gravitee.am.identityprovider.api.Authentication;
 import io.gravitee.am.identityprovider.api.AuthenticationProvider;
+import io.gravitee.am.identityprovider.api.User;
 import io.gravitee.am.model.Domain;
 import io.gravitee.am.model.ExtensionGrant;
 import io.gravitee.am.model.common.event.Payload;
@@ -33,8 +36,8 @@ import io.gravitee.am.plugins.extensiongrant.core.ExtensionGrantPluginManager;
 import io.gravitee.am.repository.management.api.ExtensionGrantRepository;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventListener;
-import io.gravitee.common.event.EventManager;
 import io.gravitee.common.service.AbstractService;
+import io.reactivex.Maybe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
@@ -90,7 +93,15 @@ public class ExtensionGrantManagerImpl extends AbstractService implements Extens
         super.doStart();
 
         logger.info("Register event listener for extension grant events");
-        eventManager.subscribeForEvents(this, ExtensionGrantEvent.class);
+        eventManager.subscribeForEvents(this, ExtensionGrantEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        logger.info("Unregister event listener for extension grant events");
+        eventManager.unsubscribeForEvents(this, ExtensionGrantEvent.class, domain.getId());
     }
 
     @Override
@@ -129,15 +140,35 @@ public class ExtensionGrantManagerImpl extends AbstractService implements Extens
     private void updateExtensionGrantProvider(ExtensionGrant extensionGrant) {
         AuthenticationProvider authenticationProvider = null;
         if (extensionGrant.getIdentityProvider() != null) {
-            logger.info("\tLooking for extension grant identity provider: {}", extensionGrant.getIdentityProvider());
-            authenticationProvider = identityProviderManager.get(extensionGrant.getIdentityProvider()).blockingGet();
-            if (authenticationProvider != null) {
-                logger.info("\tExtension grant identity provider: {}, loaded", extensionGrant.getIdentityProvider());
-            }
+            logger.info("\tExtension grant identity provider: {}", extensionGrant.getIdentityProvider());
+            authenticationProvider = new IdentityProviderDelegate(extensionGrant.getIdentityProvider());
         }
 
         ExtensionGrantProvider extensionGrantProvider = extensionGrantPluginManager.create(extensionGrant.getType(), extensionGrant.getConfiguration(), authenticationProvider);
         ExtensionGrantGranter extensionGrantGranter = new ExtensionGrantGranter(extensionGrantProvider, extensionGrant, userService, tokenService, tokenRequestResolver);
         ((CompositeTokenGranter) tokenGranter).addTokenGranter(extensionGrant.getId(), extensionGrantGranter);
     }
+
+    /**
+     * Identity provider resolved on each use, authentication providers are created lazily and replaced
+     * when the identity provider is updated.
+     */
+    private class IdentityProviderDelegate implements AuthenticationProvider {
+
+        private final String identityProviderId;
+
+        IdentityProviderDelegate(String identityProviderId) {
+            this.identityProviderId = identityProviderId;
+        }
+
+        @Override
+        public Maybe<User> loadUserByUsername(Authentication authentication) {
+            return identityProviderManager.get(identityProviderId).flatMap(provider -> provider.loadUserByUsername(authentication));
+        }
+
+        @Override
+        public Maybe<User> loadUserByUsername(String username) {
+            return identityProviderManager.get(identityProviderId).flatMap(provider -> provider.loadUserByUsername(username));
+        }
+    }
 }
@@ -16,16 +16,23 @@
 package io.gravitee.am.gateway.handler.oauth2.request;
 
 import io.gravitee.am.gateway.handler.oauth2.response.AuthorizationResponse;
+import io.gravitee.common.util.LinkedMultiValueMap;
+import io.gravitee.common.util.MultiValueMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.shareddata.impl.ClusterSerializable;
 
-import java.io.Serializable;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 
 /**
+ * The authorization request is kept in the user session between the authorization endpoint and the login / user
+ * approval pages, it is written in a compact binary form when the session is stored outside of the JVM.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class AuthorizationRequest extends BaseRequest implements Serializable {
+public class AuthorizationRequest extends BaseRequest implements ClusterSerializable {
 
     /**
      * REQUIRED
@@ -124,4 +131,134 @@ public class AuthorizationRequest extends BaseRequest implements Serializable {
         oAuth2Request.setAdditionalParameters(getAdditionalParameters());
         return oAuth2Request;
     }
+
+    @Override
+    public void writeToBuffer(Buffer buffer) {
+        // the response is only built once the request has left the session
+        writeString(buffer, getClientId());
+        writeStrings(buffer, getScopes());
+        writeParameters(buffer, getRequestParameters());
+        writeParameters(buffer, getAdditionalParameters());
+        writeString(buffer, responseType);
+        writeString(buffer, redirectUri);
+        writeString(buffer, state);
+        buffer.appendByte((byte) (approved ? 1 : 0));
+        if (approvalParameters == null) {
+            buffer.appendInt(-1);
+        } else {
+            buffer.appendInt(approvalParameters.size());
+            approvalParameters.forEach((key, value) -> {
+                writeString(buffer, key);
+                writeString(buffer, value);
+            });
+        }
+    }
+
+    @Override
+    public int readFromBuffer(int pos, Buffer buffer) {
+        BufferReader reader = new BufferReader(buffer, pos);
+        setClientId(reader.readString());
+        List<String> scopes = reader.readStrings();
+        setScopes(scopes == null ? null : new HashSet<>(scopes));
+        setRequestParameters(reader.readParameters());
+        setAdditionalParameters(reader.readParameters());
+        responseType = reader.readString();
+        redirectUri = reader.readString();
+        state = reader.readString();
+        approved = reader.readByte() == 1;
+        int size = reader.readInt();
+        if (size >= 0) {
+            approvalParameters = new HashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                approvalParameters.put(reader.readString(), reader.readString());
+            }
+        }
+        return reader.pos;
+    }
+
+    private static void writeString(Buffer buffer, String value) {
+        if (value == null) {
+            buffer.appendInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            buffer.appendInt(bytes.length);
+            buffer.appendBytes(bytes);
+        }
+    }
+
+    private static void writeStrings(Buffer buffer, Collection<String> values) {
+        if (values == null) {
+            buffer.appendInt(-1);
+        } else {
+            buffer.appendInt(values.size());
+            values.forEach(value -> writeString(buffer, value));
+        }
+    }
+
+    private static void writeParameters(Buffer buffer, MultiValueMap<String, String> parameters) {
+        if (parameters == null) {
+            buffer.appendInt(-1);
+        } else {
+            buffer.appendInt(parameters.size());
+            parameters.forEach((key, values) -> {
+                writeString(buffer, key);
+                writeStrings(buffer, values);
+            });
+        }
+    }
+
+    private static class BufferReader {
+
+        private final Buffer buffer;
+        private int pos;
+
+        BufferReader(Buffer buffer, int pos) {
+            this.buffer = buffer;
+            this.pos = pos;
+        }
+
+        byte readByte() {
+            return buffer.getByte(pos++);
+        }
+
+        int readInt() {
+            int value = buffer.getInt(pos);
+            pos += 4;
+            return value;
+        }
+
+        String readString() {
+            int length = readInt();
+            if (length < 0) {
+                return null;
+            }
+            String value = buffer.getString(pos, pos + length, StandardCharsets.UTF_8.name());
+            pos += length;
+            return value;
+        }
+
+        List<String> readStrings() {
+            int size = readInt();
+            if (size < 0) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        MultiValueMap<String, String> readParameters() {
+            int size = readInt();
+            if (size < 0) {
+                return null;
+            }
+            MultiValueMap<String, String> parameters = new LinkedMultiValueMap<>();
+            for (int i = 0; i < size; i++) {
+                parameters.put(readString(), readStrings());
+            }
+            return parameters;
+        }
+    }
 }
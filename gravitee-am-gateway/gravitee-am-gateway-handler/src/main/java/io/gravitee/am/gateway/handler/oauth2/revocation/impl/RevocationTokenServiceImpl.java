@@ -127,6 +127,10 @@ public class RevocationTokenServiceImpl implements RevocationTokenService {
                         return Completable.error(new InvalidGrantException("Cannot revoke tokens issued to other clients."));
                     }
 
+                    // stateless tokens are not stored, keep them in the denylist until they expire
+                    if (client.isStatelessTokens()) {
+                        return tokenService.revoke(accessToken);
+                    }
                     return tokenService.deleteAccessToken(accessToken.getValue());
                 });
     }
@@ -141,6 +145,9 @@ public class RevocationTokenServiceImpl implements RevocationTokenService {
                         return Completable.error(new InvalidGrantException("Cannot revoke tokens issued to other clients."));
                     }
 
+                    if (client.isStatelessTokens()) {
+                        return tokenService.revoke(refreshToken);
+                    }
                     return tokenService.deleteRefreshToken(refreshToken.getValue());
                 });
     }
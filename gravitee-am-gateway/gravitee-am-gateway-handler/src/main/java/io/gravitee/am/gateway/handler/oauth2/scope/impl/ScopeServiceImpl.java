@@ -15,20 +15,37 @@
  */
 package io.gravitee.am.gateway.handler.oauth2.scope.impl;
 
+import io.gravitee.am.gateway.core.event.EventManager;
+import io.gravitee.am.gateway.core.event.ScopeEvent;
 import io.gravitee.am.gateway.handler.oauth2.scope.ScopeService;
 import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.common.event.Payload;
 import io.gravitee.am.model.oauth2.Scope;
 import io.gravitee.am.repository.management.api.ScopeRepository;
+import io.gravitee.common.event.Event;
+import io.gravitee.common.event.EventListener;
+import io.gravitee.common.service.AbstractService;
+import io.reactivex.Maybe;
 import io.reactivex.Single;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
+ * Scopes of the domain are kept in memory (indexed by id and by key) and maintained from scope events.
+ *
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class ScopeServiceImpl implements ScopeService {
+public class ScopeServiceImpl extends AbstractService implements ScopeService, InitializingBean, EventListener<ScopeEvent, Payload> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScopeServiceImpl.class);
 
     @Autowired
     private ScopeRepository scopeRepository;
@@ -36,8 +53,93 @@ public class ScopeServiceImpl implements ScopeService {
     @Autowired
     private Domain domain;
 
+    @Autowired
+    private EventManager eventManager;
+
+    private final ConcurrentMap<String, Scope> scopes = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Scope> scopesByKey = new ConcurrentHashMap<>();
+
     @Override
     public Single<Set<Scope>> getAll() {
-        return scopeRepository.findByDomain(domain.getId());
+        return Single.just(new HashSet<>(scopes.values()));
+    }
+
+    @Override
+    public Maybe<Scope> findByKey(String key) {
+        Scope scope = key == null ? null : scopesByKey.get(key.toLowerCase());
+        return scope == null ? Maybe.empty() : Maybe.just(scope);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        logger.info("Initializing scopes for domain {}", domain.getName());
+        try {
+            Set<Scope> domainScopes = scopeRepository.findByDomain(domain.getId()).blockingGet();
+            domainScopes.forEach(this::indexScope);
+            logger.info("{} scopes loaded for domain {}", domainScopes.size(), domain.getName());
+        } catch (Exception e) {
+            logger.error("Unable to initialize scopes for domain {}", domain.getName(), e);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        logger.info("Register event listener for scope events");
+        eventManager.subscribeForEvents(this, ScopeEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        logger.info("Unregister event listener for scope events");
+        eventManager.unsubscribeForEvents(this, ScopeEvent.class, domain.getId());
+    }
+
+    @Override
+    public void onEvent(Event<ScopeEvent, Payload> event) {
+        if (domain.getId().equals(event.content().getDomain())) {
+            switch (event.type()) {
+                case DEPLOY:
+                case UPDATE:
+                    updateScope(event.content().getId(), event.type());
+                    break;
+                case UNDEPLOY:
+                    removeScope(event.content().getId());
+                    break;
+            }
+        }
+    }
+
+    private void updateScope(String scopeId, ScopeEvent scopeEvent) {
+        final String eventType = scopeEvent.toString().toLowerCase();
+        logger.info("Domain {} has received {} scope event for {}", domain.getName(), eventType, scopeId);
+        scopeRepository.findById(scopeId)
+                .subscribe(
+                        scope -> {
+                            indexScope(scope);
+                            logger.info("Scope {} {}d for domain {}", scopeId, eventType, domain.getName());
+                        },
+                        error -> logger.error("Unable to {} scope for domain {}", eventType, domain.getName(), error),
+                        () -> logger.error("No scope found with id {}", scopeId));
+    }
+
+    private void removeScope(String scopeId) {
+        logger.info("Domain {} has received scope event, delete scope {}", domain.getName(), scopeId);
+        Scope scope = scopes.remove(scopeId);
+        if (scope != null) {
+            scopesByKey.remove(scope.getKey().toLowerCase(), scope);
+        }
+    }
+
+    private void indexScope(Scope scope) {
+        Scope previous = scopes.put(scope.getId(), scope);
+        if (previous != null) {
+            scopesByKey.remove(previous.getKey().toLowerCase(), previous);
+        }
+        scopesByKey.put(scope.getKey().toLowerCase(), scope);
     }
 }
@@ -21,8 +21,6 @@ import io.gravitee.am.gateway.handler.certificate.CertificateManager;
 import io.gravitee.am.gateway.handler.certificate.impl.CertificateManagerImpl;
 import io.gravitee.am.gateway.handler.oauth2.client.ClientService;
 import io.gravitee.am.gateway.handler.oauth2.client.impl.ClientServiceImpl;
-import io.gravitee.am.gateway.handler.oauth2.code.AuthorizationCodeService;
-import io.gravitee.am.gateway.handler.oauth2.code.impl.AuthorizationCodeServiceImpl;
 import io.gravitee.am.gateway.handler.oauth2.granter.CompositeTokenGranter;
 import io.gravitee.am.gateway.handler.oauth2.granter.TokenGranter;
 import io.gravitee.am.gateway.handler.oauth2.granter.extensiongrant.ExtensionGrantManager;
@@ -67,11 +65,6 @@ public class OAuth2Configuration {
         return new IntrospectionServiceImpl();
     }
 
-    @Bean
-    public AuthorizationCodeService authorizationCodeService() {
-        return new AuthorizationCodeServiceImpl();
-    }
-
     @Bean
     public ApprovalService approvalService() {
         return new ApprovalServiceImpl();
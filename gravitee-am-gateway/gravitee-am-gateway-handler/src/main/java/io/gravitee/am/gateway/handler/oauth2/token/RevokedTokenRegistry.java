@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.token;
+
+import java.util.Date;
+
+/**
+ * In-memory denylist of revoked stateless tokens.
+ *
+ * Stateless tokens are never stored, the only way to revoke them is to remember their identifier (jti)
+ * until they expire. Once expired, the JWT signature verification rejects them anyway.
+ *
+ * @author GraviteeSource Team
+ */
+public interface RevokedTokenRegistry {
+
+    /**
+     * Revoke a token until its expiration date
+     * @param jti token identifier
+     * @param expireAt token expiration date
+     */
+    void revoke(String jti, Date expireAt);
+
+    /**
+     * Check if a token has been revoked
+     * @param jti token identifier
+     * @return true if the token has been revoked and is not yet expired
+     */
+    boolean isRevoked(String jti);
+}
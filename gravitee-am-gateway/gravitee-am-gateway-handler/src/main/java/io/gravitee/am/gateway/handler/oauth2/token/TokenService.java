@@ -43,4 +43,11 @@ public interface TokenService {
     Completable deleteAccessToken(String accessToken);
 
     Completable deleteRefreshToken(String refreshToken);
+
+    /**
+     * Revoke a stateless (not stored) access or refresh token until its expiration
+     * @param token token to revoke
+     * @return revocation result
+     */
+    Completable revoke(Token token);
 }
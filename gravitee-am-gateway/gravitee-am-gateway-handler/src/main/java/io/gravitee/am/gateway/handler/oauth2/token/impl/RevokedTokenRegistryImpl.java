@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.token.impl;
+
+import io.gravitee.am.gateway.handler.oauth2.token.RevokedTokenRegistry;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The denylist lives in the memory of the gateway node : a revocation is neither shared with the other nodes of a cluster
+ * nor kept across restarts. A stateless token revoked on one node stays valid on the other nodes until it expires,
+ * clients requiring a cluster-wide revocation must keep stateless tokens disabled.
+ *
+ * @author GraviteeSource Team
+ */
+public class RevokedTokenRegistryImpl implements RevokedTokenRegistry {
+
+    private static final int PURGE_INTERVAL = 1000;
+
+    private final ConcurrentMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final AtomicInteger revocations = new AtomicInteger();
+
+    @Override
+    public void revoke(String jti, Date expireAt) {
+        if (jti == null || expireAt == null || expireAt.getTime() <= System.currentTimeMillis()) {
+            // already expired, nothing to remember
+            return;
+        }
+
+        revokedTokens.put(jti, expireAt.getTime());
+
+        // keep the denylist compact by dropping expired entries from time to time
+        if (revocations.incrementAndGet() % PURGE_INTERVAL == 0) {
+            purge();
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String jti) {
+        Long expireAt = revokedTokens.get(jti);
+        if (expireAt == null) {
+            return false;
+        }
+        if (expireAt <= System.currentTimeMillis()) {
+            revokedTokens.remove(jti, expireAt);
+            return false;
+        }
+        return true;
+    }
+
+    private void purge() {
+        final long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expireAt -> expireAt <= now);
+    }
+}
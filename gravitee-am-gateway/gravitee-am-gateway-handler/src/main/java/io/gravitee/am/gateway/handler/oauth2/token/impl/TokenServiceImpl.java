@@ -19,11 +19,13 @@ import io.gravitee.am.common.jwt.Claims;
 import io.gravitee.am.common.jwt.JWT;
 import io.gravitee.am.common.jwt.exception.JwtException;
 import io.gravitee.am.gateway.handler.jwt.JwtService;
+import io.gravitee.am.gateway.handler.jwt.VerifiedJwtCache;
 import io.gravitee.am.gateway.handler.oauth2.client.ClientService;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidGrantException;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidTokenException;
 import io.gravitee.am.gateway.handler.oauth2.request.OAuth2Request;
 import io.gravitee.am.gateway.handler.oauth2.request.TokenRequest;
+import io.gravitee.am.gateway.handler.oauth2.token.RevokedTokenRegistry;
 import io.gravitee.am.gateway.handler.oauth2.token.Token;
 import io.gravitee.am.gateway.handler.oauth2.token.TokenEnhancer;
 import io.gravitee.am.gateway.handler.oauth2.token.TokenService;
@@ -73,6 +75,12 @@ public class TokenServiceImpl implements TokenService {
     @Autowired
     private ClientService clientService;
 
+    @Autowired
+    private RevokedTokenRegistry revokedTokenRegistry;
+
+    @Autowired
+    private VerifiedJwtCache verifiedJwtCache;
+
     @Override
     public Maybe<Token> getAccessToken(String token, Client client) {
         return jwtService.decodeAndVerify(token, client)
@@ -82,7 +90,13 @@ public class TokenServiceImpl implements TokenService {
                     }
                     return Single.error(ex);
                 })
-                .flatMapMaybe(jwt -> accessTokenRepository.findByToken(jwt.getJti()).map(accessToken -> convertAccessToken(jwt)));
+                .flatMapMaybe(jwt -> {
+                    // stateless tokens are self-contained, signature and expiration have already been checked
+                    if (client.isStatelessTokens()) {
+                        return isValidStatelessToken(jwt, Token.ACCESS_TOKEN) ? Maybe.just(convertAccessToken(jwt)) : Maybe.empty();
+                    }
+                    return accessTokenRepository.findByToken(jwt.getJti()).map(accessToken -> convertAccessToken(jwt));
+                });
     }
 
     @Override
@@ -94,7 +108,12 @@ public class TokenServiceImpl implements TokenService {
                     }
                     return Single.error(ex);
                 })
-                .flatMapMaybe(jwt -> refreshTokenRepository.findByToken(jwt.getJti()).map(refreshToken1 -> convertRefreshToken(jwt)));
+                .flatMapMaybe(jwt -> {
+                    if (client.isStatelessTokens()) {
+                        return isValidStatelessToken(jwt, Token.REFRESH_TOKEN) ? Maybe.just(convertRefreshToken(jwt)) : Maybe.empty();
+                    }
+                    return refreshTokenRepository.findByToken(jwt.getJti()).map(refreshToken1 -> convertRefreshToken(jwt));
+                });
     }
 
     @Override
@@ -140,19 +159,29 @@ public class TokenServiceImpl implements TokenService {
                     }
 
                     // refresh token is used only once
-                    return refreshTokenRepository.delete(refreshToken1.getValue())
-                            .andThen(Single.just(refreshToken1));
+                    Completable deleteRefreshToken = client.isStatelessTokens() ? revoke(refreshToken1) : deleteRefreshToken(refreshToken1.getValue());
+                    return deleteRefreshToken.andThen(Single.just(refreshToken1));
                 });
     }
 
     @Override
     public Completable deleteAccessToken(String accessToken) {
-        return accessTokenRepository.delete(accessToken);
+        return accessTokenRepository.delete(accessToken)
+                .doOnComplete(() -> verifiedJwtCache.evict(accessToken));
     }
 
     @Override
     public Completable deleteRefreshToken(String refreshToken) {
-        return refreshTokenRepository.delete(refreshToken);
+        return refreshTokenRepository.delete(refreshToken)
+                .doOnComplete(() -> verifiedJwtCache.evict(refreshToken));
+    }
+
+    @Override
+    public Completable revoke(Token token) {
+        return Completable.fromAction(() -> {
+            revokedTokenRegistry.revoke(token.getValue(), token.getExpireAt());
+            verifiedJwtCache.evict(token.getValue());
+        });
     }
 
     /**
@@ -184,6 +213,10 @@ public class TokenServiceImpl implements TokenService {
         if (refreshToken != null) {
             accessToken.setRefreshToken(refreshToken);
         }
+        // stateless tokens are not stored, the signed JWT is the only source of truth
+        if (client.isStatelessTokens()) {
+            return Single.just(accessToken);
+        }
         return accessTokenRepository.create(accessToken);
     }
 
@@ -203,6 +236,9 @@ public class TokenServiceImpl implements TokenService {
         refreshToken.setCreatedAt(new Date());
         refreshToken.setExpireAt(new Date(System.currentTimeMillis() + (getRefreshTokenValiditySeconds(client) * 1000L)));
 
+        if (client.isStatelessTokens()) {
+            return Single.just(refreshToken);
+        }
         return refreshTokenRepository.create(refreshToken);
     }
 
@@ -222,7 +258,7 @@ public class TokenServiceImpl implements TokenService {
                     } else {
                         return Single.just(convert(accessToken, encodedAccessToken, null, oAuth2Request));
                     }
-                }); // RSA Signer can be very slow, delegate work to a bounded thread-pool
+                });
     }
 
     /**
@@ -253,6 +289,17 @@ public class TokenServiceImpl implements TokenService {
     }
 
 
+    /**
+     * Stateless tokens are never looked up in a store, a signed access token must not be accepted as a refresh token
+     * (and vice versa) and a revoked token must be rejected until it expires.
+     * @param jwt verified jwt
+     * @param tokenType expected token type
+     * @return true if the token can be used as the expected token type
+     */
+    private boolean isValidStatelessToken(JWT jwt, String tokenType) {
+        return tokenType.equals(jwt.getTokenType()) && !revokedTokenRegistry.isRevoked(jwt.getJti());
+    }
+
     /**
      * Convert JWT object to Access Token
      * @param jwt jwt to convert
@@ -304,6 +351,7 @@ public class TokenServiceImpl implements TokenService {
         jwt.setIat((token.getCreatedAt() != null) ? token.getCreatedAt().getTime() / 1000l : 0);
         jwt.setExp((token.getExpireAt() != null) ? token.getExpireAt().getTime() / 1000l : 0);
         jwt.setJti(token.getToken());
+        jwt.setTokenType(token instanceof io.gravitee.am.repository.oauth2.model.AccessToken ? Token.ACCESS_TOKEN : Token.REFRESH_TOKEN);
 
         // set scopes
         Set<String> scopes = oAuth2Request.getScopes();
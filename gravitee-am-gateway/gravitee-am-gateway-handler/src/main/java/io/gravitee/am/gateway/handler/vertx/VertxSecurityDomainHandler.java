@@ -16,15 +16,20 @@
 package io.gravitee.am.gateway.handler.vertx;
 
 import io.gravitee.am.gateway.handler.auth.UserAuthenticationManager;
+import io.gravitee.am.gateway.handler.domain.UpdatableDomain;
 import io.gravitee.am.gateway.handler.oauth2.client.ClientService;
 import io.gravitee.am.gateway.handler.vertx.auth.provider.UserAuthenticationProvider;
 import io.gravitee.am.gateway.handler.vertx.handler.ExceptionHandler;
+import io.gravitee.am.gateway.handler.vertx.handler.FormBodyHandler;
+import io.gravitee.am.gateway.handler.vertx.handler.assets.StaticAssetCache;
+import io.gravitee.am.gateway.handler.vertx.handler.assets.StaticAssetHandler;
 import io.gravitee.am.gateway.handler.vertx.handler.login.LoginRouter;
 import io.gravitee.am.gateway.handler.vertx.handler.oauth2.OAuth2Router;
 import io.gravitee.am.gateway.handler.vertx.handler.oauth2.endpoint.authorization.AuthorizationEndpointFailureHandler;
 import io.gravitee.am.gateway.handler.vertx.handler.oidc.OIDCRouter;
 import io.gravitee.am.gateway.handler.vertx.handler.session.RxSessionHandler;
 import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.login.LoginForm;
 import io.gravitee.common.utils.UUID;
 import io.vertx.core.Handler;
 import io.vertx.reactivex.core.Vertx;
@@ -32,10 +37,15 @@ import io.vertx.reactivex.ext.auth.AuthProvider;
 import io.vertx.reactivex.ext.web.Router;
 import io.vertx.reactivex.ext.web.RoutingContext;
 import io.vertx.reactivex.ext.web.handler.*;
-import io.vertx.reactivex.ext.web.sstore.LocalSessionStore;
+import io.vertx.reactivex.ext.web.sstore.SessionStore;
+import io.vertx.reactivex.ext.web.templ.ThymeleafTemplateEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 
+import java.util.Objects;
+
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
@@ -43,8 +53,10 @@ import org.springframework.core.env.Environment;
  */
 public class VertxSecurityDomainHandler {
 
+    private static final Logger logger = LoggerFactory.getLogger(VertxSecurityDomainHandler.class);
     private static final String DEFAULT_SESSION_COOKIE_NAME = "GRAVITEE_IO_AM_SESSION";
     private static final long DEFAULT_SESSION_TIMEOUT = 30 * 60 * 1000; // 30 minutes
+    private static final long DEFAULT_ASSETS_MAX_AGE = 30 * 24 * 60 * 60; // 30 days
 
     @Autowired
     private UserAuthenticationManager userAuthenticationManager;
@@ -56,7 +68,10 @@ public class VertxSecurityDomainHandler {
     private Vertx vertx;
 
     @Autowired
-    private Domain domain;
+    private io.vertx.ext.web.sstore.SessionStore sessionStore;
+
+    @Autowired
+    private UpdatableDomain domain;
 
     @Autowired
     private LoginRouter loginRouter;
@@ -70,6 +85,12 @@ public class VertxSecurityDomainHandler {
     @Autowired
     private Environment environment;
 
+    @Autowired
+    private ThymeleafTemplateEngine thymeleafTemplateEngine;
+
+    @Autowired
+    private StaticAssetCache staticAssetCache;
+
     public Router create() {
         // Create the security domain router
         final Router router = Router.router(vertx);
@@ -84,7 +105,7 @@ public class VertxSecurityDomainHandler {
         final AuthProvider userAuthProvider = new AuthProvider(new UserAuthenticationProvider(userAuthenticationManager, clientService));
 
         // body handler
-        router.route().handler(BodyHandler.create());
+        bodyHandler(router);
 
         // static handler
         staticHandler(router);
@@ -111,18 +132,48 @@ public class VertxSecurityDomainHandler {
         return '/' + domain.getPath();
     }
 
+    /**
+     * Apply a new version of the domain to the running handler. Components of the domain share the same
+     * {@link UpdatableDomain} instance and read it on each request, so they are not restarted.
+     * A new router must be created by the caller if the {@link #contextPath()} has changed.
+     *
+     * @param newDomain the new version of the domain
+     */
+    public void update(Domain newDomain) {
+        boolean loginFormChanged = !sameLoginForm(domain.getLoginForm(), newDomain.getLoginForm());
+
+        // all the settings are switched at once
+        domain.update(newDomain);
+
+        if (loginFormChanged) {
+            logger.debug("Login form of domain {} has changed, clear templates cache", domain.getName());
+            thymeleafTemplateEngine.getDelegate().getThymeleafTemplateEngine().clearTemplateCache();
+        }
+    }
+
     public void setVertx(Vertx vertx) {
         this.vertx = vertx;
     }
 
     public void setDomain(Domain domain) {
-        this.domain = domain;
+        this.domain = domain instanceof UpdatableDomain ? (UpdatableDomain) domain : new UpdatableDomain(domain);
+    }
+
+    private void bodyHandler(Router router) {
+        // only form endpoints read the request body
+        FormBodyHandler formBodyHandler = new FormBodyHandler(
+                environment.getProperty("http.form.maxSize", Long.class, FormBodyHandler.DEFAULT_BODY_LIMIT));
+        router.post("/login").handler(formBodyHandler);
+        router.post("/oauth/*").handler(formBodyHandler);
+        router.post("/oidc/userinfo").handler(formBodyHandler);
     }
 
     private void staticHandler(Router router) {
-        StaticHandler staticHandler = StaticHandler.create();
-        router.route().handler(staticHandler);
-        router.route("/oauth/*").handler(staticHandler);
+        // views reference their assets with relative urls
+        StaticAssetHandler staticAssetHandler = new StaticAssetHandler(staticAssetCache,
+                environment.getProperty("http.assets.maxAge", Long.class, DEFAULT_ASSETS_MAX_AGE));
+        router.route("/assets/*").handler(staticAssetHandler);
+        router.route("/oauth/assets/*").handler(staticAssetHandler);
     }
 
     private void sessionAndCookieHandler(Router router, AuthProvider userAuthProvider) {
@@ -130,7 +181,7 @@ public class VertxSecurityDomainHandler {
         CookieHandler cookieHandler = io.gravitee.am.gateway.handler.vertx.handler.cookie.CookieHandler.create();
         // session handler
         SessionHandler sessionHandler = RxSessionHandler
-                .create(LocalSessionStore.create(vertx))
+                .create(SessionStore.newInstance(sessionStore))
                 .setCookieHttpOnlyFlag(true)
                 .setSessionCookieName(environment.getProperty("http.cookie.session.name", String.class, DEFAULT_SESSION_COOKIE_NAME))
                 .setSessionTimeout(environment.getProperty("http.cookie.session.timeout", Long.class, DEFAULT_SESSION_TIMEOUT))
@@ -180,4 +231,12 @@ public class VertxSecurityDomainHandler {
         router.route("/oauth/confirm_access").handler(csrfHandler).handler(csrfHandler1);
     }
 
+    private static boolean sameLoginForm(LoginForm loginForm, LoginForm otherLoginForm) {
+        if (loginForm == null || otherLoginForm == null) {
+            return loginForm == otherLoginForm;
+        }
+        return loginForm.isEnabled() == otherLoginForm.isEnabled()
+                && Objects.equals(loginForm.getContent(), otherLoginForm.getContent())
+                && Objects.equals(loginForm.getAssets(), otherLoginForm.getAssets());
+    }
 }
@@ -50,7 +50,9 @@ public class ExceptionHandler implements Handler<RoutingContext> {
                         .setStatusCode(oAuth2Exception.getHttpStatusCode())
                         .end(Json.encodePrettily(oAuth2ErrorResponse));
             } else {
-                logger.error(throwable.getMessage(), throwable);
+                if (throwable != null) {
+                    logger.error(throwable.getMessage(), throwable);
+                }
                 if (routingContext.statusCode() != -1) {
                     routingContext
                             .response()
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx.handler;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpStatusCode;
+import io.gravitee.common.http.MediaType;
+import io.vertx.core.Handler;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.http.HttpServerRequest;
+import io.vertx.reactivex.ext.web.RoutingContext;
+
+/**
+ * Read the body of form requests in memory, up to a maximum size.
+ *
+ * Unlike {@link io.vertx.ext.web.handler.BodyHandler}, file uploads are rejected instead of being written
+ * to an uploads directory: the gateway endpoints only expect small url-encoded forms.
+ * Form attributes are merged into the request parameters.
+ *
+ * @author GraviteeSource Team
+ */
+public class FormBodyHandler implements Handler<RoutingContext> {
+
+    public static final long DEFAULT_BODY_LIMIT = 64 * 1024; // 64 KB
+
+    private final long bodyLimit;
+
+    public FormBodyHandler(long bodyLimit) {
+        this.bodyLimit = bodyLimit;
+    }
+
+    @Override
+    public void handle(RoutingContext context) {
+        HttpServerRequest request = context.request();
+        if (context.getBody() != null) {
+            // body already read
+            context.next();
+            return;
+        }
+
+        String contentLength = request.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength != null && parseLength(contentLength) > bodyLimit) {
+            context.fail(HttpStatusCode.REQUEST_ENTITY_TOO_LARGE_413);
+            return;
+        }
+
+        String contentType = request.getHeader(HttpHeaders.CONTENT_TYPE);
+        boolean form = contentType != null && (contentType.toLowerCase().startsWith(MediaType.APPLICATION_FORM_URLENCODED)
+                || contentType.toLowerCase().startsWith(MediaType.MULTIPART_FORM_DATA));
+        if (form) {
+            request.setExpectMultipart(true);
+            request.uploadHandler(upload -> fail(context, HttpStatusCode.UNSUPPORTED_MEDIA_TYPE_415));
+        }
+
+        Buffer body = Buffer.buffer();
+        request.handler(chunk -> {
+            if (context.failed()) {
+                return;
+            }
+            if (body.length() + chunk.length() > bodyLimit) {
+                fail(context, HttpStatusCode.REQUEST_ENTITY_TOO_LARGE_413);
+            } else {
+                body.appendBuffer(chunk);
+            }
+        });
+        request.exceptionHandler(throwable -> {
+            if (!context.failed()) {
+                context.fail(throwable);
+            }
+        });
+        request.endHandler(v -> {
+            if (context.failed()) {
+                return;
+            }
+            if (form) {
+                request.params().addAll(request.formAttributes());
+            }
+            context.setBody(body);
+            context.next();
+        });
+    }
+
+    private static void fail(RoutingContext context, int statusCode) {
+        if (!context.failed()) {
+            context.fail(statusCode);
+        }
+    }
+
+    private static long parseLength(String contentLength) {
+        try {
+            return Long.parseLong(contentLength);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
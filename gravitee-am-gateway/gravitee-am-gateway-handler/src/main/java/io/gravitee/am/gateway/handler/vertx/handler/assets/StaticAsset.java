@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx.handler.assets;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * A static asset with its content already compressed (when compression is worth it).
+ *
+ * @author GraviteeSource Team
+ */
+public class StaticAsset {
+
+    private final String contentType;
+    private final Buffer content;
+    private final String etag;
+    private final Buffer gzipContent;
+    private final String gzipEtag;
+
+    public StaticAsset(String contentType, Buffer content, String etag, Buffer gzipContent, String gzipEtag) {
+        this.contentType = contentType;
+        this.content = content;
+        this.etag = etag;
+        this.gzipContent = gzipContent;
+        this.gzipEtag = gzipEtag;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public Buffer getContent() {
+        return content;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * @return gzip encoded content or null if the asset is not worth compressing
+     */
+    public Buffer getGzipContent() {
+        return gzipContent;
+    }
+
+    public String getGzipEtag() {
+        return gzipEtag;
+    }
+
+    public boolean isCompressed() {
+        return gzipContent != null;
+    }
+}
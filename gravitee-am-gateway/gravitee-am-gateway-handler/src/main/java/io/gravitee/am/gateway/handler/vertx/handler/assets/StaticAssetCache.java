@@ -0,0 +1,33 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx.handler.assets;
+
+/**
+ * In-memory cache of the static assets (css, js, fonts, ...) used by the gateway views.
+ *
+ * Assets are loaded once per gateway node and shared by all the security domains.
+ *
+ * @author GraviteeSource Team
+ */
+public interface StaticAssetCache {
+
+    /**
+     * Get a static asset
+     * @param path asset path relative to the assets root (ie. css/login.css)
+     * @return the asset or null if there is no asset for this path
+     */
+    StaticAsset get(String path);
+}
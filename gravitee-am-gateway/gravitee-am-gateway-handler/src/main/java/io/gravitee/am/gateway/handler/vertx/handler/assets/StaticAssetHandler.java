@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx.handler.assets;
+
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpStatusCode;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.http.HttpServerRequest;
+import io.vertx.reactivex.core.http.HttpServerResponse;
+import io.vertx.reactivex.ext.web.RoutingContext;
+
+/**
+ * Serve static assets from the {@link StaticAssetCache}, without any file system access.
+ *
+ * The handler must be bound to a prefix route (ie. /assets/*), the path after the prefix is the asset path.
+ * Unknown assets are passed to the next handler.
+ *
+ * @author GraviteeSource Team
+ */
+public class StaticAssetHandler implements Handler<RoutingContext> {
+
+    private static final String GZIP = "gzip";
+
+    private final StaticAssetCache staticAssetCache;
+    private final String cacheControl;
+
+    public StaticAssetHandler(StaticAssetCache staticAssetCache, long maxAgeSeconds) {
+        this.staticAssetCache = staticAssetCache;
+        this.cacheControl = "public, max-age=" + maxAgeSeconds;
+    }
+
+    @Override
+    public void handle(RoutingContext context) {
+        HttpServerRequest request = context.request();
+        if (request.method() != HttpMethod.GET && request.method() != HttpMethod.HEAD) {
+            context.next();
+            return;
+        }
+
+        StaticAsset asset = staticAssetCache.get(assetPath(context));
+        if (asset == null) {
+            context.next();
+            return;
+        }
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = asset.isCompressed() && acceptEncoding != null && acceptEncoding.contains(GZIP);
+        String etag = gzip ? asset.getGzipEtag() : asset.getEtag();
+
+        HttpServerResponse response = context.response();
+        response.putHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.putHeader(HttpHeaders.ETAG, etag);
+        if (asset.isCompressed()) {
+            response.putHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatusCode(HttpStatusCode.NOT_MODIFIED_304).end();
+            return;
+        }
+
+        io.vertx.core.buffer.Buffer content = gzip ? asset.getGzipContent() : asset.getContent();
+        response.putHeader(HttpHeaders.CONTENT_TYPE, asset.getContentType());
+        response.putHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(content.length()));
+        if (gzip) {
+            response.putHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+
+        if (request.method() == HttpMethod.HEAD) {
+            response.end();
+        } else {
+            response.end(Buffer.newInstance(content));
+        }
+    }
+
+    private static String assetPath(RoutingContext context) {
+        String path = context.normalisedPath();
+        String mountPoint = context.mountPoint();
+        if (mountPoint != null && path.startsWith(mountPoint)) {
+            path = path.substring(mountPoint.length());
+        }
+        String prefix = context.currentRoute().getPath();
+        if (prefix != null && path.startsWith(prefix)) {
+            path = path.substring(prefix.length());
+        }
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx.handler.assets.impl;
+
+import io.gravitee.am.gateway.handler.vertx.handler.assets.StaticAsset;
+import io.gravitee.am.gateway.handler.vertx.handler.assets.StaticAssetCache;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.impl.MimeMapping;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link StaticAssetCache} loading the {@code webroot/assets} classpath directory at startup.
+ * Assets are compressed once, the gzip content is only kept if it saves at least 10% of the original size.
+ *
+ * @author GraviteeSource Team
+ */
+public class StaticAssetCacheImpl implements StaticAssetCache, InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaticAssetCacheImpl.class);
+    private static final String ASSETS_LOCATION = "webroot/assets/";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private Map<String, StaticAsset> assets = Collections.emptyMap();
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(getClass().getClassLoader());
+        Map<String, StaticAsset> assets = new HashMap<>();
+        for (Resource resource : resolver.getResources("classpath*:" + ASSETS_LOCATION + "**")) {
+            String url = resource.getURL().toString();
+            if (url.endsWith("/") || !resource.isReadable()) {
+                // directory
+                continue;
+            }
+            String path = url.substring(url.lastIndexOf(ASSETS_LOCATION) + ASSETS_LOCATION.length());
+            try (InputStream inputStream = resource.getInputStream()) {
+                // first asset found in the classpath wins
+                assets.putIfAbsent(path, load(path, StreamUtils.copyToByteArray(inputStream)));
+            }
+        }
+        this.assets = assets;
+        logger.info("{} static assets loaded", assets.size());
+    }
+
+    @Override
+    public StaticAsset get(String path) {
+        return assets.get(path);
+    }
+
+    private static StaticAsset load(String path, byte[] content) throws IOException {
+        String etag = etag(content);
+        byte[] gzipContent = gzip(content);
+        if (gzipContent.length > content.length * 0.9) {
+            return new StaticAsset(contentType(path), Buffer.buffer(content), etag, null, null);
+        }
+        return new StaticAsset(contentType(path), Buffer.buffer(content), etag, Buffer.buffer(gzipContent), etag(gzipContent));
+    }
+
+    private static String contentType(String path) {
+        String contentType = MimeMapping.getMimeTypeForFilename(path);
+        if (contentType == null) {
+            return DEFAULT_CONTENT_TYPE;
+        }
+        if (contentType.startsWith("text") || contentType.equals("application/javascript")) {
+            return contentType + ";charset=UTF-8";
+        }
+        return contentType;
+    }
+
+    private static String etag(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return '"' + Long.toHexString(crc.getValue()) + '-' + Integer.toHexString(content.length) + '"';
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(content.length);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(content);
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,280 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx.handler.session;
+
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.repository.oauth2.api.SessionRepository;
+import io.gravitee.common.utils.UUID;
+import io.reactivex.Completable;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.auth.PRNG;
+import io.vertx.ext.web.Session;
+import io.vertx.ext.web.sstore.SessionStore;
+import io.vertx.ext.web.sstore.impl.SessionImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Session store backed by the {@link SessionRepository} so that any gateway instance can serve any session.
+ *
+ * Sessions are stored with the Vert.x binary session format. The last version of each session seen by this
+ * instance is kept in a local near-cache: reading a session only checks its revision against the repository instead
+ * of loading and deserializing it again, and storing a session whose data did not change is skipped until the
+ * stored expiration date needs to be pushed back.
+ *
+ * Concurrent requests on the same session (possibly on different instances) are not merged. A session found in the
+ * near-cache is only replaced if its revision has not changed in the repository: the first write wins and the other
+ * one fails, so that its changes are reported by the session handler instead of silently overwriting the first ones.
+ * Sessions missing from the near-cache (new or evicted sessions) are written unconditionally.
+ *
+ * The store is bound to its security domain context, its purge timer is cancelled when the context is closed.
+ *
+ * @author GraviteeSource Team
+ */
+public class RepositorySessionStore implements SessionStore, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositorySessionStore.class);
+    private static final long PURGE_INTERVAL = 60 * 1000;
+
+    private final Vertx vertx;
+    private final SessionRepository sessionRepository;
+    private final Domain domain;
+    private final long retryTimeout;
+    private final long touchInterval;
+    private final int cacheMaxSize;
+    private final PRNG prng;
+    private final long purgeTimerId;
+    private final ConcurrentMap<String, CachedSession> cache = new ConcurrentHashMap<>();
+
+    public RepositorySessionStore(Vertx vertx, SessionRepository sessionRepository, Domain domain,
+                                  long retryTimeout, long touchInterval, int cacheMaxSize) {
+        this.vertx = vertx;
+        this.sessionRepository = sessionRepository;
+        this.domain = domain;
+        this.retryTimeout = retryTimeout;
+        this.touchInterval = touchInterval;
+        this.cacheMaxSize = cacheMaxSize;
+        this.prng = new PRNG(vertx);
+        this.purgeTimerId = vertx.setPeriodic(PURGE_INTERVAL, tid -> purgeCache());
+    }
+
+    @Override
+    public long retryTimeout() {
+        return retryTimeout;
+    }
+
+    @Override
+    public Session createSession(long timeout) {
+        return new SessionImpl(prng, timeout, DEFAULT_SESSIONID_LENGTH);
+    }
+
+    @Override
+    public Session createSession(long timeout, int length) {
+        return new SessionImpl(prng, timeout, length);
+    }
+
+    @Override
+    public void get(String id, Handler<AsyncResult<Session>> resultHandler) {
+        final Context context = vertx.getOrCreateContext();
+        final CachedSession cachedSession = cache.get(id);
+        if (cachedSession == null) {
+            load(id, context, resultHandler);
+            return;
+        }
+
+        sessionRepository.findRevisionById(id)
+                .subscribe(
+                        revision -> {
+                            if (revision.equals(cachedSession.revision)) {
+                                complete(context, resultHandler, Future.succeededFuture(readSession(cachedSession.value)));
+                            } else {
+                                // the session has been updated by another instance
+                                load(id, context, resultHandler);
+                            }
+                        },
+                        error -> complete(context, resultHandler, Future.failedFuture(error)),
+                        () -> {
+                            cache.remove(id);
+                            complete(context, resultHandler, Future.succeededFuture());
+                        });
+    }
+
+    @Override
+    public void delete(String id, Handler<AsyncResult<Void>> resultHandler) {
+        final Context context = vertx.getOrCreateContext();
+        cache.remove(id);
+        sessionRepository.delete(id)
+                .subscribe(
+                        () -> complete(context, resultHandler, Future.succeededFuture()),
+                        error -> complete(context, resultHandler, Future.failedFuture(error)));
+    }
+
+    @Override
+    public void put(Session session, Handler<AsyncResult<Void>> resultHandler) {
+        final Context context = vertx.getOrCreateContext();
+        final SessionImpl sessionImpl = (SessionImpl) session;
+        final CachedSession cachedSession = cache.get(session.id());
+
+        // the version is only incremented if the session data has changed
+        sessionImpl.incrementVersion();
+        final long now = System.currentTimeMillis();
+        if (cachedSession != null && cachedSession.version == sessionImpl.version() && now - cachedSession.storedAt < touchInterval) {
+            complete(context, resultHandler, Future.succeededFuture());
+            return;
+        }
+
+        Buffer buffer = Buffer.buffer();
+        sessionImpl.writeToBuffer(buffer);
+        final byte[] value = buffer.getBytes();
+
+        io.gravitee.am.repository.oauth2.model.Session storedSession = new io.gravitee.am.repository.oauth2.model.Session();
+        storedSession.setId(session.id());
+        storedSession.setDomain(domain.getId());
+        storedSession.setRevision(UUID.random().toString());
+        storedSession.setValue(value);
+        storedSession.setCreatedAt(cachedSession != null ? cachedSession.createdAt : new Date(now));
+        storedSession.setUpdatedAt(new Date(now));
+        storedSession.setExpireAt(new Date(session.lastAccessed() + session.timeout()));
+
+        // a session known by this instance is only replaced if no other instance has stored it in the meantime
+        Completable store = cachedSession == null
+                ? sessionRepository.save(storedSession)
+                : sessionRepository.replace(storedSession, cachedSession.revision)
+                        .flatMapCompletable(replaced -> replaced
+                                ? Completable.complete()
+                                : Completable.error(new IllegalStateException("Session has been updated by another request, changes are discarded")));
+
+        store.subscribe(
+                        () -> {
+                            cache(storedSession, sessionImpl.version(), now);
+                            complete(context, resultHandler, Future.succeededFuture());
+                        },
+                        error -> {
+                            cache.remove(session.id());
+                            complete(context, resultHandler, Future.failedFuture(error));
+                        });
+    }
+
+    @Override
+    public void clear(Handler<AsyncResult<Void>> resultHandler) {
+        final Context context = vertx.getOrCreateContext();
+        cache.clear();
+        sessionRepository.deleteByDomain(domain.getId())
+                .subscribe(
+                        () -> complete(context, resultHandler, Future.succeededFuture()),
+                        error -> complete(context, resultHandler, Future.failedFuture(error)));
+    }
+
+    @Override
+    public void size(Handler<AsyncResult<Integer>> resultHandler) {
+        final Context context = vertx.getOrCreateContext();
+        sessionRepository.countByDomain(domain.getId())
+                .subscribe(
+                        count -> complete(context, resultHandler, Future.succeededFuture(count.intValue())),
+                        error -> complete(context, resultHandler, Future.failedFuture(error)));
+    }
+
+    @Override
+    public void close() {
+        vertx.cancelTimer(purgeTimerId);
+        prng.close();
+        cache.clear();
+    }
+
+    @Override
+    public void destroy() {
+        close();
+    }
+
+    private void load(String id, Context context, Handler<AsyncResult<Session>> resultHandler) {
+        sessionRepository.findById(id)
+                .subscribe(
+                        storedSession -> {
+                            try {
+                                SessionImpl session = readSession(storedSession.getValue());
+                                long storedAt = storedSession.getUpdatedAt() == null ? System.currentTimeMillis() : storedSession.getUpdatedAt().getTime();
+                                cache(storedSession, session.version(), storedAt);
+                                complete(context, resultHandler, Future.succeededFuture(session));
+                            } catch (Exception ex) {
+                                logger.error("Unable to read session {}, the session is discarded", id, ex);
+                                cache.remove(id);
+                                complete(context, resultHandler, Future.succeededFuture());
+                            }
+                        },
+                        error -> complete(context, resultHandler, Future.failedFuture(error)),
+                        () -> {
+                            cache.remove(id);
+                            complete(context, resultHandler, Future.succeededFuture());
+                        });
+    }
+
+    private void cache(io.gravitee.am.repository.oauth2.model.Session storedSession, int version, long storedAt) {
+        if (cache.size() >= cacheMaxSize && !cache.containsKey(storedSession.getId())) {
+            Iterator<String> ite = cache.keySet().iterator();
+            if (ite.hasNext()) {
+                cache.remove(ite.next());
+            }
+        }
+        cache.put(storedSession.getId(), new CachedSession(storedSession, version, storedAt));
+    }
+
+    private SessionImpl readSession(byte[] value) {
+        // each request gets its own copy of the session
+        SessionImpl session = new SessionImpl(prng);
+        session.readFromBuffer(0, Buffer.buffer(value));
+        return session;
+    }
+
+    private void purgeCache() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(cachedSession -> cachedSession.expireAt <= now);
+    }
+
+    private static <T> void complete(Context context, Handler<AsyncResult<T>> resultHandler, AsyncResult<T> result) {
+        // repository callbacks are not run on the Vert.x context of the request
+        context.runOnContext(v -> resultHandler.handle(result));
+    }
+
+    private static class CachedSession {
+
+        private final byte[] value;
+        private final String revision;
+        private final Date createdAt;
+        private final long expireAt;
+        private final long storedAt;
+        private final int version;
+
+        CachedSession(io.gravitee.am.repository.oauth2.model.Session storedSession, int version, long storedAt) {
+            this.value = storedSession.getValue();
+            this.revision = storedSession.getRevision();
+            this.createdAt = storedSession.getCreatedAt();
+            this.expireAt = storedSession.getExpireAt() == null ? Long.MAX_VALUE : storedSession.getExpireAt().getTime();
+            this.storedAt = storedAt;
+            this.version = version;
+        }
+    }
+}
@@ -16,13 +16,21 @@
 package io.gravitee.am.gateway.handler.vertx.spring;
 
 import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
+import io.gravitee.am.gateway.handler.vertx.handler.session.RepositorySessionStore;
 import io.gravitee.am.gateway.handler.vertx.handler.login.LoginRouter;
 import io.gravitee.am.gateway.handler.vertx.handler.oauth2.OAuth2Router;
 import io.gravitee.am.gateway.handler.vertx.handler.oidc.OIDCRouter;
 import io.gravitee.am.gateway.handler.vertx.view.ThymeleafConfiguration;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.repository.oauth2.api.SessionRepository;
+import io.vertx.ext.web.sstore.LocalSessionStore;
+import io.vertx.ext.web.sstore.SessionStore;
+import io.vertx.reactivex.core.Vertx;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -32,6 +40,24 @@ import org.springframework.context.annotation.Import;
 @Configuration
 public class SecurityDomainRouterConfiguration {
 
+    private static final String LOCAL_SESSION_STORE = "local";
+    private static final String REPOSITORY_SESSION_STORE = "repository";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private Vertx vertx;
+
+    @Autowired
+    private Domain domain;
+
+    @Autowired(required = false)
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private LocalSessionStore localSessionStore;
+
     @Bean
     public VertxSecurityDomainHandler securityDomainHandler() {
         return new VertxSecurityDomainHandler();
@@ -51,4 +77,23 @@ public class SecurityDomainRouterConfiguration {
     public OAuth2Router oAuth2Router() {
         return new OAuth2Router();
     }
+
+    /**
+     * Sessions are kept in memory by default, the repository store shares them between gateway instances.
+     * The local store is shared by all the domains of the gateway so it is never closed with the domain.
+     */
+    @Bean(destroyMethod = "")
+    public SessionStore sessionStore() {
+        String type = environment.getProperty("http.session.store.type", LOCAL_SESSION_STORE);
+        if (REPOSITORY_SESSION_STORE.equalsIgnoreCase(type)) {
+            if (sessionRepository == null) {
+                throw new IllegalStateException("No session repository available for the repository session store");
+            }
+            return new RepositorySessionStore(vertx.getDelegate(), sessionRepository, domain,
+                    environment.getProperty("http.session.store.retryTimeout", Long.class, 500L),
+                    environment.getProperty("http.session.store.touchInterval", Long.class, 60000L),
+                    environment.getProperty("http.session.store.cache.maxSize", Integer.class, 10000));
+        }
+        return localSessionStore;
+    }
 }
@@ -16,18 +16,13 @@
 package io.gravitee.am.gateway.handler.vertx.view;
 
 import io.gravitee.am.model.Domain;
-import org.springframework.beans.factory.InitializingBean;
+import io.gravitee.am.model.login.LoginForm;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.thymeleaf.IEngineConfiguration;
-import org.thymeleaf.cache.ICacheEntryValidity;
-import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.AbstractConfigurableTemplateResolver;
-import org.thymeleaf.templateresolver.AbstractTemplateResolver;
-import org.thymeleaf.templateresolver.StringTemplateResolver;
 import org.thymeleaf.templateresource.ITemplateResource;
 import org.thymeleaf.templateresource.StringTemplateResource;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -35,27 +30,22 @@ import java.util.Map;
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class DomainBasedTemplateResolver extends AbstractConfigurableTemplateResolver implements InitializingBean {
+public class DomainBasedTemplateResolver extends AbstractConfigurableTemplateResolver {
 
-    private Map<String, String> templates = new HashMap<>();
+    private static final String LOGIN_TEMPLATE = "login";
 
     @Autowired
     private Domain domain;
 
-
     @Override
     protected ITemplateResource computeTemplateResource(IEngineConfiguration configuration, String ownerTemplate, String template, String resourceName, String characterEncoding, Map<String, Object> templateResolutionAttributes) {
-        if (templates.containsKey(resourceName)) {
-            return new StringTemplateResource(templates.get(resourceName));
+        // the domain is read on each resolution so that the login form can be updated without restarting the domain,
+        // returning null lets the next template resolver handle the template
+        LoginForm loginForm = domain.getLoginForm();
+        if (LOGIN_TEMPLATE.equals(resourceName) && loginForm != null && loginForm.getContent() != null && loginForm.isEnabled()) {
+            return new StringTemplateResource(loginForm.getContent());
         }
 
         return null;
     }
-
-    @Override
-    public void afterPropertiesSet() {
-        if (domain.getLoginForm() != null && domain.getLoginForm().getContent() != null && domain.getLoginForm().isEnabled()) {
-            templates.put("login", domain.getLoginForm().getContent());
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.am.gateway.core.event.EventManager;
+import io.gravitee.am.gateway.handler.certificate.impl.CertificateRegistryImpl;
+import io.gravitee.am.gateway.handler.jwt.JwtSigningExecutor;
+import io.gravitee.am.gateway.handler.jwt.impl.JwtServiceImpl;
+import io.gravitee.am.gateway.handler.jwt.impl.VerifiedJwtCacheImpl;
+import io.gravitee.am.gateway.handler.oauth2.client.impl.ClientRegistryImpl;
+import io.gravitee.am.gateway.handler.oauth2.code.impl.AuthorizationCodeServiceImpl;
+import io.gravitee.am.gateway.handler.oauth2.token.impl.RevokedTokenRegistryImpl;
+import io.gravitee.am.gateway.handler.vertx.handler.assets.impl.StaticAssetCacheImpl;
+import io.gravitee.am.gateway.service.UserLoginRecorder;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.plugins.certificate.core.CertificatePluginManager;
+import io.gravitee.am.plugins.extensiongrant.core.ExtensionGrantPluginManager;
+import io.gravitee.am.plugins.idp.core.IdentityProviderPluginManager;
+import io.gravitee.am.repository.management.api.*;
+import io.gravitee.am.repository.oauth2.api.*;
+import io.reactivex.*;
+import io.vertx.ext.web.sstore.LocalSessionStore;
+import io.vertx.reactivex.core.Vertx;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measure the deploy time and the heap retained by each security domain, with the current Spring based domain runtime.
+ * Only this runtime is measured: the figures are meant to be compared between two builds on the same machine,
+ * there is no built-in comparison with other ways of deploying a domain.
+ *
+ * Not part of the regular build, run it with:
+ * <pre>mvn test -Dtest=SecurityDomainRouterFactoryBenchmark -Dbenchmark.domains=200</pre>
+ *
+ * @author GraviteeSource Team
+ */
+public class SecurityDomainRouterFactoryBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SecurityDomainRouterFactoryBenchmark.class);
+    private static final int WARMUP_DOMAINS = 20;
+
+    private static final List<Class<?>> REPOSITORIES = Arrays.asList(
+            ClientRepository.class, CertificateRepository.class, IdentityProviderRepository.class,
+            ExtensionGrantRepository.class, RoleRepository.class, ScopeRepository.class, UserRepository.class,
+            AccessTokenRepository.class, RefreshTokenRepository.class, AuthorizationCodeRepository.class,
+            ScopeApprovalRepository.class, SessionRepository.class);
+
+    /**
+     * Repositories of a domain without any entity
+     */
+    private static final Answer<?> EMPTY_REPOSITORY = invocation -> {
+        Class<?> returnType = invocation.getMethod().getReturnType();
+        if (returnType == Single.class) {
+            Type result = ((ParameterizedType) invocation.getMethod().getGenericReturnType()).getActualTypeArguments()[0];
+            Type resultType = result instanceof ParameterizedType ? ((ParameterizedType) result).getRawType() : result;
+            if (resultType == Set.class) {
+                return Single.just(Collections.emptySet());
+            } else if (resultType == List.class) {
+                return Single.just(Collections.emptyList());
+            }
+            return Single.error(new UnsupportedOperationException());
+        } else if (returnType == Maybe.class) {
+            return Maybe.empty();
+        } else if (returnType == Completable.class) {
+            return Completable.complete();
+        } else if (returnType == Flowable.class) {
+            return Flowable.empty();
+        } else if (returnType == Observable.class) {
+            return Observable.empty();
+        }
+        return null;
+    };
+
+    private AnnotationConfigApplicationContext gatewayContext;
+    private SecurityDomainRouterFactory securityDomainRouterFactory;
+    private Vertx vertx;
+
+    @Before
+    public void init() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("io.gravitee")).setLevel(Level.WARN);
+        ((ch.qos.logback.classic.Logger) LOGGER).setLevel(Level.INFO);
+
+        vertx = Vertx.vertx();
+        gatewayContext = new AnnotationConfigApplicationContext();
+        gatewayContext.getBeanFactory().registerSingleton("vertx", vertx);
+        gatewayContext.getBeanFactory().registerSingleton("objectMapper", new ObjectMapper());
+        gatewayContext.getBeanFactory().registerSingleton("localSessionStore", LocalSessionStore.create(vertx.getDelegate()));
+        gatewayContext.getBeanFactory().registerSingleton("eventManager", mock(EventManager.class));
+        gatewayContext.getBeanFactory().registerSingleton("userLoginRecorder", mock(UserLoginRecorder.class));
+        gatewayContext.getBeanFactory().registerSingleton("certificatePluginManager", mock(CertificatePluginManager.class));
+        gatewayContext.getBeanFactory().registerSingleton("extensionGrantPluginManager", mock(ExtensionGrantPluginManager.class));
+        gatewayContext.getBeanFactory().registerSingleton("identityProviderPluginManager", mock(IdentityProviderPluginManager.class));
+        REPOSITORIES.forEach(repository -> gatewayContext.getBeanFactory()
+                .registerSingleton(repository.getSimpleName(), mock(repository, EMPTY_REPOSITORY)));
+        gatewayContext.register(ClientRegistryImpl.class, CertificateRegistryImpl.class, RevokedTokenRegistryImpl.class,
+                VerifiedJwtCacheImpl.class, JwtSigningExecutor.class, JwtServiceImpl.class, AuthorizationCodeServiceImpl.class,
+                StaticAssetCacheImpl.class, SecurityDomainRouterFactory.class);
+        gatewayContext.refresh();
+
+        securityDomainRouterFactory = gatewayContext.getBean(SecurityDomainRouterFactory.class);
+    }
+
+    @After
+    public void close() {
+        gatewayContext.close();
+        vertx.close();
+    }
+
+    @Test
+    public void deployDomains() {
+        int domains = Integer.getInteger("benchmark.domains", 100);
+
+        deploy(0, WARMUP_DOMAINS);
+        for (int i = 0; i < WARMUP_DOMAINS; i++) {
+            securityDomainRouterFactory.destroy(domain(i));
+        }
+
+        long heapBefore = usedHeap();
+        long startTime = System.nanoTime();
+        deploy(WARMUP_DOMAINS, domains);
+        long deployTime = System.nanoTime() - startTime;
+        long heapAfter = usedHeap();
+
+        LOGGER.info("{} domains deployed: {} ms/domain, {} KB/domain", domains,
+                String.format("%.2f", deployTime / 1_000_000.0 / domains), (heapAfter - heapBefore) / 1024 / domains);
+    }
+
+    private void deploy(int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            securityDomainRouterFactory.create(domain(i)).create();
+        }
+    }
+
+    private static Domain domain(int i) {
+        Domain domain = new Domain();
+        domain.setId("domain-" + i);
+        domain.setName("domain-" + i);
+        domain.setPath("/domain-" + i);
+        domain.setEnabled(true);
+        return domain;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.auth.idp;
+
+import io.gravitee.am.gateway.core.event.EventManager;
+import io.gravitee.am.gateway.core.event.IdentityProviderEvent;
+import io.gravitee.am.gateway.handler.auth.idp.impl.IdentityProviderManagerImpl;
+import io.gravitee.am.identityprovider.api.AuthenticationProvider;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.IdentityProvider;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.plugins.idp.core.IdentityProviderPluginManager;
+import io.gravitee.am.repository.management.api.IdentityProviderRepository;
+import io.gravitee.common.event.impl.SimpleEvent;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Collections;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class IdentityProviderManagerTest {
+
+    private static final String DOMAIN_ID = "domain-id";
+    private static final String IDP_ID = "idp-id";
+
+    @InjectMocks
+    private IdentityProviderManagerImpl identityProviderManager = new IdentityProviderManagerImpl();
+
+    @Mock
+    private Domain domain;
+
+    @Mock
+    private IdentityProviderPluginManager identityProviderPluginManager;
+
+    @Mock
+    private IdentityProviderRepository identityProviderRepository;
+
+    @Mock
+    private EventManager eventManager;
+
+    @Mock
+    private AuthenticationProvider authenticationProvider;
+
+    private IdentityProvider identityProvider;
+
+    @Before
+    public void setUp() {
+        identityProvider = new IdentityProvider();
+        identityProvider.setId(IDP_ID);
+        identityProvider.setType("ldap");
+        identityProvider.setConfiguration("{}");
+
+        when(domain.getId()).thenReturn(DOMAIN_ID);
+        when(identityProviderRepository.findByDomain(DOMAIN_ID)).thenReturn(Single.just(Collections.singleton(identityProvider)));
+        when(identityProviderPluginManager.acquire(eq("ldap"), anyString(), any(), any())).thenReturn(authenticationProvider);
+
+        identityProviderManager.afterPropertiesSet();
+    }
+
+    @Test
+    public void shouldCreateAuthenticationProviderOnFirstUse() {
+        verify(identityProviderPluginManager, never()).acquire(anyString(), anyString(), any(), any());
+
+        TestObserver<AuthenticationProvider> testObserver = identityProviderManager.get(IDP_ID).test();
+        testObserver.awaitTerminalEvent();
+        testObserver.assertValue(authenticationProvider);
+
+        identityProviderManager.get(IDP_ID).test().assertValue(authenticationProvider);
+        verify(identityProviderPluginManager, times(1)).acquire(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    public void shouldNotGetUnknownIdentityProvider() {
+        identityProviderManager.get("unknown").test().assertNoValues().assertComplete();
+    }
+
+    @Test
+    public void shouldReleaseAuthenticationProvider_identityProviderUpdated() {
+        identityProviderManager.get(IDP_ID).test().awaitTerminalEvent();
+        when(identityProviderRepository.findById(IDP_ID)).thenReturn(Maybe.just(identityProvider));
+
+        identityProviderManager.onEvent(new SimpleEvent<>(IdentityProviderEvent.UPDATE, new Payload(IDP_ID, DOMAIN_ID, Action.UPDATE)));
+
+        verify(identityProviderPluginManager, times(1)).release(authenticationProvider);
+        identityProviderManager.get(IDP_ID).test().awaitTerminalEvent();
+        verify(identityProviderPluginManager, times(2)).acquire(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    public void shouldReleaseAuthenticationProvider_identityProviderRemoved() {
+        identityProviderManager.get(IDP_ID).test().awaitTerminalEvent();
+
+        identityProviderManager.onEvent(new SimpleEvent<>(IdentityProviderEvent.UNDEPLOY, new Payload(IDP_ID, DOMAIN_ID, Action.DELETE)));
+
+        verify(identityProviderPluginManager, times(1)).release(authenticationProvider);
+        identityProviderManager.get(IDP_ID).test().assertNoValues();
+    }
+
+    @Test
+    public void shouldReleaseAuthenticationProviders_stopped() throws Exception {
+        identityProviderManager.get(IDP_ID).test().awaitTerminalEvent();
+
+        identityProviderManager.start();
+        identityProviderManager.stop();
+
+        verify(identityProviderPluginManager, times(1)).release(authenticationProvider);
+    }
+}
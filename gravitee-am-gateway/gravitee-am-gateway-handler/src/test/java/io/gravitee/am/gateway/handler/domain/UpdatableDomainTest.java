@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.domain;
+
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.login.LoginForm;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class UpdatableDomainTest {
+
+    @Test
+    public void shouldSwitchAllSettingsAtOnce() {
+        UpdatableDomain domain = new UpdatableDomain(domain("path", "idp-1", "old content"));
+        Domain snapshot = domain.snapshot();
+
+        domain.update(domain("new-path", "idp-2", "new content"));
+
+        // a snapshot taken before the update is left untouched
+        Assert.assertEquals("path", snapshot.getPath());
+        Assert.assertEquals(Collections.singleton("idp-1"), snapshot.getIdentities());
+        Assert.assertEquals("old content", snapshot.getLoginForm().getContent());
+
+        Assert.assertEquals("new-path", domain.getPath());
+        Assert.assertEquals(Collections.singleton("idp-2"), domain.getIdentities());
+        Assert.assertEquals("new content", domain.getLoginForm().getContent());
+        Assert.assertEquals("domain-id", domain.getId());
+    }
+
+    @Test
+    public void shouldNotBeAlteredByTheSourceDomain() {
+        Domain source = domain("path", "idp-1", "content");
+        UpdatableDomain domain = new UpdatableDomain(source);
+
+        source.setPath("other-path");
+        source.getIdentities().add("idp-2");
+
+        Assert.assertEquals("path", domain.getPath());
+        Assert.assertEquals(Collections.singleton("idp-1"), domain.getIdentities());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotBeModifiedInPlace() {
+        new UpdatableDomain(domain("path", "idp-1", "content")).setPath("other-path");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotBeReplacedByAnotherDomain() {
+        UpdatableDomain domain = new UpdatableDomain(domain("path", "idp-1", "content"));
+        Domain otherDomain = domain("path", "idp-1", "content");
+        otherDomain.setId("other-domain-id");
+
+        domain.update(otherDomain);
+    }
+
+    private static Domain domain(String path, String identity, String loginFormContent) {
+        LoginForm loginForm = new LoginForm();
+        loginForm.setEnabled(true);
+        loginForm.setContent(loginFormContent);
+
+        Set<String> identities = new HashSet<>();
+        identities.add(identity);
+
+        Domain domain = new Domain();
+        domain.setId("domain-id");
+        domain.setPath(path);
+        domain.setIdentities(identities);
+        domain.setLoginForm(loginForm);
+        return domain;
+    }
+}
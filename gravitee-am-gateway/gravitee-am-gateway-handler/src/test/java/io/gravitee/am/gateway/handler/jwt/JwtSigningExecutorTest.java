@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt;
+
+import io.reactivex.observers.TestObserver;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class JwtSigningExecutorTest {
+
+    private JwtSigningExecutor jwtSigningExecutor;
+
+    @After
+    public void tearDown() {
+        jwtSigningExecutor.destroy();
+    }
+
+    @Test
+    public void shouldSignOnSigningPool() {
+        jwtSigningExecutor = new JwtSigningExecutor(1, 10, "abort");
+        jwtSigningExecutor.afterPropertiesSet();
+
+        TestObserver<String> testObserver = jwtSigningExecutor.execute(() -> Thread.currentThread().getName()).test();
+        testObserver.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        testObserver.assertComplete();
+        testObserver.assertValue(threadName -> threadName.startsWith("gio.am-jwt-signer-"));
+
+        Assert.assertEquals(1, jwtSigningExecutor.getSignedTokens());
+    }
+
+    @Test
+    public void shouldPropagateSigningError() {
+        jwtSigningExecutor = new JwtSigningExecutor(1, 10, "abort");
+        jwtSigningExecutor.afterPropertiesSet();
+
+        TestObserver<String> testObserver = jwtSigningExecutor.execute(() -> { throw new IllegalStateException("signing error"); }).test();
+        testObserver.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        testObserver.assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldRejectWhenQueueIsFull() throws Exception {
+        jwtSigningExecutor = new JwtSigningExecutor(1, 1, "abort");
+        jwtSigningExecutor.afterPropertiesSet();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        // occupy the only signing thread and the only queue slot
+        jwtSigningExecutor.execute(() -> { latch.await(); return "first"; }).test();
+        jwtSigningExecutor.execute(() -> "second").test();
+
+        TestObserver<String> testObserver = jwtSigningExecutor.execute(() -> "third").test();
+        testObserver.assertError(RejectedExecutionException.class);
+        Assert.assertEquals(1, jwtSigningExecutor.getRejectedTasks());
+
+        latch.countDown();
+    }
+
+    @Test
+    public void shouldSignOnCallerThreadWhenQueueIsFull() throws Exception {
+        jwtSigningExecutor = new JwtSigningExecutor(1, 1, "caller_runs");
+        jwtSigningExecutor.afterPropertiesSet();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        // occupy the only signing thread and the only queue slot
+        jwtSigningExecutor.execute(() -> { latch.await(); return "first"; }).test();
+        jwtSigningExecutor.execute(() -> "second").test();
+
+        String callerThreadName = Thread.currentThread().getName();
+        TestObserver<String> testObserver = jwtSigningExecutor.execute(() -> Thread.currentThread().getName()).test();
+        testObserver.assertComplete();
+        testObserver.assertValue(callerThreadName);
+        Assert.assertEquals(1, jwtSigningExecutor.getRejectedTasks());
+
+        latch.countDown();
+    }
+
+    @Test
+    public void shouldEmitOnCallerContext() throws Exception {
+        jwtSigningExecutor = new JwtSigningExecutor(1, 10, "abort");
+        jwtSigningExecutor.afterPropertiesSet();
+
+        Vertx vertx = Vertx.vertx();
+        try {
+            Context context = vertx.getOrCreateContext();
+            CompletableFuture<Context> emissionContext = new CompletableFuture<>();
+            context.runOnContext(v -> jwtSigningExecutor.execute(() -> "signed")
+                    .subscribe(jwt -> emissionContext.complete(Vertx.currentContext()), emissionContext::completeExceptionally));
+
+            Assert.assertSame(context, emissionContext.get(5, TimeUnit.SECONDS));
+        } finally {
+            vertx.close();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.common.jwt.exception.ExpiredJwtException;
+import io.gravitee.am.common.jwt.exception.SignatureException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DefaultJwtBuilderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void shouldSignAndParse_hmac() {
+        Key key = Keys.hmacShaKeyFor("s3cR3t4grAv1t3310AMS1g1ingDftK3y".getBytes());
+        assertSignAndParse(key, key, SignatureAlgorithm.HS256);
+    }
+
+    @Test
+    public void shouldSignAndParse_rsa() {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        assertSignAndParse(keyPair.getPrivate(), keyPair.getPublic(), SignatureAlgorithm.RS256);
+    }
+
+    @Test
+    public void shouldSignAndParse_ecdsa() {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        assertSignAndParse(keyPair.getPrivate(), keyPair.getPublic(), SignatureAlgorithm.ES256);
+    }
+
+    @Test
+    public void shouldBeVerifiedByJjwt() {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        String token = new DefaultJwtBuilder(keyPair.getPrivate(), "my-kid", objectMapper).sign(jwt("subject"));
+
+        Jws<Claims> jws = Jwts.parser().setSigningKey(keyPair.getPublic()).parseClaimsJws(token);
+        Assert.assertEquals("subject", jws.getBody().getSubject());
+        Assert.assertEquals("my-kid", jws.getHeader().getKeyId());
+        Assert.assertEquals("ES256", jws.getHeader().getAlgorithm());
+    }
+
+    @Test
+    public void shouldParseJjwtToken() {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        String token = Jwts.builder().setClaims(jwt("subject")).setHeaderParam("kid", "my-kid").signWith(keyPair.getPrivate()).compact();
+
+        JWT jwt = new DefaultJwtParser(keyPair.getPublic(), SignatureAlgorithm.RS256, objectMapper).parse(token);
+        Assert.assertEquals("subject", jwt.getSub());
+    }
+
+    @Test(expected = SignatureException.class)
+    public void shouldNotParse_invalidSignature() {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        KeyPair otherKeyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        String token = new DefaultJwtBuilder(otherKeyPair.getPrivate(), "my-kid", objectMapper).sign(jwt("subject"));
+
+        new DefaultJwtParser(keyPair.getPublic(), SignatureAlgorithm.RS256, objectMapper).parse(token);
+    }
+
+    @Test(expected = SignatureException.class)
+    public void shouldNotParse_unsignedToken() {
+        Key key = Keys.hmacShaKeyFor("s3cR3t4grAv1t3310AMS1g1ingDftK3y".getBytes());
+        String token = new DefaultJwtBuilder(key, "my-kid", objectMapper).sign(jwt("subject"));
+
+        new DefaultJwtParser(key, SignatureAlgorithm.HS256, objectMapper).parse(token.substring(0, token.lastIndexOf('.') + 1));
+    }
+
+    @Test(expected = ExpiredJwtException.class)
+    public void shouldNotParse_expiredToken() {
+        Key key = Keys.hmacShaKeyFor("s3cR3t4grAv1t3310AMS1g1ingDftK3y".getBytes());
+        JWT jwt = jwt("subject");
+        jwt.setExp(System.currentTimeMillis() / 1000 - 60);
+        String token = new DefaultJwtBuilder(key, "my-kid", objectMapper).sign(jwt);
+
+        new DefaultJwtParser(key, SignatureAlgorithm.HS256, objectMapper).parse(token);
+    }
+
+    @Test
+    public void shouldSignConcurrently() throws Exception {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        DefaultJwtBuilder builder = new DefaultJwtBuilder(keyPair.getPrivate(), "my-kid", objectMapper);
+        DefaultJwtParser parser = new DefaultJwtParser(keyPair.getPublic(), SignatureAlgorithm.RS256, objectMapper);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final String subject = "subject-" + i;
+                results.add(executorService.submit(() -> subject.equals(parser.parse(builder.sign(jwt(subject))).getSub())));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void assertSignAndParse(Key signingKey, Key verifyingKey, SignatureAlgorithm signatureAlgorithm) {
+        String token = new DefaultJwtBuilder(signingKey, "my-kid", objectMapper).sign(jwt("subject"));
+        JWT jwt = new DefaultJwtParser(verifyingKey, signatureAlgorithm, objectMapper).parse(token);
+
+        Assert.assertEquals("subject", jwt.getSub());
+        Assert.assertEquals("client-id", jwt.getAud());
+        Assert.assertEquals("token-id", jwt.getJti());
+    }
+
+    private JWT jwt(String subject) {
+        JWT jwt = new JWT();
+        jwt.setSub(subject);
+        jwt.setAud("client-id");
+        jwt.setJti("token-id");
+        jwt.setIat(System.currentTimeMillis() / 1000);
+        jwt.setExp(System.currentTimeMillis() / 1000 + 60);
+        return jwt;
+    }
+}
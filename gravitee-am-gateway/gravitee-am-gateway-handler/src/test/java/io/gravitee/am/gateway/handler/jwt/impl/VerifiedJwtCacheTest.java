@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.jwt.impl;
+
+import io.gravitee.am.common.jwt.JWT;
+import io.gravitee.am.gateway.handler.certificate.CertificateProvider;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class VerifiedJwtCacheTest {
+
+    private VerifiedJwtCacheImpl verifiedJwtCache;
+    private CertificateProvider certificateProvider = new CertificateProvider(null);
+
+    @Before
+    public void setUp() {
+        verifiedJwtCache = new VerifiedJwtCacheImpl();
+        verifiedJwtCache.afterPropertiesSet();
+    }
+
+    @Test
+    public void shouldGetVerifiedJwt() {
+        verifiedJwtCache.put("token", certificateProvider, jwt("token-id", System.currentTimeMillis() / 1000 + 60));
+
+        JWT jwt = verifiedJwtCache.get("token", certificateProvider);
+        Assert.assertNotNull(jwt);
+        Assert.assertEquals("token-id", jwt.getJti());
+        Assert.assertNotNull(verifiedJwtCache.get("token"));
+    }
+
+    @Test
+    public void shouldNotGetVerifiedJwt_otherCertificate() {
+        verifiedJwtCache.put("token", certificateProvider, jwt("token-id", System.currentTimeMillis() / 1000 + 60));
+
+        Assert.assertNull(verifiedJwtCache.get("token", new CertificateProvider(null)));
+    }
+
+    @Test
+    public void shouldNotGetVerifiedJwt_expired() {
+        verifiedJwtCache.put("token", certificateProvider, jwt("token-id", System.currentTimeMillis() / 1000 - 60));
+
+        Assert.assertNull(verifiedJwtCache.get("token", certificateProvider));
+    }
+
+    @Test
+    public void shouldNotGetVerifiedJwt_evicted() {
+        verifiedJwtCache.put("token", certificateProvider, jwt("token-id", System.currentTimeMillis() / 1000 + 60));
+        verifiedJwtCache.evict("token-id");
+
+        Assert.assertNull(verifiedJwtCache.get("token", certificateProvider));
+    }
+
+    @Test
+    public void shouldGetVerifiedJwt_otherTokenEvicted() {
+        verifiedJwtCache.put("token", certificateProvider, jwt("token-id", System.currentTimeMillis() / 1000 + 60));
+        verifiedJwtCache.put("other-token", certificateProvider, jwt("other-token-id", System.currentTimeMillis() / 1000 + 60));
+        verifiedJwtCache.evict("other-token-id");
+
+        Assert.assertNotNull(verifiedJwtCache.get("token", certificateProvider));
+        Assert.assertNull(verifiedJwtCache.get("other-token", certificateProvider));
+    }
+
+    @Test
+    public void shouldNotGetVerifiedJwt_evictedAfterPutAgain() {
+        verifiedJwtCache.put("token", certificateProvider, jwt("token-id", System.currentTimeMillis() / 1000 + 60));
+        verifiedJwtCache.put("token", certificateProvider, jwt("token-id", System.currentTimeMillis() / 1000 + 60));
+        verifiedJwtCache.evict("token-id");
+
+        Assert.assertNull(verifiedJwtCache.get("token", certificateProvider));
+    }
+
+    @Test
+    public void shouldNotGetVerifiedJwt_disabled() {
+        verifiedJwtCache.setEnabled(false);
+        verifiedJwtCache.put("token", certificateProvider, jwt("token-id", System.currentTimeMillis() / 1000 + 60));
+
+        Assert.assertNull(verifiedJwtCache.get("token", certificateProvider));
+    }
+
+    private JWT jwt(String jti, long exp) {
+        JWT jwt = new JWT();
+        jwt.setJti(jti);
+        jwt.setExp(exp);
+        return jwt;
+    }
+}
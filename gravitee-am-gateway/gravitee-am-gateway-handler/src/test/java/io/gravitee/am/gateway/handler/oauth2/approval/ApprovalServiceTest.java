@@ -24,6 +24,7 @@ import io.gravitee.am.model.Client;
 import io.gravitee.am.model.Domain;
 import io.gravitee.am.model.oauth2.ScopeApproval;
 import io.gravitee.am.repository.oauth2.api.ScopeApprovalRepository;
+import io.reactivex.Completable;
 import io.reactivex.Maybe;
 import io.reactivex.Single;
 import io.reactivex.observers.TestObserver;
@@ -182,7 +183,7 @@ public class ApprovalServiceTest {
         approvalParameters.put(OAuth2Constants.SCOPE_PREFIX + writeScope, "false");
         authorizationRequest.setApprovalParameters(approvalParameters);
 
-        when(scopeApprovalRepository.upsert(any())).thenReturn(Single.just(new ScopeApproval()));
+        when(scopeApprovalRepository.upsertAll(any())).thenReturn(Completable.complete());
 
         TestObserver<AuthorizationRequest> testObserver = approvalService.saveApproval(authorizationRequest, userId).test();
         testObserver.awaitTerminalEvent();
@@ -213,7 +214,7 @@ public class ApprovalServiceTest {
         approvalParameters.put(OAuth2Constants.SCOPE_PREFIX + writeScope, "false");
         authorizationRequest.setApprovalParameters(approvalParameters);
 
-        when(scopeApprovalRepository.upsert(any())).thenReturn(Single.just(new ScopeApproval()));
+        when(scopeApprovalRepository.upsertAll(any())).thenReturn(Completable.complete());
 
         TestObserver<AuthorizationRequest> testObserver = approvalService.saveApproval(authorizationRequest, userId).test();
         testObserver.awaitTerminalEvent();
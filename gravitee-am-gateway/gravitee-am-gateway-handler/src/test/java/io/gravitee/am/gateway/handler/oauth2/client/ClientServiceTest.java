@@ -15,9 +15,140 @@
  */
 package io.gravitee.am.gateway.handler.oauth2.client;
 
+import io.gravitee.am.gateway.core.event.ClientEvent;
+import io.gravitee.am.gateway.core.event.EventManager;
+import io.gravitee.am.gateway.handler.oauth2.client.impl.ClientRegistryImpl;
+import io.gravitee.am.gateway.handler.oauth2.client.impl.ClientServiceImpl;
+import io.gravitee.am.model.Client;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.repository.management.api.ClientRepository;
+import io.gravitee.common.event.impl.SimpleEvent;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.mockito.Mockito.when;
+
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
+@RunWith(MockitoJUnitRunner.class)
 public class ClientServiceTest {
+
+    private static final String DOMAIN = "domain";
+
+    @InjectMocks
+    private ClientServiceImpl clientService = new ClientServiceImpl();
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    @Mock
+    private EventManager eventManager;
+
+    @Mock
+    private Domain domain;
+
+    @Spy
+    private ClientRegistry clientRegistry = new ClientRegistryImpl();
+
+    @Before
+    public void init() {
+        when(domain.getId()).thenReturn(DOMAIN);
+        when(clientRepository.findByDomain(DOMAIN)).thenReturn(Single.just(new HashSet<>(Arrays.asList(
+                client("id-1", DOMAIN, "client-1"),
+                client("id-2", DOMAIN, "client-2")))));
+        // registered by the other domain context
+        clientRegistry.register(client("id-3", "other-domain", "client-1"));
+        clientService.afterPropertiesSet();
+    }
+
+    @Test
+    public void shouldFindByClientId() {
+        TestObserver<Client> testObserver = clientService.findByClientId("client-1").test();
+
+        testObserver.assertComplete();
+        testObserver.assertValue(client -> client.getId().equals("id-1"));
+    }
+
+    @Test
+    public void shouldFindByDomainAndClientId() {
+        Client client = clientService.getByDomainAndClientId("other-domain", "client-1");
+
+        Assert.assertNotNull(client);
+        Assert.assertEquals("id-3", client.getId());
+    }
+
+    @Test
+    public void shouldNotFindByClientId_unknownClient() {
+        TestObserver<Client> testObserver = clientService.findByClientId("unknown").test();
+
+        testObserver.assertComplete();
+        testObserver.assertNoValues();
+    }
+
+    @Test
+    public void shouldNotFindByDomainAndClientId_unknownDomain() {
+        TestObserver<Client> testObserver = clientService.findByDomainAndClientId("unknown", "client-1").test();
+
+        testObserver.assertComplete();
+        testObserver.assertNoValues();
+    }
+
+    @Test
+    public void shouldUpdateClient_clientIdChanged() {
+        when(clientRepository.findById("id-2")).thenReturn(Maybe.just(client("id-2", DOMAIN, "client-2-renamed")));
+
+        clientService.onEvent(new SimpleEvent<>(ClientEvent.UPDATE, new Payload("id-2", DOMAIN, Action.UPDATE)));
+
+        Assert.assertNull(clientService.getByDomainAndClientId(DOMAIN, "client-2"));
+        Assert.assertEquals("id-2", clientService.getByDomainAndClientId(DOMAIN, "client-2-renamed").getId());
+    }
+
+    @Test
+    public void shouldRemoveClient() {
+        clientService.onEvent(new SimpleEvent<>(ClientEvent.UNDEPLOY, new Payload("id-1", DOMAIN, Action.DELETE)));
+
+        Assert.assertNull(clientService.getByDomainAndClientId(DOMAIN, "client-1"));
+        Assert.assertNotNull(clientService.getByDomainAndClientId(DOMAIN, "client-2"));
+        Assert.assertNotNull(clientService.getByDomainAndClientId("other-domain", "client-1"));
+    }
+
+    @Test
+    public void shouldIgnoreOtherDomainEvent() {
+        clientService.onEvent(new SimpleEvent<>(ClientEvent.UNDEPLOY, new Payload("id-3", "other-domain", Action.DELETE)));
+
+        Assert.assertNotNull(clientService.getByDomainAndClientId("other-domain", "client-1"));
+    }
+
+    @Test
+    public void shouldUnregisterClients_domainStopped() throws Exception {
+        clientService.start();
+        clientService.stop();
+
+        Assert.assertNull(clientService.getByDomainAndClientId(DOMAIN, "client-1"));
+        Assert.assertNotNull(clientService.getByDomainAndClientId("other-domain", "client-1"));
+    }
+
+    private Client client(String id, String domain, String clientId) {
+        Client client = new Client();
+        client.setId(id);
+        client.setDomain(domain);
+        client.setClientId(clientId);
+        return client;
+    }
 }
@@ -144,4 +144,29 @@ public class RevocationServiceTest {
         verify(tokenService, never()).deleteAccessToken("token");
 
     }
+
+    @Test
+    public void shouldRevoke_statelessAccessToken() {
+        final RevocationTokenRequest revocationTokenRequest = new RevocationTokenRequest("token");
+
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setStatelessTokens(true);
+
+        AccessToken accessToken = new AccessToken("token");
+        accessToken.setClientId("client-id");
+
+        when(tokenService.getAccessToken("token", client)).thenReturn(Maybe.just(accessToken));
+        when(tokenService.revoke(accessToken)).thenReturn(Completable.complete());
+
+        TestObserver testObserver = revocationTokenService.revoke(revocationTokenRequest, client).test();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+
+        verify(tokenService, times(1)).getAccessToken("token", client);
+        verify(tokenService, times(1)).revoke(accessToken);
+        verify(tokenService, never()).deleteAccessToken(anyString());
+        verify(tokenService, never()).deleteRefreshToken(anyString());
+    }
 }
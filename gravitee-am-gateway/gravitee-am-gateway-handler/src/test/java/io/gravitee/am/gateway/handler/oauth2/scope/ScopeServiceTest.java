@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.oauth2.scope;
+
+import io.gravitee.am.gateway.core.event.EventManager;
+import io.gravitee.am.gateway.core.event.ScopeEvent;
+import io.gravitee.am.gateway.handler.oauth2.scope.impl.ScopeServiceImpl;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.model.oauth2.Scope;
+import io.gravitee.am.repository.management.api.ScopeRepository;
+import io.gravitee.common.event.impl.SimpleEvent;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ScopeServiceTest {
+
+    private static final String DOMAIN = "domain";
+
+    @InjectMocks
+    private ScopeServiceImpl scopeService = new ScopeServiceImpl();
+
+    @Mock
+    private ScopeRepository scopeRepository;
+
+    @Mock
+    private EventManager eventManager;
+
+    @Mock
+    private Domain domain;
+
+    @Before
+    public void init() {
+        when(domain.getId()).thenReturn(DOMAIN);
+        when(scopeRepository.findByDomain(DOMAIN)).thenReturn(Single.just(new HashSet<>(Arrays.asList(
+                scope("id-1", "read"),
+                scope("id-2", "write")))));
+        scopeService.afterPropertiesSet();
+    }
+
+    @Test
+    public void shouldGetAll() {
+        TestObserver<Set<Scope>> testObserver = scopeService.getAll().test();
+
+        testObserver.assertComplete();
+        testObserver.assertValue(scopes -> scopes.size() == 2);
+        verify(scopeRepository, times(1)).findByDomain(DOMAIN);
+    }
+
+    @Test
+    public void shouldFindByKey() {
+        TestObserver<Scope> testObserver = scopeService.findByKey("READ").test();
+
+        testObserver.assertComplete();
+        testObserver.assertValue(scope -> scope.getId().equals("id-1"));
+    }
+
+    @Test
+    public void shouldNotFindByKey_unknownScope() {
+        TestObserver<Scope> testObserver = scopeService.findByKey("unknown").test();
+
+        testObserver.assertComplete();
+        testObserver.assertNoValues();
+    }
+
+    @Test
+    public void shouldDeployScope() {
+        when(scopeRepository.findById("id-3")).thenReturn(Maybe.just(scope("id-3", "admin")));
+
+        scopeService.onEvent(new SimpleEvent<>(ScopeEvent.DEPLOY, new Payload("id-3", DOMAIN, Action.CREATE)));
+
+        scopeService.findByKey("admin").test().assertValue(scope -> scope.getId().equals("id-3"));
+    }
+
+    @Test
+    public void shouldUpdateScope_keyChanged() {
+        when(scopeRepository.findById("id-2")).thenReturn(Maybe.just(scope("id-2", "write-all")));
+
+        scopeService.onEvent(new SimpleEvent<>(ScopeEvent.UPDATE, new Payload("id-2", DOMAIN, Action.UPDATE)));
+
+        scopeService.findByKey("write").test().assertNoValues();
+        scopeService.findByKey("write-all").test().assertValue(scope -> scope.getId().equals("id-2"));
+    }
+
+    @Test
+    public void shouldRemoveScope() {
+        scopeService.onEvent(new SimpleEvent<>(ScopeEvent.UNDEPLOY, new Payload("id-1", DOMAIN, Action.DELETE)));
+
+        scopeService.findByKey("read").test().assertNoValues();
+        scopeService.getAll().test().assertValue(scopes -> scopes.size() == 1);
+    }
+
+    @Test
+    public void shouldIgnoreOtherDomainEvent() {
+        scopeService.onEvent(new SimpleEvent<>(ScopeEvent.UNDEPLOY, new Payload("id-1", "other-domain", Action.DELETE)));
+
+        scopeService.findByKey("read").test().assertValue(scope -> scope.getId().equals("id-1"));
+    }
+
+    private Scope scope(String id, String key) {
+        Scope scope = new Scope();
+        scope.setId(id);
+        scope.setDomain(DOMAIN);
+        scope.setKey(key);
+        return scope;
+    }
+}
@@ -17,6 +17,7 @@ package io.gravitee.am.gateway.handler.oauth2.token;
 
 import io.gravitee.am.common.jwt.JWT;
 import io.gravitee.am.gateway.handler.jwt.JwtService;
+import io.gravitee.am.gateway.handler.jwt.VerifiedJwtCache;
 import io.gravitee.am.gateway.handler.oauth2.exception.InvalidGrantException;
 import io.gravitee.am.gateway.handler.oauth2.request.OAuth2Request;
 import io.gravitee.am.gateway.handler.oauth2.request.TokenRequest;
@@ -65,6 +66,12 @@ public class TokenServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private RevokedTokenRegistry revokedTokenRegistry;
+
+    @Mock
+    private VerifiedJwtCache verifiedJwtCache;
+
     @Test
     public void shouldCreate() {
         OAuth2Request oAuth2Request = new OAuth2Request();
@@ -89,6 +96,135 @@ public class TokenServiceTest {
         Assert.assertTrue("client should be client_id", client.getClientId().equals(accessTokenCaptor.getValue().getClient()));
     }
 
+    @Test
+    public void shouldCreate_statelessTokens() {
+        OAuth2Request oAuth2Request = new OAuth2Request();
+
+        Client client = new Client();
+        client.setClientId("my-client-id");
+        client.setStatelessTokens(true);
+
+        when(jwtService.encode(any(), any(Client.class))).thenReturn(Single.just(""));
+        when(tokenEnhancer.enhance(any(), any(), any(), any())).thenReturn(Single.just(new AccessToken("token-id")));
+
+        TestObserver<Token> testObserver = tokenService.create(oAuth2Request, client, null).test();
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+
+        verify(jwtService, times(1)).encode(any(), any(Client.class));
+        verify(accessTokenRepository, never()).create(any());
+        verify(refreshTokenRepository, never()).create(any());
+    }
+
+    @Test
+    public void shouldGetAccessToken_statelessTokens() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setStatelessTokens(true);
+
+        JWT jwt = new JWT();
+        jwt.setJti("token-id");
+        jwt.setAud("client-id");
+        jwt.setExp((System.currentTimeMillis() + 10000) / 1000l);
+        jwt.setTokenType(Token.ACCESS_TOKEN);
+
+        when(jwtService.decodeAndVerify(any(), any())).thenReturn(Single.just(jwt));
+        when(revokedTokenRegistry.isRevoked("token-id")).thenReturn(false);
+
+        TestObserver<Token> testObserver = tokenService.getAccessToken("encoded-token", client).test();
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(token -> "token-id".equals(token.getValue()));
+
+        verify(accessTokenRepository, never()).findByToken(any());
+    }
+
+    @Test
+    public void shouldNotGetAccessToken_statelessTokenRevoked() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setStatelessTokens(true);
+
+        JWT jwt = new JWT();
+        jwt.setJti("token-id");
+        jwt.setAud("client-id");
+        jwt.setExp((System.currentTimeMillis() + 10000) / 1000l);
+        jwt.setTokenType(Token.ACCESS_TOKEN);
+
+        when(jwtService.decodeAndVerify(any(), any())).thenReturn(Single.just(jwt));
+        when(revokedTokenRegistry.isRevoked("token-id")).thenReturn(true);
+
+        TestObserver<Token> testObserver = tokenService.getAccessToken("encoded-token", client).test();
+        testObserver.assertComplete();
+        testObserver.assertNoValues();
+
+        verify(accessTokenRepository, never()).findByToken(any());
+    }
+
+    @Test
+    public void shouldNotGetAccessToken_statelessRefreshToken() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setStatelessTokens(true);
+
+        JWT jwt = new JWT();
+        jwt.setJti("token-id");
+        jwt.setAud("client-id");
+        jwt.setExp((System.currentTimeMillis() + 10000) / 1000l);
+        jwt.setTokenType(Token.REFRESH_TOKEN);
+
+        when(jwtService.decodeAndVerify(any(), any())).thenReturn(Single.just(jwt));
+
+        TestObserver<Token> testObserver = tokenService.getAccessToken("encoded-token", client).test();
+        testObserver.assertComplete();
+        testObserver.assertNoValues();
+
+        verify(accessTokenRepository, never()).findByToken(any());
+    }
+
+    @Test
+    public void shouldNotGetRefreshToken_statelessAccessToken() {
+        Client client = new Client();
+        client.setClientId("client-id");
+        client.setStatelessTokens(true);
+
+        JWT jwt = new JWT();
+        jwt.setJti("token-id");
+        jwt.setAud("client-id");
+        jwt.setExp((System.currentTimeMillis() + 10000) / 1000l);
+        jwt.setTokenType(Token.ACCESS_TOKEN);
+
+        when(jwtService.decodeAndVerify(any(), any())).thenReturn(Single.just(jwt));
+
+        TestObserver<Token> testObserver = tokenService.getRefreshToken("encoded-token", client).test();
+        testObserver.assertComplete();
+        testObserver.assertNoValues();
+
+        verify(refreshTokenRepository, never()).findByToken(any());
+    }
+
+    @Test
+    public void shouldCreate_statelessTokens_tokenTypeClaims() {
+        OAuth2Request oAuth2Request = new OAuth2Request();
+        oAuth2Request.setSupportRefreshToken(true);
+
+        Client client = new Client();
+        client.setClientId("my-client-id");
+        client.setStatelessTokens(true);
+
+        ArgumentCaptor<JWT> jwtCaptor = ArgumentCaptor.forClass(JWT.class);
+        when(jwtService.encode(jwtCaptor.capture(), any(Client.class))).thenReturn(Single.just(""));
+        when(tokenEnhancer.enhance(any(), any(), any(), any())).thenReturn(Single.just(new AccessToken("token-id")));
+
+        TestObserver<Token> testObserver = tokenService.create(oAuth2Request, client, null).test();
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+
+        Assert.assertEquals(2, jwtCaptor.getAllValues().size());
+        Assert.assertEquals(Token.ACCESS_TOKEN, jwtCaptor.getAllValues().get(0).getTokenType());
+        Assert.assertEquals(Token.REFRESH_TOKEN, jwtCaptor.getAllValues().get(1).getTokenType());
+    }
+
     @Test
     public void shouldRefresh() {
         String clientId = "client-id";
@@ -148,7 +284,7 @@ public class TokenServiceTest {
         when(jwtService.decodeAndVerify(any(), any())).thenReturn(Single.just(jwt));
         when(refreshTokenRepository.findByToken(any())).thenReturn(Maybe.empty());
 
-        TestObserver<Token> testObserver = tokenService.refresh(any(), tokenRequest, any()).test();
+        TestObserver<Token> testObserver = tokenService.refresh(token, tokenRequest, client).test();
         testObserver.assertNotComplete();
         testObserver.assertError(InvalidGrantException.class);
 
@@ -180,7 +316,7 @@ public class TokenServiceTest {
         when(jwtService.decodeAndVerify(any(), any())).thenReturn(Single.just(jwt));
         when(refreshTokenRepository.findByToken(any())).thenReturn(Maybe.just(refreshToken));
 
-        TestObserver<Token> testObserver = tokenService.refresh(refreshToken.getToken(), any(), any()).test();
+        TestObserver<Token> testObserver = tokenService.refresh(refreshToken.getToken(), tokenRequest, client).test();
         testObserver.assertNotComplete();
         testObserver.assertError(InvalidGrantException.class);
 
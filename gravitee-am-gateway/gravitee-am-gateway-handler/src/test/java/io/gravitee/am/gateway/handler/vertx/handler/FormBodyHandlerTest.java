@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx.handler;
+
+import io.gravitee.am.gateway.handler.vertx.RxWebTestBase;
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpStatusCode;
+import io.gravitee.common.http.MediaType;
+import io.vertx.core.http.HttpMethod;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class FormBodyHandlerTest extends RxWebTestBase {
+
+    private static final String BOUNDARY = "dLV9Wyq26L_-JQxk6ferf-RT153LhOO";
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        router.post("/form")
+                .handler(new FormBodyHandler(256))
+                .handler(context -> context.response().end(context.request().getParam("username") + ':' + context.getBody().length()));
+        router.route().failureHandler(new ExceptionHandler());
+    }
+
+    @Test
+    public void shouldReadFormAttributes() throws Exception {
+        String body = "username=alice&password=secret";
+        testRequest(
+                HttpMethod.POST, "/form",
+                req -> req.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED)
+                        .putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length()))
+                        .write(body),
+                HttpStatusCode.OK_200, "OK", "alice:" + body.length());
+    }
+
+    @Test
+    public void shouldRejectBody_contentLengthTooLarge() throws Exception {
+        String body = "username=" + repeat('a', 400);
+        testRequest(
+                HttpMethod.POST, "/form",
+                req -> req.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED)
+                        .putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length()))
+                        .write(body),
+                HttpStatusCode.REQUEST_ENTITY_TOO_LARGE_413, "Request Entity Too Large", null);
+    }
+
+    @Test
+    public void shouldRejectBody_chunkedTooLarge() throws Exception {
+        testRequest(
+                HttpMethod.POST, "/form",
+                req -> req.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED)
+                        .setChunked(true)
+                        .write("username=" + repeat('a', 150))
+                        .write(repeat('a', 150)),
+                HttpStatusCode.REQUEST_ENTITY_TOO_LARGE_413, "Request Entity Too Large", null);
+    }
+
+    @Test
+    public void shouldRejectFileUpload() throws Exception {
+        String body = "--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"a.txt\"\r\n" +
+                "Content-Type: text/plain\r\n" +
+                "\r\n" +
+                "content\r\n" +
+                "--" + BOUNDARY + "--\r\n";
+        testRequest(
+                HttpMethod.POST, "/form",
+                req -> req.putHeader(HttpHeaders.CONTENT_TYPE, MediaType.MULTIPART_FORM_DATA + "; boundary=" + BOUNDARY)
+                        .putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length()))
+                        .write(body),
+                HttpStatusCode.UNSUPPORTED_MEDIA_TYPE_415, "Unsupported Media Type", null);
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
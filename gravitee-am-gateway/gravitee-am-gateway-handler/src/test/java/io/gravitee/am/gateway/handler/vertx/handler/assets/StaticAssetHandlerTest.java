@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx.handler.assets;
+
+import io.gravitee.am.gateway.handler.vertx.RxWebTestBase;
+import io.gravitee.am.gateway.handler.vertx.handler.assets.impl.StaticAssetCacheImpl;
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.common.http.HttpStatusCode;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.reactivex.ext.web.Router;
+import org.junit.Test;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class StaticAssetHandlerTest extends RxWebTestBase {
+
+    private StaticAssetCacheImpl staticAssetCache = new StaticAssetCacheImpl();
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        staticAssetCache.afterPropertiesSet();
+        StaticAssetHandler staticAssetHandler = new StaticAssetHandler(staticAssetCache, 3600);
+
+        Router domainRouter = Router.router(vertx);
+        domainRouter.route("/assets/*").handler(staticAssetHandler);
+        domainRouter.route("/oauth/assets/*").handler(staticAssetHandler);
+        router.mountSubRouter("/test", domainRouter);
+    }
+
+    @Test
+    public void shouldServeAsset() throws Exception {
+        StaticAsset asset = staticAssetCache.get("css/login.css");
+        assertNotNull(asset);
+
+        testRequestBuffer(
+                HttpMethod.GET, "/test/assets/css/login.css",
+                null,
+                resp -> {
+                    assertEquals("text/css;charset=UTF-8", resp.getHeader(HttpHeaders.CONTENT_TYPE));
+                    assertEquals("public, max-age=3600", resp.getHeader(HttpHeaders.CACHE_CONTROL));
+                    assertEquals(asset.getEtag(), resp.getHeader(HttpHeaders.ETAG));
+                    assertNull(resp.getHeader(HttpHeaders.CONTENT_ENCODING));
+                },
+                HttpStatusCode.OK_200, "OK", io.vertx.reactivex.core.buffer.Buffer.newInstance(asset.getContent()));
+    }
+
+    @Test
+    public void shouldServeCompressedAsset() throws Exception {
+        StaticAsset asset = staticAssetCache.get("css/login.css");
+        assertTrue(asset.isCompressed());
+
+        testRequestBuffer(
+                HttpMethod.GET, "/test/oauth/assets/css/login.css",
+                req -> req.putHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"),
+                resp -> {
+                    assertEquals("gzip", resp.getHeader(HttpHeaders.CONTENT_ENCODING));
+                    assertEquals(HttpHeaders.ACCEPT_ENCODING, resp.getHeader(HttpHeaders.VARY));
+                    assertEquals(asset.getGzipEtag(), resp.getHeader(HttpHeaders.ETAG));
+                },
+                HttpStatusCode.OK_200, "OK", io.vertx.reactivex.core.buffer.Buffer.newInstance(asset.getGzipContent()));
+    }
+
+    @Test
+    public void shouldNotCompressAlreadyCompressedAsset() throws Exception {
+        StaticAsset asset = staticAssetCache.get("material/fonts/MaterialIcons-Regular.woff2");
+        assertNotNull(asset);
+        assertFalse(asset.isCompressed());
+
+        testRequestBuffer(
+                HttpMethod.GET, "/test/assets/material/fonts/MaterialIcons-Regular.woff2",
+                req -> req.putHeader(HttpHeaders.ACCEPT_ENCODING, "gzip"),
+                resp -> assertNull(resp.getHeader(HttpHeaders.CONTENT_ENCODING)),
+                HttpStatusCode.OK_200, "OK", io.vertx.reactivex.core.buffer.Buffer.newInstance(asset.getContent()));
+    }
+
+    @Test
+    public void shouldNotModified() throws Exception {
+        StaticAsset asset = staticAssetCache.get("css/login.css");
+
+        testRequest(
+                HttpMethod.GET, "/test/assets/css/login.css",
+                req -> req.putHeader(HttpHeaders.IF_NONE_MATCH, asset.getEtag()),
+                HttpStatusCode.NOT_MODIFIED_304, "Not Modified", null);
+    }
+
+    @Test
+    public void shouldNotFound_unknownAsset() throws Exception {
+        testRequest(HttpMethod.GET, "/test/assets/css/unknown.css", HttpStatusCode.NOT_FOUND_404, "Not Found");
+    }
+
+    @Test
+    public void shouldNotFound_outsideAssetsPrefix() throws Exception {
+        testRequest(HttpMethod.GET, "/test/css/login.css", HttpStatusCode.NOT_FOUND_404, "Not Found");
+        testRequest(HttpMethod.GET, "/test/oauth/token/assets/css/login.css", HttpStatusCode.NOT_FOUND_404, "Not Found");
+    }
+}
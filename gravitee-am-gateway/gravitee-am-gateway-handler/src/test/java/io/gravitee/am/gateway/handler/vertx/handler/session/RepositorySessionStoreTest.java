@@ -0,0 +1,252 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.handler.vertx.handler.session;
+
+import io.gravitee.am.gateway.handler.oauth2.request.AuthorizationRequest;
+import io.gravitee.am.gateway.handler.oauth2.utils.OAuth2Constants;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.User;
+import io.gravitee.am.repository.oauth2.api.SessionRepository;
+import io.gravitee.common.util.LinkedMultiValueMap;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.Session;
+import io.vertx.ext.web.handler.impl.UserHolder;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RepositorySessionStoreTest {
+
+    private static final String DOMAIN = "domain";
+
+    @Mock
+    private SessionRepository sessionRepository;
+
+    private Vertx vertx;
+
+    private RepositorySessionStore sessionStore;
+
+    private RepositorySessionStore otherSessionStore;
+
+    @Before
+    public void init() {
+        vertx = Vertx.vertx();
+        Domain domain = new Domain();
+        domain.setId(DOMAIN);
+        sessionStore = new RepositorySessionStore(vertx, sessionRepository, domain, 0, 60000, 100);
+        otherSessionStore = new RepositorySessionStore(vertx, sessionRepository, domain, 0, 60000, 100);
+        when(sessionRepository.save(any())).thenReturn(Completable.complete());
+        when(sessionRepository.replace(any(), anyString())).thenReturn(Single.just(true));
+    }
+
+    @After
+    public void close() {
+        sessionStore.close();
+        otherSessionStore.close();
+        vertx.close();
+    }
+
+    @Test
+    public void shouldReadSessionFromAnotherInstance() throws Exception {
+        Session session = sessionStore.createSession(30000);
+        session.put(OAuth2Constants.AUTHORIZATION_REQUEST, authorizationRequest());
+        UserHolder userHolder = new UserHolder();
+        userHolder.user = new io.gravitee.am.gateway.handler.vertx.auth.user.User(user());
+        session.put("__vertx.userHolder", userHolder);
+
+        put(sessionStore, session);
+        io.gravitee.am.repository.oauth2.model.Session storedSession = storedSession();
+        Assert.assertEquals(DOMAIN, storedSession.getDomain());
+        when(sessionRepository.findById(session.id())).thenReturn(Maybe.just(storedSession));
+
+        Session readSession = get(otherSessionStore, session.id());
+
+        AuthorizationRequest authorizationRequest = readSession.get(OAuth2Constants.AUTHORIZATION_REQUEST);
+        Assert.assertEquals("client-id", authorizationRequest.getClientId());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("read", "write")), authorizationRequest.getScopes());
+        Assert.assertEquals("https://callback", authorizationRequest.getRedirectUri());
+        Assert.assertEquals("code", authorizationRequest.getRequestParameters().getFirst("response_type"));
+        Assert.assertNull(authorizationRequest.getState());
+        Assert.assertTrue(authorizationRequest.isApproved());
+        Assert.assertEquals("true", authorizationRequest.getApprovalParameters().get("scope.read"));
+
+        io.gravitee.am.gateway.handler.vertx.auth.user.User user =
+                (io.gravitee.am.gateway.handler.vertx.auth.user.User) ((UserHolder) readSession.get("__vertx.userHolder")).user;
+        Assert.assertEquals("user-id", user.getUser().getId());
+        Assert.assertEquals("john", user.getUser().getUsername());
+        Assert.assertNull(user.getUser().getPassword());
+    }
+
+    @Test
+    public void shouldNotStoreUnchangedSession() throws Exception {
+        Session session = sessionStore.createSession(30000);
+        session.put("key", "value");
+        put(sessionStore, session);
+        String revision = storedSession().getRevision();
+        when(sessionRepository.findRevisionById(session.id())).thenReturn(Maybe.just(revision));
+
+        Session readSession = get(sessionStore, session.id());
+        readSession.setAccessed();
+        put(sessionStore, readSession);
+
+        verify(sessionRepository, times(1)).save(any());
+        verify(sessionRepository, never()).findById(session.id());
+    }
+
+    @Test
+    public void shouldStoreChangedSession() throws Exception {
+        Session session = sessionStore.createSession(30000);
+        session.put("key", "value");
+        put(sessionStore, session);
+        String revision = storedSession().getRevision();
+        when(sessionRepository.findRevisionById(session.id())).thenReturn(Maybe.just(revision));
+
+        Session readSession = get(sessionStore, session.id());
+        readSession.put("key", "other-value");
+        put(sessionStore, readSession);
+
+        verify(sessionRepository, times(1)).save(any());
+        verify(sessionRepository, times(1)).replace(any(), eq(revision));
+    }
+
+    @Test
+    public void shouldNotOverwriteSessionUpdatedByAnotherInstance() throws Exception {
+        Session session = sessionStore.createSession(30000);
+        session.put("key", "value");
+        put(sessionStore, session);
+        String revision = storedSession().getRevision();
+        when(sessionRepository.findRevisionById(session.id())).thenReturn(Maybe.just(revision));
+        Session readSession = get(sessionStore, session.id());
+
+        // another instance has stored the session after it has been read
+        when(sessionRepository.replace(any(), eq(revision))).thenReturn(Single.just(false));
+        readSession.put("key", "other-value");
+
+        try {
+            put(sessionStore, readSession);
+            Assert.fail("Concurrent update must be reported");
+        } catch (ExecutionException ex) {
+            Assert.assertTrue(ex.getCause() instanceof IllegalStateException);
+        }
+        verify(sessionRepository, times(1)).save(any());
+    }
+
+    @Test
+    public void shouldReloadSessionUpdatedByAnotherInstance() throws Exception {
+        Session session = sessionStore.createSession(30000);
+        session.put("key", "value");
+        put(sessionStore, session);
+
+        Session otherSession = sessionStore.createSession(30000);
+        otherSession.put("key", "other-value");
+        put(otherSessionStore, otherSession);
+        io.gravitee.am.repository.oauth2.model.Session updatedSession = storedSession();
+        updatedSession.setId(session.id());
+        when(sessionRepository.findRevisionById(session.id())).thenReturn(Maybe.just(updatedSession.getRevision()));
+        when(sessionRepository.findById(session.id())).thenReturn(Maybe.just(updatedSession));
+
+        Session readSession = get(sessionStore, session.id());
+
+        Assert.assertEquals("other-value", readSession.get("key"));
+    }
+
+    @Test
+    public void shouldNotFindExpiredSession() throws Exception {
+        Session session = sessionStore.createSession(30000);
+        put(sessionStore, session);
+        when(sessionRepository.findRevisionById(session.id())).thenReturn(Maybe.empty());
+
+        Assert.assertNull(get(sessionStore, session.id()));
+    }
+
+    private void put(RepositorySessionStore store, Session session) throws Exception {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        store.put(session, res -> {
+            if (res.succeeded()) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(res.cause());
+            }
+        });
+        future.get(5, TimeUnit.SECONDS);
+    }
+
+    private Session get(RepositorySessionStore store, String id) throws Exception {
+        CompletableFuture<Session> future = new CompletableFuture<>();
+        store.get(id, res -> {
+            if (res.succeeded()) {
+                future.complete(res.result());
+            } else {
+                future.completeExceptionally(res.cause());
+            }
+        });
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    private io.gravitee.am.repository.oauth2.model.Session storedSession() {
+        ArgumentCaptor<io.gravitee.am.repository.oauth2.model.Session> captor =
+                ArgumentCaptor.forClass(io.gravitee.am.repository.oauth2.model.Session.class);
+        verify(sessionRepository, atLeastOnce()).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private AuthorizationRequest authorizationRequest() {
+        AuthorizationRequest authorizationRequest = new AuthorizationRequest();
+        authorizationRequest.setClientId("client-id");
+        authorizationRequest.setScopes(new HashSet<>(Arrays.asList("read", "write")));
+        LinkedMultiValueMap<String, String> parameters = new LinkedMultiValueMap<>();
+        parameters.add("response_type", "code");
+        authorizationRequest.setRequestParameters(parameters);
+        authorizationRequest.setResponseType("code");
+        authorizationRequest.setRedirectUri("https://callback");
+        authorizationRequest.setApproved(true);
+        authorizationRequest.setApprovalParameters(Collections.singletonMap("scope.read", "true"));
+        return authorizationRequest;
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId("user-id");
+        user.setUsername("john");
+        user.setPassword("secret");
+        user.setAdditionalInformation(Collections.singletonMap("email", "john@doe.com"));
+        return user;
+    }
+}
@@ -16,6 +16,7 @@
 package io.gravitee.am.gateway.reactor;
 
 import io.gravitee.common.service.Service;
+import io.vertx.reactivex.core.http.HttpServerRequest;
 import io.vertx.reactivex.ext.web.Router;
 
 /**
@@ -24,9 +25,17 @@ import io.vertx.reactivex.ext.web.Router;
  */
 public interface Reactor extends Service {
 
-    Router route();
+    /**
+     * Dispatch an incoming request to the security domain router mounted on its first path segment.
+     *
+     * @param request the incoming request
+     */
+    void route(HttpServerRequest request);
 
-    Router mountSubRouter(String contextPath, Router child);
+    /**
+     * Mount or replace the router of a security domain, requests are switched atomically to the new router.
+     */
+    void mountSubRouter(String contextPath, Router child);
 
-    Router unMountSubRouter(String contextPath);
+    void unMountSubRouter(String contextPath);
 }
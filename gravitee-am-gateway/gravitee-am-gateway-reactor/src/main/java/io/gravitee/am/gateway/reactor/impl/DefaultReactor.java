@@ -28,18 +28,31 @@ import io.gravitee.common.http.HttpStatusCode;
 import io.gravitee.common.service.AbstractService;
 import io.vertx.reactivex.core.Vertx;
 import io.vertx.reactivex.core.buffer.Buffer;
+import io.vertx.reactivex.core.http.HttpServerRequest;
 import io.vertx.reactivex.core.http.HttpServerResponse;
 import io.vertx.reactivex.ext.web.Router;
-import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class DefaultReactor extends AbstractService implements Reactor, EventListener<DomainEvent, Domain>, InitializingBean {
+public class DefaultReactor extends AbstractService implements Reactor, EventListener<DomainEvent, Domain> {
+
+    /**
+     * First path segment of a domain deployed on the root path
+     */
+    private static final String ROOT_SEGMENT = "";
 
     @Autowired
     private Environment environment;
@@ -53,7 +66,15 @@ public class DefaultReactor extends AbstractService implements Reactor, EventLis
     @Autowired
     private Vertx vertx;
 
-    private Router router;
+    /**
+     * Security domain routers by context path
+     */
+    private final ConcurrentMap<String, Router> subRouters = new ConcurrentHashMap<>();
+    /**
+     * Dispatch routers by first path segment, resolved once per request whatever the number of domains.
+     * A domain deployed on the root path is mounted in every dispatch router and serves the unknown segments.
+     */
+    private final ConcurrentMap<String, Router> segmentRouters = new ConcurrentHashMap<>();
 
     @Override
     public void doStart() throws Exception {
@@ -85,30 +106,85 @@ public class DefaultReactor extends AbstractService implements Reactor, EventLis
     }
 
     @Override
-    public Router route() {
-        return router;
+    public void route(HttpServerRequest request) {
+        Router router = segmentRouters.get(firstSegment(request.path()));
+        if (router == null) {
+            router = segmentRouters.get(ROOT_SEGMENT);
+        }
+        if (router == null) {
+            sendNotFound(request.response());
+        } else {
+            router.accept(request);
+        }
     }
 
     @Override
-    public Router mountSubRouter(String contextPath, Router child) {
-        router.mountSubRouter(contextPath, child);
-
-        return router;
+    public void mountSubRouter(String contextPath, Router child) {
+        subRouters.put(contextPath, child);
+        refresh(contextPath);
     }
 
     @Override
-    public Router unMountSubRouter(String contextPath) {
-        router.getRoutes().stream()
-                .filter(route -> route.getPath() != null && route.getPath().startsWith(contextPath))
-                .forEach(route -> route.remove());
+    public void unMountSubRouter(String contextPath) {
+        if (subRouters.remove(contextPath) != null) {
+            refresh(contextPath);
+        }
+    }
+
+    private void refresh(String contextPath) {
+        String segment = firstSegment(contextPath);
+        if (!ROOT_SEGMENT.equals(segment)) {
+            refreshSegment(segment);
+            return;
+        }
+        // the root domain is part of every dispatch router
+        Set<String> segments = new HashSet<>(segmentRouters.keySet());
+        segments.add(ROOT_SEGMENT);
+        segments.forEach(this::refreshSegment);
+    }
 
-        return router;
+    /**
+     * Build a new router for the domains mounted under a first path segment (usually a single domain) and publish it
+     * in place of the previous one, requests are always served by a complete router.
+     */
+    private void refreshSegment(String segment) {
+        segmentRouters.compute(segment, (key, previousRouter) -> {
+            List<String> contextPaths = subRouters.keySet()
+                    .stream()
+                    .filter(contextPath -> segment.equals(firstSegment(contextPath)) || ROOT_SEGMENT.equals(firstSegment(contextPath)))
+                    // most specific context paths first, the root path last
+                    .sorted(Comparator.comparing(String::length).reversed())
+                    .collect(Collectors.toList());
+            if (contextPaths.stream().noneMatch(contextPath -> segment.equals(firstSegment(contextPath)))) {
+                return null;
+            }
+
+            Router router = Router.router(vertx);
+            contextPaths.forEach(contextPath -> {
+                Router child = subRouters.get(contextPath);
+                if (child != null) {
+                    router.mountSubRouter(contextPath, child);
+                }
+            });
+            router.route().last().handler(context -> sendNotFound(context.response()));
+            return router;
+        });
     }
 
-    @Override
-    public void afterPropertiesSet() {
-        router = Router.router(vertx);
-        router.route().last().handler(context -> sendNotFound(context.response()));
+    private static String firstSegment(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return ROOT_SEGMENT;
+        }
+        int end = path.indexOf('/', 1);
+        return end == -1 ? path.substring(1) : path.substring(1, end);
+    }
+
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    public void setVertx(Vertx vertx) {
+        this.vertx = vertx;
     }
 
     private void sendNotFound(HttpServerResponse serverResponse) {
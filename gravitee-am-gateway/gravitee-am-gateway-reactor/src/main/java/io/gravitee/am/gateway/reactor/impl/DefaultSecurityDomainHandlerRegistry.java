@@ -15,11 +15,13 @@
  */
 package io.gravitee.am.gateway.reactor.impl;
 
+import io.gravitee.am.gateway.core.domain.DomainDeploymentStatus;
 import io.gravitee.am.gateway.handler.SecurityDomainRouterFactory;
 import io.gravitee.am.gateway.handler.vertx.VertxSecurityDomainHandler;
 import io.gravitee.am.gateway.reactor.Reactor;
 import io.gravitee.am.gateway.reactor.SecurityDomainHandlerRegistry;
 import io.gravitee.am.model.Domain;
+import io.vertx.reactivex.ext.web.Router;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,34 +46,63 @@ public class DefaultSecurityDomainHandlerRegistry implements SecurityDomainHandl
     @Autowired
     private Reactor reactor;
 
+    @Autowired
+    private DomainDeploymentStatus domainDeploymentStatus;
+
     @Override
     public void create(Domain domain) {
         logger.info("Register a new domain for {} on path {}", domain.getId(), domain.getPath());
 
-        VertxSecurityDomainHandler handler = create0(domain);
-        if (handler != null) {
-            try {
+        long startTime = System.currentTimeMillis();
+        try {
+            VertxSecurityDomainHandler handler = create0(domain);
+            if (handler != null) {
                 //handler.start();
+                Router router = handler.create();
                 handlers.putIfAbsent(handler.contextPath(), handler);
                 contextPaths.putIfAbsent(domain, handler.contextPath());
-                reactor.mountSubRouter(handler.contextPath(), handler.create());
-            } catch (Exception ex) {
-                logger.error("Unable to register handler", ex);
+                reactor.mountSubRouter(handler.contextPath(), router);
+                long time = System.currentTimeMillis() - startTime;
+                domainDeploymentStatus.deployed(domain.getId(), time);
+                logger.info("Domain {} registered in {} ms", domain.getId(), time);
             }
+        } catch (Exception ex) {
+            logger.error("Unable to register handler", ex);
+            securityDomainRouterFactory.destroy(domain);
+            domainDeploymentStatus.failed(domain.getId());
         }
     }
 
     @Override
     public void update(Domain domain) {
         String contextPath = contextPaths.get(domain);
-        if (contextPath != null) {
-            VertxSecurityDomainHandler handler = handlers.get(contextPath);
-            if (handler != null) {
-                remove(domain);
-                create(domain);
-            }
-        } else {
+        VertxSecurityDomainHandler handler = contextPath == null ? null : handlers.get(contextPath);
+        if (handler == null) {
             create(domain);
+            return;
+        }
+
+        // clients, certificates, identity providers and extension grants have their own events,
+        // only the domain settings are applied to the running handler
+        long startTime = System.currentTimeMillis();
+        try {
+            handler.update(domain);
+
+            String newContextPath = handler.contextPath();
+            if (!newContextPath.equals(contextPath)) {
+                // serve the new path before removing the old one
+                reactor.mountSubRouter(newContextPath, handler.create());
+                handlers.put(newContextPath, handler);
+                contextPaths.put(domain, newContextPath);
+                handlers.remove(contextPath);
+                reactor.unMountSubRouter(contextPath);
+                logger.info("Domain {} moved from path {} to {}", domain.getId(), contextPath, newContextPath);
+            }
+            long time = System.currentTimeMillis() - startTime;
+            domainDeploymentStatus.updated(domain.getId(), time);
+            logger.info("Domain {} updated in {} ms", domain.getId(), time);
+        } catch (Exception ex) {
+            logger.error("Unable to update handler", ex);
         }
     }
 
@@ -86,6 +117,8 @@ public class DefaultSecurityDomainHandlerRegistry implements SecurityDomainHandl
                     //handler.stop();
                     handlers.remove(handler.contextPath());
                     reactor.unMountSubRouter(handler.contextPath());
+                    securityDomainRouterFactory.destroy(domain);
+                    domainDeploymentStatus.removed(domain.getId());
                     logger.info("Security Domain has been unregistered");
                 } catch (Exception e) {
                     logger.error("Unable to un-register handler", e);
@@ -15,11 +15,32 @@
  */
 package io.gravitee.am.gateway.reactor.spring;
 
+import io.gravitee.am.gateway.core.domain.DomainDeploymentStatus;
 import io.gravitee.am.gateway.handler.SecurityDomainRouterFactory;
+import io.gravitee.am.gateway.handler.certificate.CertificateRegistry;
+import io.gravitee.am.gateway.handler.certificate.impl.CertificateRegistryImpl;
+import io.gravitee.am.gateway.handler.jwt.JwtService;
+import io.gravitee.am.gateway.handler.jwt.JwtSigningExecutor;
+import io.gravitee.am.gateway.handler.jwt.VerifiedJwtCache;
+import io.gravitee.am.gateway.handler.jwt.impl.JwtServiceImpl;
+import io.gravitee.am.gateway.handler.jwt.impl.VerifiedJwtCacheImpl;
+import io.gravitee.am.gateway.handler.oauth2.client.ClientRegistry;
+import io.gravitee.am.gateway.handler.oauth2.client.impl.ClientRegistryImpl;
+import io.gravitee.am.gateway.handler.oauth2.code.AuthorizationCodeService;
+import io.gravitee.am.gateway.handler.oauth2.code.impl.AuthorizationCodeServiceImpl;
+import io.gravitee.am.gateway.handler.oauth2.token.RevokedTokenRegistry;
+import io.gravitee.am.gateway.handler.oauth2.token.impl.RevokedTokenRegistryImpl;
+import io.gravitee.am.gateway.handler.vertx.handler.assets.StaticAssetCache;
+import io.gravitee.am.gateway.handler.vertx.handler.assets.impl.StaticAssetCacheImpl;
 import io.gravitee.am.gateway.reactor.Reactor;
 import io.gravitee.am.gateway.reactor.SecurityDomainHandlerRegistry;
 import io.gravitee.am.gateway.reactor.impl.DefaultReactor;
 import io.gravitee.am.gateway.reactor.impl.DefaultSecurityDomainHandlerRegistry;
+import io.gravitee.am.gateway.service.UserLoginRecorder;
+import io.gravitee.am.gateway.service.impl.UserLoginRecorderImpl;
+import io.vertx.ext.web.sstore.LocalSessionStore;
+import io.vertx.reactivex.core.Vertx;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -30,6 +51,9 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class ReactorConfiguration {
 
+    @Autowired
+    private Vertx vertx;
+
     @Bean
     public Reactor reactor() {
         return new DefaultReactor();
@@ -44,4 +68,86 @@ public class ReactorConfiguration {
     public SecurityDomainRouterFactory securityDomainRouterFactory() {
         return new SecurityDomainRouterFactory();
     }
+
+    /**
+     * Filled by the domains registry, read by the sync service to retry failed deployments and by the readiness probe
+     */
+    @Bean
+    public DomainDeploymentStatus domainDeploymentStatus() {
+        return new DomainDeploymentStatus();
+    }
+
+    /**
+     * Shared across security domains because tokens can be introspected from any domain
+     */
+    @Bean
+    public RevokedTokenRegistry revokedTokenRegistry() {
+        return new RevokedTokenRegistryImpl();
+    }
+
+    /**
+     * Each domain registers its own clients, the registry is shared for cross-domain token introspection
+     */
+    @Bean
+    public ClientRegistry clientRegistry() {
+        return new ClientRegistryImpl();
+    }
+
+    /**
+     * Each domain registers its own certificates, the JWKS endpoint publishes the keys of every domain
+     */
+    @Bean
+    public CertificateRegistry certificateRegistry() {
+        return new CertificateRegistryImpl();
+    }
+
+    /**
+     * One signing pool per gateway node whatever the number of security domains
+     */
+    @Bean
+    public JwtSigningExecutor jwtSigningExecutor() {
+        return new JwtSigningExecutor();
+    }
+
+    @Bean
+    public VerifiedJwtCache verifiedJwtCache() {
+        return new VerifiedJwtCacheImpl();
+    }
+
+    /**
+     * Stateless services are created once and shared by the security domain contexts
+     */
+    @Bean
+    public JwtService jwtService() {
+        return new JwtServiceImpl();
+    }
+
+    @Bean
+    public AuthorizationCodeService authorizationCodeService() {
+        return new AuthorizationCodeServiceImpl();
+    }
+
+    /**
+     * Logins of all the security domains are written together
+     */
+    @Bean
+    public UserLoginRecorder userLoginRecorder() {
+        return new UserLoginRecorderImpl();
+    }
+
+    /**
+     * Login and consent pages of all the security domains use the same assets
+     */
+    @Bean
+    public StaticAssetCache staticAssetCache() {
+        return new StaticAssetCacheImpl();
+    }
+
+    /**
+     * In-memory sessions of all the security domains, with a single expired sessions reaper
+     */
+    @Bean(destroyMethod = "close")
+    public LocalSessionStore localSessionStore() {
+        return LocalSessionStore.create(vertx.getDelegate());
+    }
 }
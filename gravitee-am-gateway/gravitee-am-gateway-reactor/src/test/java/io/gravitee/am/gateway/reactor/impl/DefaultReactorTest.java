@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.reactor.impl;
+
+import io.vertx.reactivex.core.Vertx;
+import io.vertx.reactivex.core.http.HttpClient;
+import io.vertx.reactivex.core.http.HttpServer;
+import io.vertx.reactivex.ext.web.Router;
+import io.vertx.test.core.VertxTestBase;
+import org.junit.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class DefaultReactorTest extends VertxTestBase {
+
+    private DefaultReactor reactor;
+    private Vertx rxVertx;
+    private HttpServer server;
+    private HttpClient client;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        rxVertx = new Vertx(vertx);
+
+        reactor = new DefaultReactor();
+        reactor.setVertx(rxVertx);
+        reactor.setEnvironment(new StandardEnvironment());
+
+        server = rxVertx.createHttpServer();
+        client = rxVertx.createHttpClient();
+        CountDownLatch latch = new CountDownLatch(1);
+        server.requestHandler(reactor::route).listen(0, "localhost", onSuccess(res -> latch.countDown()));
+        awaitLatch(latch);
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        client.close();
+        CountDownLatch latch = new CountDownLatch(1);
+        server.close(res -> latch.countDown());
+        awaitLatch(latch);
+        super.tearDown();
+    }
+
+    @Test
+    public void shouldDispatchToDomain() throws Exception {
+        reactor.mountSubRouter("/domain-a", domainRouter("domain-a"));
+        reactor.mountSubRouter("/domain-b", domainRouter("domain-b"));
+
+        testRequest("/domain-a/hello", 200, "domain-a");
+        testRequest("/domain-b/hello", 200, "domain-b");
+    }
+
+    @Test
+    public void shouldDispatchToNestedDomain() throws Exception {
+        reactor.mountSubRouter("/domain-a", domainRouter("domain-a"));
+        reactor.mountSubRouter("/domain-a/nested", domainRouter("nested"));
+
+        testRequest("/domain-a/hello", 200, "domain-a");
+        testRequest("/domain-a/nested/hello", 200, "nested");
+    }
+
+    @Test
+    public void shouldNotDispatch_unknownSegment() throws Exception {
+        reactor.mountSubRouter("/domain-a", domainRouter("domain-a"));
+
+        testRequest("/unknown/hello", 404, "");
+        testRequest("/domain-a/unknown", 404, "");
+    }
+
+    @Test
+    public void shouldNotDispatch_unmounted() throws Exception {
+        reactor.mountSubRouter("/domain-a", domainRouter("domain-a"));
+        reactor.mountSubRouter("/domain-b", domainRouter("domain-b"));
+        reactor.unMountSubRouter("/domain-a");
+
+        testRequest("/domain-a/hello", 404, "");
+        testRequest("/domain-b/hello", 200, "domain-b");
+    }
+
+    @Test
+    public void shouldDispatchToSwappedRouter() throws Exception {
+        reactor.mountSubRouter("/domain-a", domainRouter("domain-a"));
+        testRequest("/domain-a/hello", 200, "domain-a");
+
+        reactor.mountSubRouter("/domain-a", domainRouter("domain-a-updated"));
+        testRequest("/domain-a/hello", 200, "domain-a-updated");
+    }
+
+    @Test
+    public void shouldDispatchToRootDomain() throws Exception {
+        reactor.mountSubRouter("/domain-a", domainRouter("domain-a"));
+        reactor.mountSubRouter("/", domainRouter("root"));
+
+        testRequest("/hello", 200, "root");
+        testRequest("/unknown/hello", 200, "root");
+        testRequest("/domain-a/hello", 200, "domain-a");
+    }
+
+    @Test
+    public void shouldDispatchToRootDomain_mountedFirst() throws Exception {
+        reactor.mountSubRouter("/", domainRouter("root"));
+        reactor.mountSubRouter("/domain-a", domainRouter("domain-a"));
+
+        testRequest("/hello", 200, "root");
+        testRequest("/domain-a/hello", 200, "domain-a");
+    }
+
+    @Test
+    public void shouldNotDispatch_rootDomainUnmounted() throws Exception {
+        reactor.mountSubRouter("/", domainRouter("root"));
+        reactor.mountSubRouter("/domain-a", domainRouter("domain-a"));
+        reactor.unMountSubRouter("/");
+
+        testRequest("/hello", 404, "");
+        testRequest("/domain-a/hello", 200, "domain-a");
+    }
+
+    private Router domainRouter(String name) {
+        Router router = Router.router(rxVertx);
+        router.get("/hello").handler(context -> context.response().end(name));
+        return router;
+    }
+
+    private void testRequest(String path, int statusCode, String body) throws Exception {
+        CompletableFuture<String> response = new CompletableFuture<>();
+        client.getNow(server.actualPort(), "localhost", path,
+                resp -> resp.bodyHandler(buffer -> response.complete(resp.statusCode() + " " + buffer.toString())));
+        assertEquals(statusCode + " " + body, response.get(10, TimeUnit.SECONDS));
+    }
+}
@@ -16,6 +16,7 @@
 package io.gravitee.am.gateway.service;
 
 import io.gravitee.am.model.Role;
+import io.gravitee.common.service.Service;
 import io.reactivex.Single;
 
 import java.util.List;
@@ -25,7 +26,7 @@ import java.util.Set;
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public interface RoleService {
+public interface RoleService extends Service {
 
     Single<Set<Role>> findByIdIn(List<String> roles);
 }
@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.service;
+
+import io.reactivex.Completable;
+
+import java.util.Date;
+
+/**
+ * Records the successful logins of the users (logins count and last login date).
+ *
+ * @author GraviteeSource Team
+ */
+public interface UserLoginRecorder {
+
+    /**
+     * Record a login of the user. The login may be written later, the returned completable does not wait for it
+     * when logins are recorded asynchronously.
+     *
+     * @param userId user technical id
+     * @param loggedAt login date
+     */
+    Completable record(String userId, Date loggedAt);
+}
@@ -15,28 +15,140 @@
  */
 package io.gravitee.am.gateway.service.impl;
 
+import io.gravitee.am.gateway.core.event.EventManager;
+import io.gravitee.am.gateway.core.event.RoleEvent;
 import io.gravitee.am.gateway.service.RoleService;
+import io.gravitee.am.model.Domain;
 import io.gravitee.am.model.Role;
+import io.gravitee.am.model.common.event.Payload;
 import io.gravitee.am.repository.management.api.RoleRepository;
+import io.gravitee.common.event.Event;
+import io.gravitee.common.event.EventListener;
+import io.gravitee.common.service.AbstractService;
 import io.reactivex.Single;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
+ * Roles of the domain are kept in memory and maintained from role events.
+ * Once loaded, the index is authoritative: an id which is not indexed is not a role of the domain.
+ *
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-@Component
-public class RoleServiceImpl implements RoleService {
+public class RoleServiceImpl extends AbstractService implements RoleService, InitializingBean, EventListener<RoleEvent, Payload> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleServiceImpl.class);
+
+    @Autowired
+    private Domain domain;
 
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private EventManager eventManager;
+
+    private final ConcurrentMap<String, Role> roles = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
     @Override
-    public Single<Set<Role>> findByIdIn(List<String> roles) {
-        return roleRepository.findByIdIn(roles);
+    public Single<Set<Role>> findByIdIn(List<String> ids) {
+        Set<Role> found = new HashSet<>();
+        List<String> missingIds = new ArrayList<>();
+        for (String id : ids) {
+            Role role = roles.get(id);
+            if (role != null) {
+                found.add(role);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        if (missingIds.isEmpty() || loaded) {
+            if (!missingIds.isEmpty()) {
+                logger.debug("Roles {} are not roles of domain {}", missingIds, domain.getName());
+            }
+            return Single.just(found);
+        }
+
+        // the roles of the domain could not be loaded at startup
+        return roleRepository.findByIdIn(missingIds)
+                .map(missingRoles -> {
+                    found.addAll(missingRoles);
+                    return found;
+                });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        logger.info("Initializing roles for domain {}", domain.getName());
+        try {
+            Set<Role> domainRoles = roleRepository.findByDomain(domain.getId()).blockingGet();
+            domainRoles.forEach(role -> roles.put(role.getId(), role));
+            loaded = true;
+            logger.info("{} roles loaded for domain {}", domainRoles.size(), domain.getName());
+        } catch (Exception e) {
+            // roles are read from the repository until the index is populated
+            logger.error("Unable to initialize roles for domain {}", domain.getName(), e);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        logger.info("Register event listener for role events");
+        eventManager.subscribeForEvents(this, RoleEvent.class, domain.getId());
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        logger.info("Unregister event listener for role events");
+        eventManager.unsubscribeForEvents(this, RoleEvent.class, domain.getId());
+    }
+
+    @Override
+    public void onEvent(Event<RoleEvent, Payload> event) {
+        if (domain.getId().equals(event.content().getDomain())) {
+            switch (event.type()) {
+                case DEPLOY:
+                case UPDATE:
+                    updateRole(event.content().getId(), event.type());
+                    break;
+                case UNDEPLOY:
+                    removeRole(event.content().getId());
+                    break;
+            }
+        }
+    }
+
+    private void updateRole(String roleId, RoleEvent roleEvent) {
+        final String eventType = roleEvent.toString().toLowerCase();
+        logger.info("Domain {} has received {} role event for {}", domain.getName(), eventType, roleId);
+        roleRepository.findById(roleId)
+                .subscribe(
+                        role -> {
+                            roles.put(role.getId(), role);
+                            logger.info("Role {} {}d for domain {}", roleId, eventType, domain.getName());
+                        },
+                        error -> logger.error("Unable to {} role for domain {}", eventType, domain.getName(), error),
+                        () -> logger.error("No role found with id {}", roleId));
+    }
+
+    private void removeRole(String roleId) {
+        logger.info("Domain {} has received role event, delete role {}", domain.getName(), roleId);
+        roles.remove(roleId);
     }
 }
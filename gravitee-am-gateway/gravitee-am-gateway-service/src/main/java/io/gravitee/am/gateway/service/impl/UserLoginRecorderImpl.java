@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.service.impl;
+
+import io.gravitee.am.gateway.service.UserLoginRecorder;
+import io.gravitee.am.repository.management.api.UserRepository;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins are coalesced by user and written every {@code users.logins.async.flushInterval} milliseconds as a partial
+ * update of the user, out of the authentication request. Logins waiting to be written are lost if the node crashes.
+ *
+ * @author GraviteeSource Team
+ */
+public class UserLoginRecorderImpl implements UserLoginRecorder, InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserLoginRecorderImpl.class);
+    private static final String THREAD_NAME = "gio.am-user-logins";
+    private static final int MAX_CONCURRENT_WRITES = 16;
+
+    @Value("${users.logins.async.enabled:true}")
+    private boolean async = true;
+
+    @Value("${users.logins.async.flushInterval:1000}")
+    private long flushInterval = 1000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ConcurrentMap<String, PendingLogins> pendingLogins = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (async) {
+            logger.info("User logins are recorded asynchronously every {} ms", flushInterval);
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    flush();
+                } catch (Exception ex) {
+                    // an exception would cancel the next executions
+                    logger.error("Unable to record user logins", ex);
+                }
+            }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            flush();
+        }
+    }
+
+    @Override
+    public Completable record(String userId, Date loggedAt) {
+        if (!async) {
+            return userRepository.updateLogins(userId, 1, loggedAt);
+        }
+        pendingLogins.merge(userId, new PendingLogins(1, loggedAt), PendingLogins::add);
+        return Completable.complete();
+    }
+
+    void flush() {
+        if (pendingLogins.isEmpty()) {
+            return;
+        }
+
+        List<Completable> writes = new ArrayList<>();
+        for (String userId : pendingLogins.keySet()) {
+            PendingLogins logins = pendingLogins.remove(userId);
+            if (logins != null) {
+                writes.add(userRepository.updateLogins(userId, logins.count, logins.loggedAt)
+                        .doOnError(ex -> logger.error("Unable to record {} login(s) of user {}", logins.count, userId, ex))
+                        .onErrorComplete());
+            }
+        }
+
+        logger.debug("Recording the logins of {} user(s)", writes.size());
+        Completable.merge(Flowable.fromIterable(writes), MAX_CONCURRENT_WRITES).blockingAwait();
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    private static class PendingLogins {
+        private final long count;
+        private final Date loggedAt;
+
+        PendingLogins(long count, Date loggedAt) {
+            this.count = count;
+            this.loggedAt = loggedAt;
+        }
+
+        PendingLogins add(PendingLogins other) {
+            return new PendingLogins(count + other.count, loggedAt.after(other.loggedAt) ? loggedAt : other.loggedAt);
+        }
+    }
+}
@@ -16,29 +16,30 @@
 package io.gravitee.am.gateway.service.impl;
 
 import io.gravitee.am.gateway.service.RoleService;
+import io.gravitee.am.gateway.service.UserLoginRecorder;
 import io.gravitee.am.gateway.service.UserService;
 import io.gravitee.am.model.Domain;
 import io.gravitee.am.model.User;
 import io.gravitee.am.repository.management.api.UserRepository;
 import io.gravitee.am.service.exception.UserNotFoundException;
+import io.reactivex.Completable;
 import io.reactivex.Maybe;
 import io.reactivex.Single;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
 
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-@Component
 public class UserServiceImpl implements UserService {
 
     private final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
@@ -52,18 +53,27 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private RoleService roleService;
 
+    @Autowired
+    private UserLoginRecorder userLoginRecorder;
+
     @Override
     public Single<User> findOrCreate(io.gravitee.am.identityprovider.api.User user) {
         return userRepository.findByUsernameAndDomain(domain.getId(), user.getUsername())
                 .switchIfEmpty(Maybe.error(new UserNotFoundException(user.getUsername())))
                 .flatMapSingle(existingUser -> {
-                    logger.debug("Updating user: username[%s]", user.getUsername());
-                    existingUser.setLoggedAt(new Date());
+                    Date loggedAt = new Date();
+                    boolean profileChanged = updateProfile(existingUser, user);
+                    existingUser.setLoggedAt(loggedAt);
                     existingUser.setLoginsCount(existingUser.getLoginsCount() + 1);
-                    existingUser.setRoles(user.getRoles());
-                    Map<String, Object> additionalInformation = user.getAdditionalInformation();
-                    extractAdditionalInformation(existingUser, additionalInformation);
-                    return userRepository.update(existingUser);
+                    // login statistics always go through the recorder, a full write would overwrite the pending logins
+                    Completable recordLogin = userLoginRecorder.record(existingUser.getId(), loggedAt);
+                    if (!profileChanged) {
+                        return recordLogin.andThen(Single.just(existingUser));
+                    }
+                    logger.debug("Updating user: username[%s]", user.getUsername());
+                    existingUser.setUpdatedAt(new Date());
+                    return userRepository.updateProfile(existingUser)
+                            .flatMap(updatedUser -> recordLogin.andThen(Single.just(existingUser)));
                 })
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof UserNotFoundException) {
@@ -102,6 +112,26 @@ public class UserServiceImpl implements UserService {
         return Single.just(user);
     }
 
+    /**
+     * Apply the profile provided by the identity provider to the user.
+     *
+     * @return true if the profile of the user has changed
+     */
+    private boolean updateProfile(User existingUser, io.gravitee.am.identityprovider.api.User user) {
+        List<String> roles = existingUser.getRoles();
+        String source = existingUser.getSource();
+        String client = existingUser.getClient();
+        Map<String, Object> additionalInformation = existingUser.getAdditionalInformation();
+
+        existingUser.setRoles(user.getRoles());
+        extractAdditionalInformation(existingUser, user.getAdditionalInformation());
+
+        return !Objects.equals(roles, existingUser.getRoles())
+                || !Objects.equals(source, existingUser.getSource())
+                || !Objects.equals(client, existingUser.getClient())
+                || !Objects.equals(additionalInformation, existingUser.getAdditionalInformation());
+    }
+
     private void extractAdditionalInformation(User user, Map<String, Object> additionalInformation) {
         if (additionalInformation != null) {
             Map<String, Object> extraInformation = new HashMap<>(additionalInformation);
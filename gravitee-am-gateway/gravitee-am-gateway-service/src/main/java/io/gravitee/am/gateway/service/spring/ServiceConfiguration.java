@@ -15,7 +15,11 @@
  */
 package io.gravitee.am.gateway.service.spring;
 
-import org.springframework.context.annotation.ComponentScan;
+import io.gravitee.am.gateway.service.RoleService;
+import io.gravitee.am.gateway.service.UserService;
+import io.gravitee.am.gateway.service.impl.RoleServiceImpl;
+import io.gravitee.am.gateway.service.impl.UserServiceImpl;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
@@ -23,6 +27,15 @@ import org.springframework.context.annotation.Configuration;
  * @author GraviteeSource Team
  */
 @Configuration
-@ComponentScan("io.gravitee.am.gateway.service")
 public class ServiceConfiguration {
+
+    @Bean
+    public RoleService roleService() {
+        return new RoleServiceImpl();
+    }
+
+    @Bean
+    public UserService userService() {
+        return new UserServiceImpl();
+    }
 }
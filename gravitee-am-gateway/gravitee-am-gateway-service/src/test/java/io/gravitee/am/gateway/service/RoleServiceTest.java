@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.service;
+
+import io.gravitee.am.gateway.core.event.EventManager;
+import io.gravitee.am.gateway.core.event.RoleEvent;
+import io.gravitee.am.gateway.service.impl.RoleServiceImpl;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.Role;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.repository.exceptions.TechnicalException;
+import io.gravitee.am.repository.management.api.RoleRepository;
+import io.gravitee.common.event.impl.SimpleEvent;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RoleServiceTest {
+
+    private static final String DOMAIN = "domain-id";
+
+    @InjectMocks
+    private RoleServiceImpl roleService = new RoleServiceImpl();
+
+    @Mock
+    private Domain domain;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private EventManager eventManager;
+
+    @Test
+    public void shouldFindByIdIn_fromIndex() {
+        initRoles();
+
+        assertEquals(ids("role-1", "role-2"), ids(roleService.findByIdIn(Arrays.asList("role-1", "role-2")).blockingGet()));
+        verify(roleRepository, never()).findByIdIn(anyListOf(String.class));
+    }
+
+    @Test
+    public void shouldFindByIdIn_unknownRole() {
+        initRoles();
+
+        assertEquals(ids("role-1"), ids(roleService.findByIdIn(Arrays.asList("role-1", "unknown")).blockingGet()));
+        assertEquals(ids("role-1"), ids(roleService.findByIdIn(Arrays.asList("role-1", "unknown")).blockingGet()));
+        // the index is authoritative once loaded, unknown ids are not read from the repository
+        verify(roleRepository, never()).findByIdIn(anyListOf(String.class));
+    }
+
+    @Test
+    public void shouldFindByIdIn_indexNotLoaded() {
+        when(domain.getId()).thenReturn(DOMAIN);
+        when(roleRepository.findByDomain(DOMAIN)).thenReturn(Single.error(new TechnicalException()));
+        when(roleRepository.findByIdIn(Collections.singletonList("role-1"))).thenReturn(Single.just(Collections.singleton(role("role-1"))));
+        roleService.afterPropertiesSet();
+
+        assertEquals(ids("role-1"), ids(roleService.findByIdIn(Collections.singletonList("role-1")).blockingGet()));
+        verify(roleRepository, times(1)).findByIdIn(Collections.singletonList("role-1"));
+    }
+
+    @Test
+    public void shouldDeployRole() {
+        initRoles();
+        when(roleRepository.findById("role-3")).thenReturn(Maybe.just(role("role-3")));
+
+        roleService.onEvent(new SimpleEvent<>(RoleEvent.DEPLOY, new Payload("role-3", DOMAIN, Action.CREATE)));
+
+        assertEquals(ids("role-3"), ids(roleService.findByIdIn(Collections.singletonList("role-3")).blockingGet()));
+        verify(roleRepository, never()).findByIdIn(anyListOf(String.class));
+    }
+
+    @Test
+    public void shouldUpdateRole() {
+        initRoles();
+        Role updatedRole = role("role-1");
+        updatedRole.setPermissions(Collections.singletonList("write"));
+        when(roleRepository.findById("role-1")).thenReturn(Maybe.just(updatedRole));
+
+        roleService.onEvent(new SimpleEvent<>(RoleEvent.UPDATE, new Payload("role-1", DOMAIN, Action.UPDATE)));
+
+        Set<Role> roles = roleService.findByIdIn(Collections.singletonList("role-1")).blockingGet();
+        assertEquals(Collections.singletonList("write"), roles.iterator().next().getPermissions());
+    }
+
+    @Test
+    public void shouldUndeployRole() {
+        initRoles();
+
+        roleService.onEvent(new SimpleEvent<>(RoleEvent.UNDEPLOY, new Payload("role-1", DOMAIN, Action.DELETE)));
+
+        assertEquals(ids("role-2"), ids(roleService.findByIdIn(Arrays.asList("role-1", "role-2")).blockingGet()));
+        verify(roleRepository, never()).findByIdIn(anyListOf(String.class));
+    }
+
+    @Test
+    public void shouldIgnoreOtherDomainEvent() {
+        initRoles();
+
+        roleService.onEvent(new SimpleEvent<>(RoleEvent.UNDEPLOY, new Payload("role-1", "other-domain", Action.DELETE)));
+
+        assertEquals(ids("role-1"), ids(roleService.findByIdIn(Collections.singletonList("role-1")).blockingGet()));
+    }
+
+    private void initRoles() {
+        when(domain.getId()).thenReturn(DOMAIN);
+        when(roleRepository.findByDomain(DOMAIN)).thenReturn(Single.just(new HashSet<>(Arrays.asList(role("role-1"), role("role-2")))));
+        roleService.afterPropertiesSet();
+    }
+
+    private Role role(String id) {
+        Role role = new Role();
+        role.setId(id);
+        role.setDomain(DOMAIN);
+        role.setName(id);
+        return role;
+    }
+
+    private static Set<String> ids(String... ids) {
+        return new HashSet<>(Arrays.asList(ids));
+    }
+
+    private static Set<String> ids(Set<Role> roles) {
+        return roles.stream().map(Role::getId).collect(Collectors.toSet());
+    }
+}
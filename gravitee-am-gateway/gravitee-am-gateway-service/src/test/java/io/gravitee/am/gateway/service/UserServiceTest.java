@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.service;
+
+import io.gravitee.am.gateway.service.impl.UserServiceImpl;
+import io.gravitee.am.identityprovider.api.DefaultUser;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.User;
+import io.gravitee.am.repository.management.api.UserRepository;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import io.reactivex.observers.TestObserver;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class UserServiceTest {
+
+    private static final String DOMAIN = "domain-id";
+
+    @InjectMocks
+    private UserService userService = new UserServiceImpl();
+
+    @Mock
+    private Domain domain;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleService roleService;
+
+    @Mock
+    private UserLoginRecorder userLoginRecorder;
+
+    @Before
+    public void init() {
+        when(domain.getId()).thenReturn(DOMAIN);
+        when(userLoginRecorder.record(eq("user-id"), any(Date.class))).thenReturn(Completable.complete());
+    }
+
+    @Test
+    public void shouldRecordLogin_profileUnchanged() {
+        when(userRepository.findByUsernameAndDomain(DOMAIN, "username")).thenReturn(Maybe.just(existingUser(Collections.singletonMap("email", "user@gravitee.io"))));
+
+        TestObserver<User> testObserver = userService.findOrCreate(idpUser(Collections.singletonMap("email", "user@gravitee.io"))).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertValue(u -> u.getLoginsCount() == 3);
+        verify(userLoginRecorder, times(1)).record(eq("user-id"), any(Date.class));
+        verify(userRepository, never()).update(any(User.class));
+        verify(userRepository, never()).updateProfile(any(User.class));
+    }
+
+    @Test
+    public void shouldRecordLogin_profileChanged() {
+        when(userRepository.findByUsernameAndDomain(DOMAIN, "username")).thenReturn(Maybe.just(existingUser(Collections.singletonMap("email", "user@gravitee.io"))));
+        when(userRepository.updateProfile(any(User.class))).thenAnswer(invocation -> Single.just(invocation.getArguments()[0]));
+
+        TestObserver<User> testObserver = userService.findOrCreate(idpUser(Collections.singletonMap("email", "new@gravitee.io"))).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertValue(u -> u.getLoginsCount() == 3);
+
+        // the profile is written without the login statistics, which go through the recorder
+        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
+        verify(userRepository, times(1)).updateProfile(userCaptor.capture());
+        assertEquals("new@gravitee.io", userCaptor.getValue().getAdditionalInformation().get("email"));
+        verify(userRepository, never()).update(any(User.class));
+        verify(userLoginRecorder, times(1)).record(eq("user-id"), any(Date.class));
+    }
+
+    @Test
+    public void shouldCreateUser() {
+        when(userRepository.findByUsernameAndDomain(DOMAIN, "username")).thenReturn(Maybe.empty());
+        when(userRepository.create(any(User.class))).thenAnswer(invocation -> Single.just(invocation.getArguments()[0]));
+
+        TestObserver<User> testObserver = userService.findOrCreate(idpUser(Collections.emptyMap())).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertValue(u -> u.getLoginsCount() == 1 && DOMAIN.equals(u.getDomain()));
+        verify(userLoginRecorder, never()).record(any(String.class), any(Date.class));
+    }
+
+    private User existingUser(Map<String, Object> additionalInformation) {
+        User user = new User();
+        user.setId("user-id");
+        user.setUsername("username");
+        user.setDomain(DOMAIN);
+        user.setLoginsCount(2L);
+        user.setAdditionalInformation(additionalInformation);
+        return user;
+    }
+
+    private io.gravitee.am.identityprovider.api.User idpUser(Map<String, Object> additionalInformation) {
+        DefaultUser user = new DefaultUser("username");
+        user.setAdditonalInformation(additionalInformation);
+        return user;
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.service.impl;
+
+import io.gravitee.am.repository.management.api.UserRepository;
+import io.reactivex.Completable;
+import io.reactivex.observers.TestObserver;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Date;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class UserLoginRecorderImplTest {
+
+    @InjectMocks
+    private UserLoginRecorderImpl userLoginRecorder = new UserLoginRecorderImpl();
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    public void shouldMergeLoginsOfSameUser() {
+        when(userRepository.updateLogins(anyString(), anyLong(), any(Date.class))).thenReturn(Completable.complete());
+
+        userLoginRecorder.record("user-1", new Date(2000)).test().assertComplete();
+        userLoginRecorder.record("user-1", new Date(3000)).test().assertComplete();
+        userLoginRecorder.record("user-1", new Date(1000)).test().assertComplete();
+        userLoginRecorder.record("user-2", new Date(1000)).test().assertComplete();
+        verify(userRepository, never()).updateLogins(anyString(), anyLong(), any(Date.class));
+
+        userLoginRecorder.flush();
+
+        // one write per user, with the latest login date
+        verify(userRepository, times(1)).updateLogins("user-1", 3, new Date(3000));
+        verify(userRepository, times(1)).updateLogins("user-2", 1, new Date(1000));
+    }
+
+    @Test
+    public void shouldNotWriteLoginsTwice() {
+        when(userRepository.updateLogins(anyString(), anyLong(), any(Date.class))).thenReturn(Completable.complete());
+
+        userLoginRecorder.record("user-1", new Date(1000)).test().assertComplete();
+        userLoginRecorder.flush();
+        userLoginRecorder.flush();
+
+        verify(userRepository, times(1)).updateLogins(anyString(), anyLong(), any(Date.class));
+    }
+
+    @Test
+    public void shouldFlushOtherUsersOnWriteError() {
+        when(userRepository.updateLogins(eq("user-1"), anyLong(), any(Date.class))).thenReturn(Completable.error(new RuntimeException()));
+        when(userRepository.updateLogins(eq("user-2"), anyLong(), any(Date.class))).thenReturn(Completable.complete());
+
+        userLoginRecorder.record("user-1", new Date(1000)).test().assertComplete();
+        userLoginRecorder.record("user-2", new Date(1000)).test().assertComplete();
+        userLoginRecorder.flush();
+
+        verify(userRepository, times(1)).updateLogins("user-1", 1, new Date(1000));
+        verify(userRepository, times(1)).updateLogins("user-2", 1, new Date(1000));
+    }
+
+    @Test
+    public void shouldWriteLoginsSynchronously() {
+        userLoginRecorder.setAsync(false);
+        when(userRepository.updateLogins("user-1", 1, new Date(1000))).thenReturn(Completable.complete());
+
+        TestObserver testObserver = userLoginRecorder.record("user-1", new Date(1000)).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        verify(userRepository, times(1)).updateLogins("user-1", 1, new Date(1000));
+    }
+}
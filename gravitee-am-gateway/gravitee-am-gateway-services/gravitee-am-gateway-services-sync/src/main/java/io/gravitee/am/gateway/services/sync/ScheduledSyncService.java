@@ -15,7 +15,11 @@
  */
 package io.gravitee.am.gateway.services.sync;
 
+import io.gravitee.am.repository.management.api.EventRepository;
+import io.gravitee.common.component.Lifecycle;
 import io.gravitee.common.service.AbstractService;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +28,7 @@ import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.support.CronTrigger;
 
 import java.time.Instant;
+import java.util.Date;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -46,11 +51,27 @@ public class ScheduledSyncService extends AbstractService implements Runnable {
     @Value("${services.sync.enabled:true}")
     private boolean enabled;
 
+    @Value("${services.sync.changeStream.enabled:true}")
+    private boolean changeStreamEnabled;
+
+    @Value("${services.sync.changeStream.retryDelay:30000}")
+    private long changeStreamRetryDelay;
+
     @Autowired
     private SyncManager syncStateManager;
 
+    @Autowired
+    private EventRepository eventRepository;
+
     private final AtomicLong counter = new AtomicLong(0);
 
+    /**
+     * Polling is only a fallback when new events are pushed by the repository.
+     */
+    private volatile boolean watching;
+
+    private volatile Disposable watchSubscription;
+
     @Override
     protected void doStart() throws Exception {
         if (enabled) {
@@ -59,14 +80,56 @@ public class ScheduledSyncService extends AbstractService implements Runnable {
             // Sync must start only when doStart() is invoked, that's the reason why we are not
             // using @Scheduled annotation on doSync() method.
             scheduler.schedule(this, new CronTrigger(cronTrigger));
+
+            if (changeStreamEnabled) {
+                watch();
+            }
         } else {
             logger.warn("Sync service has been disabled");
         }
     }
 
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        if (watchSubscription != null) {
+            watchSubscription.dispose();
+        }
+    }
+
     @Override
     public void run() {
-        doSync();
+        if (!watching || syncStateManager.isWaitingForEvents() || syncStateManager.hasFailedDeployments()
+                || syncStateManager.isReconciliationDue()) {
+            doSync();
+        }
+    }
+
+    private void watch() {
+        logger.info("Listening to configuration events");
+        watchSubscription = eventRepository.watch()
+                // a burst of events is consumed by a single refresh
+                .onBackpressureLatest()
+                // do not block the repository threads, events are still applied one at a time
+                .observeOn(Schedulers.io(), false, 1)
+                .subscribe(
+                        sequence -> doSync(),
+                        error -> {
+                            watching = false;
+                            logger.warn("Unable to listen to configuration events, fallback to polling with cron [{}] and retry in {} ms: {}",
+                                    cronTrigger, changeStreamRetryDelay, error.getMessage());
+                            logger.debug("Configuration events listener failure", error);
+                            if (lifecycleState() == Lifecycle.State.STARTED) {
+                                scheduler.schedule(this::watch, new Date(System.currentTimeMillis() + changeStreamRetryDelay));
+                            }
+                        });
+
+        // events may have been appended while not listening, read the log once
+        scheduler.schedule(() -> {
+            doSync();
+            watching = watchSubscription != null && !watchSubscription.isDisposed();
+        }, new Date());
     }
 
     /**
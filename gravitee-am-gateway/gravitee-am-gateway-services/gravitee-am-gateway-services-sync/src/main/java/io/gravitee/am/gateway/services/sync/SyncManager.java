@@ -15,20 +15,37 @@
  */
 package io.gravitee.am.gateway.services.sync;
 
+import io.gravitee.am.gateway.core.domain.DomainDeploymentStatus;
 import io.gravitee.am.gateway.core.event.DomainEvent;
 import io.gravitee.am.model.Domain;
-import io.gravitee.am.model.common.event.Event;
+import io.gravitee.am.model.common.event.SequencedEvent;
 import io.gravitee.am.model.common.event.Type;
 import io.gravitee.am.repository.management.api.DomainRepository;
+import io.gravitee.am.repository.management.api.EventRepository;
 import io.gravitee.common.event.EventManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
+ * Keep the deployed domains in sync with the management repository.
+ *
+ * Domains are fully loaded once, then the gateway only consumes the configuration events appended to the
+ * {@link EventRepository} log after the last one it has applied, in sequence order.
+ *
+ * The management API appends an event once a change is saved, if the append fails the change has no event at all.
+ * Domains are therefore periodically reconciled with the repository: a domain updated after both its deployed copy
+ * and the last event applied for it is redeployed.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -36,15 +53,102 @@ public class SyncManager {
 
     private final Logger logger = LoggerFactory.getLogger(SyncManager.class);
 
+    @Value("${services.sync.events.batchSize:100}")
+    private int eventsBatchSize = 100;
+
+    @Value("${services.sync.events.gapTimeout:10000}")
+    private long eventsGapTimeout = 10000;
+
+    /**
+     * Delay in ms between two reconciliations of the deployed domains with the repository, 0 to disable them.
+     */
+    @Value("${services.sync.reconciliation.interval:60000}")
+    private long reconciliationInterval = 60000;
+
+    /**
+     * Number of domains deployed concurrently at startup, defaults to the number of available processors.
+     */
+    @Value("${services.sync.bootstrap.parallelism:0}")
+    private int bootstrapParallelism;
+
+    @Value("${services.sync.deployment.retryDelay:30000}")
+    private long deploymentRetryDelay = 30000;
+
     @Autowired
     private DomainRepository domainRepository;
 
+    @Autowired
+    private EventRepository eventRepository;
+
     @Autowired
     private EventManager eventManager;
 
+    @Autowired
+    private DomainDeploymentStatus domainDeploymentStatus;
+
     private Map<String, Domain> deployedDomains = new HashMap<>();
 
-    public void refresh() {
+    /**
+     * Creation date of the last event applied for each domain
+     */
+    private Map<String, Date> lastEventDates = new HashMap<>();
+
+    /**
+     * Sequence number of the last applied event, <code>null</code> until the domains have been loaded.
+     */
+    private Long lastSequence;
+
+    /**
+     * Time at which a hole has been detected in the events sequence, 0 if there is none.
+     */
+    private long gapDetectedAt;
+
+    private long lastDeploymentRetry;
+
+    private long lastReconciliation;
+
+    public synchronized void refresh() {
+        if (lastSequence == null) {
+            // events appended during the full synchronization are applied on the next refresh
+            long sequence = eventRepository.findLastSequence().blockingGet();
+            fullRefresh();
+            lastSequence = sequence;
+            lastReconciliation = System.currentTimeMillis();
+        } else {
+            consumeEvents();
+            if (isReconciliationDue()) {
+                logger.debug("Reconciling deployed domains with the repository");
+                lastReconciliation = System.currentTimeMillis();
+                fullRefresh();
+            }
+            retryFailedDeployments();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the deployed domains must be compared with the repository, in case some events
+     * have never been appended
+     */
+    public synchronized boolean isReconciliationDue() {
+        return lastSequence != null && reconciliationInterval > 0 && gapDetectedAt == 0
+                && System.currentTimeMillis() - lastReconciliation >= reconciliationInterval;
+    }
+
+    /**
+     * @return <code>true</code> if events are known to be missing and the log must be read again
+     */
+    public synchronized boolean isWaitingForEvents() {
+        return gapDetectedAt != 0;
+    }
+
+    /**
+     * @return <code>true</code> if some domains have failed to deploy and must be deployed again
+     */
+    public boolean hasFailedDeployments() {
+        return !domainDeploymentStatus.getFailedDomains().isEmpty();
+    }
+
+    private void fullRefresh() {
         logger.debug("Refreshing sync state...");
 
         // Registered domains
@@ -58,56 +162,227 @@ public class SyncManager {
                                 .collect(Collectors.toSet());
                     }
                     return Collections.<Domain>emptySet();
-                })
-                .blockingGet();
+                }).blockingGet();
 
         // Look for deleted domains
-        if (deployedDomains.size() > domains.size()) {
-            Set<String> domainIds = domains.stream().map(domain -> domain.getId()).collect(Collectors.toSet());
-            Set<String> deployedDomainIds = new HashSet<>(deployedDomains.keySet());
-            deployedDomainIds.forEach(domainId -> {
-                if (!domainIds.contains(domainId)) {
-                    Domain deployedDomain = deployedDomains.get(domainId);
-                    if (deployedDomain != null) {
-                        deployedDomains.remove(domainId);
-                        eventManager.publishEvent(DomainEvent.UNDEPLOY, deployedDomain);
-                    }
+        Set<String> domainIds = domains.stream().map(Domain::getId).collect(Collectors.toSet());
+        new HashSet<>(deployedDomains.keySet()).forEach(domainId -> {
+            if (!domainIds.contains(domainId)) {
+                undeploy(domainId);
+            }
+        });
+
+        if (!domainDeploymentStatus.isBootstrapped()) {
+            bootstrap(domains);
+        } else {
+            // Look for disabled domains and deploy enabled ones, deployed domains are redeployed only if they have changed
+            // since the events of their components (clients, certificates, ...) may have been missed
+            domains.forEach(domain -> {
+                Domain deployedDomain = deployedDomains.get(domain.getId());
+                if (deployedDomain == null || !domain.isEnabled()) {
+                    sync(domain);
+                } else if (isOutOfSync(deployedDomain, domain)) {
+                    logger.info("Domain {} has changed without any event, redeploy it", domain.getName());
+                    undeploy(domain.getId());
+                    sync(domain);
                 }
             });
         }
+    }
+
+    /**
+     * Deploy the domains concurrently, events are consumed once every domain has been deployed.
+     */
+    private void bootstrap(Set<Domain> domains) {
+        List<Domain> enabledDomains = domains.stream().filter(Domain::isEnabled).collect(Collectors.toList());
+        int parallelism = bootstrapParallelism > 0 ? bootstrapParallelism : Runtime.getRuntime().availableProcessors();
+        logger.info("Deploying {} domains with {} threads", enabledDomains.size(), parallelism);
+        domainDeploymentStatus.bootstrapStarted(enabledDomains.size());
+
+        long startTime = System.currentTimeMillis();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "gio.am-bootstrap-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            Map<Domain, Future<?>> deployments = new LinkedHashMap<>();
+            enabledDomains.forEach(domain -> deployments.put(domain, executor.submit(() -> eventManager.publishEvent(DomainEvent.DEPLOY, domain))));
+
+            int deployed = 0;
+            int failed = 0;
+            int progressStep = Math.max(1, enabledDomains.size() / 10);
+            for (Map.Entry<Domain, Future<?>> deployment : deployments.entrySet()) {
+                Domain domain = deployment.getKey();
+                try {
+                    deployment.getValue().get();
+                } catch (ExecutionException ex) {
+                    logger.error("Unable to deploy domain {}", domain.getName(), ex.getCause());
+                    domainDeploymentStatus.failed(domain.getId());
+                }
+                // failures are reported by the domains registry, failed domains are deployed again later
+                if (domainDeploymentStatus.isFailed(domain.getId())) {
+                    failed++;
+                } else {
+                    deployedDomains.put(domain.getId(), domain);
+                    deployed++;
+                }
+                domainDeploymentStatus.bootstrapProgress();
+                if ((deployed + failed) % progressStep == 0) {
+                    logger.info("Domains deployment in progress: {}/{}", deployed + failed, enabledDomains.size());
+                }
+            }
 
-        // Look for disabled domains
-        domains.stream()
-                .filter(domain -> !domain.isEnabled())
-                .forEach(domain -> {
-                    Domain deployedDomain = deployedDomains.get(domain.getId());
-                    if (deployedDomain != null) {
-                        deployedDomains.remove(domain.getId());
-                        eventManager.publishEvent(DomainEvent.UNDEPLOY, deployedDomain);
+            logger.info("{} domains deployed in {} ms, {} failed", deployed, System.currentTimeMillis() - startTime, failed);
+            lastDeploymentRetry = System.currentTimeMillis();
+            domainDeploymentStatus.bootstrapCompleted();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Domains deployment has been interrupted", ex);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void retryFailedDeployments() {
+        Set<String> failedDomains = domainDeploymentStatus.getFailedDomains();
+        if (failedDomains.isEmpty() || System.currentTimeMillis() - lastDeploymentRetry < deploymentRetryDelay) {
+            return;
+        }
+
+        lastDeploymentRetry = System.currentTimeMillis();
+        failedDomains.forEach(domainId -> {
+            Domain domain = domainRepository.findById(domainId).blockingGet();
+            if (domain == null || domain.isMaster() || !domain.isEnabled()) {
+                // nothing to deploy anymore
+                domainDeploymentStatus.removed(domainId);
+            } else if (!deployedDomains.containsKey(domainId)) {
+                logger.info("Retry deployment of domain {}", domain.getName());
+                deploy(domain);
+            }
+        });
+    }
+
+    private void consumeEvents() {
+        List<SequencedEvent> events;
+        do {
+            events = eventRepository.findAfter(lastSequence, eventsBatchSize).blockingGet();
+            for (SequencedEvent event : events) {
+                if (event.getSequence() != lastSequence + 1) {
+                    // the missing events may still be in-flight, wait for them before applying the next ones
+                    long now = System.currentTimeMillis();
+                    if (gapDetectedAt == 0) {
+                        gapDetectedAt = now;
                     }
-                });
-
-        // Deploy domains
-        domains.stream()
-                .filter(domain -> domain.isEnabled())
-                .forEach(domain -> {
-                    Domain deployedDomain = deployedDomains.get(domain.getId());
-                    if (deployedDomain == null) {
-                        eventManager.publishEvent(DomainEvent.DEPLOY, domain);
-                        deployedDomains.put(domain.getId(), domain);
-                    } else {
-                        // Check last update date
-                        if (domain.getUpdatedAt().after(deployedDomain.getUpdatedAt())) {
-                            // get event type and publish corresponding event
-                            Event lastEvent = domain.getLastEvent();
-                            Enum eventType = io.gravitee.am.gateway.core.event.Event.valueOf(lastEvent);
-                            Object content = Type.DOMAIN.equals(lastEvent.getType()) ? domain : lastEvent.getPayload();
-                            eventManager.publishEvent(eventType, content);
-
-                            // update local domains map
-                            deployedDomains.put(domain.getId(), domain);
-                        }
+                    if (now - gapDetectedAt < eventsGapTimeout) {
+                        logger.debug("Waiting for events {} to {}", lastSequence + 1, event.getSequence() - 1);
+                        return;
                     }
-                });
+
+                    // events have expired, redeploy the domains which differ from the repository
+                    logger.warn("Events {} to {} are missing, do a full synchronization", lastSequence + 1, event.getSequence() - 1);
+                    gapDetectedAt = 0;
+                    long sequence = eventRepository.findLastSequence().blockingGet();
+                    fullRefresh();
+                    lastSequence = sequence;
+                    return;
+                }
+
+                gapDetectedAt = 0;
+                try {
+                    apply(event);
+                } catch (Exception ex) {
+                    logger.error("An error occurs while applying event {} for domain {}", event.getSequence(), event.getDomain(), ex);
+                }
+                lastSequence = event.getSequence();
+            }
+        } while (events.size() == eventsBatchSize);
+    }
+
+    private void apply(SequencedEvent event) {
+        logger.debug("Applying event {} {} for domain {}", event.getSequence(), event.getType(), event.getDomain());
+        if (event.getCreatedAt() != null) {
+            lastEventDates.merge(event.getDomain(), event.getCreatedAt(), (previous, next) -> next.after(previous) ? next : previous);
+        }
+
+        if (Type.DOMAIN.equals(event.getType())) {
+            Domain domain = domainRepository.findById(event.getDomain()).blockingGet();
+            if (domain != null && !domain.isMaster()) {
+                sync(domain);
+            } else {
+                // domain has been deleted
+                undeploy(event.getDomain());
+            }
+        } else if (deployedDomains.containsKey(event.getDomain())) {
+            eventManager.publishEvent(io.gravitee.am.gateway.core.event.Event.valueOf(event), event.getPayload());
+        }
+    }
+
+    private void sync(Domain domain) {
+        if (!domain.isEnabled()) {
+            undeploy(domain.getId());
+            return;
+        }
+
+        Domain deployedDomain = deployedDomains.get(domain.getId());
+        if (deployedDomain == null) {
+            deploy(domain);
+        } else if (isModified(deployedDomain, domain)) {
+            deployedDomains.put(domain.getId(), domain);
+            eventManager.publishEvent(DomainEvent.UPDATE, domain);
+        }
+    }
+
+    private void deploy(Domain domain) {
+        eventManager.publishEvent(DomainEvent.DEPLOY, domain);
+        if (domainDeploymentStatus.isFailed(domain.getId())) {
+            logger.warn("Domain {} has not been deployed, retry in {} ms", domain.getName(), deploymentRetryDelay);
+            lastDeploymentRetry = System.currentTimeMillis();
+        } else {
+            deployedDomains.put(domain.getId(), domain);
+        }
+    }
+
+    /**
+     * Every change made to a domain or to one of its components updates the domain's last update date.
+     */
+    private static boolean isModified(Domain deployedDomain, Domain domain) {
+        return deployedDomain.getUpdatedAt() == null
+                || domain.getUpdatedAt() == null
+                || domain.getUpdatedAt().after(deployedDomain.getUpdatedAt());
+    }
+
+    /**
+     * A domain is out of sync if it has been updated after its deployed copy and after the last event applied for it.
+     * Recent updates are left to their events, which may still be in-flight.
+     */
+    private boolean isOutOfSync(Domain deployedDomain, Domain domain) {
+        if (!isModified(deployedDomain, domain)) {
+            return false;
+        }
+        Date updatedAt = domain.getUpdatedAt();
+        if (updatedAt == null) {
+            return true;
+        }
+        Date lastEventDate = lastEventDates.get(domain.getId());
+        return (lastEventDate == null || updatedAt.after(lastEventDate))
+                && System.currentTimeMillis() - updatedAt.getTime() >= eventsGapTimeout;
+    }
+
+    public void setReconciliationInterval(long reconciliationInterval) {
+        this.reconciliationInterval = reconciliationInterval;
+    }
+
+    private void undeploy(String domainId) {
+        lastEventDates.remove(domainId);
+        Domain deployedDomain = deployedDomains.remove(domainId);
+        if (deployedDomain != null) {
+            eventManager.publishEvent(DomainEvent.UNDEPLOY, deployedDomain);
+        } else {
+            // the domain may have failed to deploy, do not retry
+            domainDeploymentStatus.removed(domainId);
+        }
     }
 }
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.services.sync;
+
+import io.gravitee.am.gateway.core.domain.DomainDeploymentStatus;
+import io.gravitee.am.gateway.core.event.ClientEvent;
+import io.gravitee.am.gateway.core.event.DomainEvent;
+import io.gravitee.am.model.Domain;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.model.common.event.SequencedEvent;
+import io.gravitee.am.model.common.event.Type;
+import io.gravitee.am.repository.management.api.DomainRepository;
+import io.gravitee.am.repository.management.api.EventRepository;
+import io.gravitee.common.event.EventManager;
+import io.reactivex.Single;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SyncManagerTest {
+
+    private static final String DOMAIN_ID = "my-domain";
+
+    @InjectMocks
+    private SyncManager syncManager = new SyncManager();
+
+    @Mock
+    private DomainRepository domainRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventManager eventManager;
+
+    @Mock
+    private DomainDeploymentStatus domainDeploymentStatus;
+
+    @Before
+    public void init() {
+        when(domainDeploymentStatus.isBootstrapped()).thenReturn(false, true);
+        when(eventRepository.findLastSequence()).thenReturn(Single.just(0L));
+        when(eventRepository.findAfter(anyLong(), anyInt())).thenReturn(Single.just(Collections.emptyList()));
+    }
+
+    @Test
+    public void shouldRedeployDomainChangedWithoutEvent() throws Exception {
+        Domain deployedDomain = domain(System.currentTimeMillis() - 120000);
+        when(domainRepository.findAll()).thenReturn(Single.just(Collections.singleton(deployedDomain)));
+        syncManager.refresh();
+
+        // the domain has been saved but its event has never been appended
+        Domain updatedDomain = domain(System.currentTimeMillis() - 60000);
+        when(domainRepository.findAll()).thenReturn(Single.just(Collections.singleton(updatedDomain)));
+        syncManager.setReconciliationInterval(1);
+        Thread.sleep(10);
+        Assert.assertTrue(syncManager.isReconciliationDue());
+        syncManager.refresh();
+
+        verify(eventManager, times(1)).publishEvent(eq(DomainEvent.UNDEPLOY), any(Domain.class));
+        ArgumentCaptor<Domain> deployed = ArgumentCaptor.forClass(Domain.class);
+        verify(eventManager, times(2)).publishEvent(eq(DomainEvent.DEPLOY), deployed.capture());
+        Assert.assertSame(updatedDomain, deployed.getAllValues().get(1));
+    }
+
+    @Test
+    public void shouldNotRedeployDomainChangedWithEvent() throws Exception {
+        Domain deployedDomain = domain(System.currentTimeMillis() - 120000);
+        when(domainRepository.findAll()).thenReturn(Single.just(Collections.singleton(deployedDomain)));
+        syncManager.refresh();
+
+        // a client of the domain has been updated, the event is appended after the domain is saved
+        Domain updatedDomain = domain(System.currentTimeMillis() - 60000);
+        SequencedEvent event = new SequencedEvent(DOMAIN_ID, Type.CLIENT, new Payload("my-client", DOMAIN_ID, Action.UPDATE));
+        event.setSequence(1);
+        event.setCreatedAt(new Date(updatedDomain.getUpdatedAt().getTime() + 10));
+        when(eventRepository.findAfter(eq(0L), anyInt())).thenReturn(Single.just(Collections.singletonList(event)));
+        when(domainRepository.findAll()).thenReturn(Single.just(Collections.singleton(updatedDomain)));
+        syncManager.setReconciliationInterval(1);
+        Thread.sleep(10);
+        syncManager.refresh();
+
+        verify(eventManager, times(1)).publishEvent(eq(ClientEvent.UPDATE), any(Payload.class));
+        verify(eventManager, never()).publishEvent(eq(DomainEvent.UNDEPLOY), any(Domain.class));
+        verify(eventManager, times(1)).publishEvent(eq(DomainEvent.DEPLOY), any(Domain.class));
+    }
+
+    @Test
+    public void shouldNotReconcile_disabled() {
+        when(domainRepository.findAll()).thenReturn(Single.just(Collections.singleton(domain(System.currentTimeMillis() - 120000))));
+        syncManager.setReconciliationInterval(0);
+        syncManager.refresh();
+
+        Assert.assertFalse(syncManager.isReconciliationDue());
+        syncManager.refresh();
+
+        verify(domainRepository, times(1)).findAll();
+    }
+
+    private static Domain domain(long updatedAt) {
+        Domain domain = new Domain();
+        domain.setId(DOMAIN_ID);
+        domain.setName(DOMAIN_ID);
+        domain.setEnabled(true);
+        domain.setUpdatedAt(new Date(updatedAt));
+        return domain;
+    }
+}
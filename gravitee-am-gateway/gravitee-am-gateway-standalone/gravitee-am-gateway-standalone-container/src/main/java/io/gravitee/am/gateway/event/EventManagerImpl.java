@@ -15,116 +15,249 @@
  */
 package io.gravitee.am.gateway.event;
 
-import com.google.common.collect.Lists;
+import io.gravitee.am.gateway.core.event.EventManager;
+import io.gravitee.am.model.common.event.Payload;
 import io.gravitee.common.event.Event;
 import io.gravitee.common.event.EventListener;
-import io.gravitee.common.event.EventManager;
 import io.gravitee.common.event.impl.SimpleEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Override default event manager to enable concurrent access
+ * Concurrent event manager routing security domain events to the listeners of their domain.
+ *
+ * Listeners are indexed by (event type, domain) so that publishing an event only reaches the listeners of the
+ * targeted domain, whatever the number of deployed domains. Domain events are queued per domain and delivered by a
+ * shared thread pool, which keeps their order while not blocking the publisher.
  *
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class EventManagerImpl implements EventManager {
+public class EventManagerImpl implements EventManager, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventManagerImpl.class);
+
+    private final ConcurrentMap<Topic, List<EventListenerWrapper>> listenersMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DomainQueue> queues = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(io.gravitee.common.event.impl.EventManagerImpl.class);
+    public EventManagerImpl() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
 
-    private Map<ComparableEventType, List<EventListenerWrapper>> listenersMap = new TreeMap<>();
+    public EventManagerImpl(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "gio.am-events-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 
+    @Override
     public void publishEvent(Enum type, Object content) {
         this.publishEvent(new SimpleEvent(type, content));
     }
 
+    @Override
     public void publishEvent(Event event) {
         LOGGER.debug("Publish event {} - {}", event.type(), event.content());
 
-        List<EventListenerWrapper> listeners = getEventListeners(event.type().getClass());
-        List<EventListenerWrapper> safeConcurrentListeners = Lists.newArrayList(listeners.iterator());
+        Class<? extends Enum> eventType = event.type().getDeclaringClass();
+        String domain = (event.content() instanceof Payload) ? ((Payload) event.content()).getDomain() : null;
+
+        if (domain == null) {
+            deliver(event, listenersMap.get(new Topic(eventType, null)));
+            return;
+        }
 
-        for(EventListenerWrapper listener : safeConcurrentListeners) {
-            listener.eventListener().onEvent(event);
+        Topic globalTopic = new Topic(eventType, null);
+        Topic domainTopic = new Topic(eventType, domain);
+        if (!listenersMap.containsKey(globalTopic) && !listenersMap.containsKey(domainTopic)) {
+            LOGGER.debug("No listener for event {} of domain {}", event.type(), domain);
+            return;
         }
+
+        // listeners are resolved at delivery time so that a component stopped in the meantime is not notified
+        Runnable task = () -> {
+            deliver(event, listenersMap.get(globalTopic));
+            deliver(event, listenersMap.get(domainTopic));
+        };
+        // queued atomically with the release of the queue, a domain never has two queues at a time
+        queues.compute(domain, (key, queue) -> {
+            DomainQueue domainQueue = (queue == null) ? new DomainQueue(key) : queue;
+            domainQueue.add(task);
+            return domainQueue;
+        }).schedule();
     }
 
+    @Override
     public <T extends Enum> void subscribeForEvents(EventListener<T, ?> eventListener, T... events) {
-        for( T event : events) {
-            addEventListener(eventListener, (Class<T>) event.getClass(), Arrays.asList(events));
+        Map<Class<T>, List<T>> eventsByType = new HashMap<>();
+        for (T event : events) {
+            eventsByType.computeIfAbsent(event.getDeclaringClass(), k -> new ArrayList<>()).add(event);
         }
+        eventsByType.forEach((type, typeEvents) -> addEventListener(eventListener, type, typeEvents, null));
     }
 
+    @Override
     public <T extends Enum> void subscribeForEvents(EventListener<T, ?> eventListener, Class<T> events) {
-        addEventListener(eventListener, events, EnumSet.allOf(events));
+        subscribeForEvents(eventListener, events, null);
+    }
+
+    @Override
+    public <T extends Enum> void subscribeForEvents(EventListener<T, ?> eventListener, Class<T> events, String domain) {
+        addEventListener(eventListener, events, EnumSet.allOf(events), domain);
     }
 
-    private <T extends Enum> void addEventListener(EventListener<T, ?> eventListener, Class<T> enumClass, Collection<T> events) {
-        LOGGER.info("Register new listener {} for event type {}", eventListener.getClass().getSimpleName(), enumClass);
+    @Override
+    public <T extends Enum> void unsubscribeForEvents(EventListener<T, ?> eventListener, Class<T> events, String domain) {
+        LOGGER.debug("Unregister listener {} for event type {} and domain {}", eventListener.getClass().getSimpleName(), events, domain);
+
+        listenersMap.computeIfPresent(new Topic(events, domain), (topic, listeners) -> {
+            listeners.removeIf(wrapper -> wrapper.eventListener() == eventListener);
+            return listeners.isEmpty() ? null : listeners;
+        });
 
-        List<EventListenerWrapper> listeners = getEventListeners(enumClass);
-        listeners.add(new EventListenerWrapper(eventListener, events));
+        // release the delivery queue of an undeployed domain, a queue still draining is released once drained
+        if (domain != null) {
+            releaseIfIdle(domain);
+        }
     }
 
-    private <T extends Enum> List<EventListenerWrapper> getEventListeners(Class<T> eventType) {
-        List<EventListenerWrapper> listeners = this.listenersMap.get(new ComparableEventType(eventType));
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T extends Enum> void addEventListener(EventListener<T, ?> eventListener, Class<T> enumClass, Collection<T> events, String domain) {
+        LOGGER.info("Register new listener {} for event type {}{}", eventListener.getClass().getSimpleName(), enumClass,
+                domain == null ? "" : " and domain " + domain);
+
+        listenersMap.compute(new Topic(enumClass, domain), (topic, listeners) -> {
+            List<EventListenerWrapper> updated = (listeners == null) ? new CopyOnWriteArrayList<>() : listeners;
+            updated.add(new EventListenerWrapper(eventListener, events));
+            return updated;
+        });
+    }
+
+    private void releaseIfIdle(String domain) {
+        queues.computeIfPresent(domain, (key, queue) ->
+                queue.isIdle() && listenersMap.keySet().stream().noneMatch(topic -> key.equals(topic.domain)) ? null : queue);
+    }
 
+    private void deliver(Event event, List<EventListenerWrapper> listeners) {
         if (listeners == null) {
-            listeners = new ArrayList<>();
-            this.listenersMap.put(new ComparableEventType(eventType), listeners);
+            return;
         }
 
-        return listeners;
+        for (EventListenerWrapper listener : listeners) {
+            if (listener.events().contains(event.type())) {
+                try {
+                    listener.eventListener().onEvent(event);
+                } catch (Exception ex) {
+                    LOGGER.error("Listener {} failed to handle event {}", listener.eventListener().getClass().getSimpleName(), event.type(), ex);
+                }
+            }
+        }
     }
 
-    private class EventListenerWrapper<T extends Enum> {
+    /**
+     * Serial queue of the events of a domain, drained by at most one thread of the shared pool at a time.
+     * The queue is kept while the domain has listeners or pending events, so that there is only one queue per domain.
+     */
+    private class DomainQueue implements Runnable {
+
+        private final String domain;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        DomainQueue(String domain) {
+            this.domain = domain;
+        }
+
+        void add(Runnable task) {
+            tasks.add(task);
+        }
+
+        boolean isIdle() {
+            return !scheduled.get() && tasks.isEmpty();
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException ree) {
+                    scheduled.set(false);
+                    LOGGER.warn("Event manager is stopped, events of domain {} are discarded", domain);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+            scheduled.set(false);
+
+            // a task may have been queued between the last poll and the reset of the flag
+            if (!tasks.isEmpty()) {
+                schedule();
+            } else {
+                releaseIfIdle(domain);
+            }
+        }
+    }
+
+    private static class EventListenerWrapper<T extends Enum> {
 
         private final EventListener<T, ?> eventListener;
         private final Set<T> events;
 
-        public EventListenerWrapper(EventListener<T, ?> eventListener, Collection<T> events) {
+        EventListenerWrapper(EventListener<T, ?> eventListener, Collection<T> events) {
             this.eventListener = eventListener;
-            this.events = new HashSet(events);
+            this.events = new HashSet<>(events);
         }
 
-        public EventListener<T, ?> eventListener() {
+        EventListener<T, ?> eventListener() {
             return eventListener;
         }
 
-        public Set<T> events() {
+        Set<T> events() {
             return events;
         }
     }
 
-    private class ComparableEventType<T> implements Comparable<ComparableEventType<T>> {
+    private static class Topic {
 
-        private static final int HASH = 7 * 89;
-        private final Class<? extends T> wrappedClass;
+        private final Class<? extends Enum> type;
+        private final String domain;
 
-        public ComparableEventType(Class<? extends T> wrappedClass) {
-            this.wrappedClass = wrappedClass;
+        Topic(Class<? extends Enum> type, String domain) {
+            this.type = type;
+            this.domain = domain;
         }
 
         @Override
-        public int compareTo(ComparableEventType<T> o) {
-            return wrappedClass.getCanonicalName().compareTo(o.wrappedClass.getCanonicalName());
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Topic)) return false;
+            Topic topic = (Topic) o;
+            return type.equals(topic.type) && Objects.equals(domain, topic.domain);
         }
 
         @Override
         public int hashCode() {
-            return HASH + (this.wrappedClass != null ? this.wrappedClass.hashCode() : 0);
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (!(o instanceof ComparableEventType)) {
-                return false;
-            }
-
-            return compareTo((ComparableEventType<T>) o) == 0;
+            return Objects.hash(type, domain);
         }
     }
 }
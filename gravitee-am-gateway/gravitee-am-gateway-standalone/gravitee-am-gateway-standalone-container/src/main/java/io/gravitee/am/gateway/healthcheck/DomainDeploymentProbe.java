@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.healthcheck;
+
+import io.gravitee.am.gateway.core.domain.DomainDeploymentStatus;
+import io.gravitee.node.api.healthcheck.Probe;
+import io.gravitee.node.api.healthcheck.Result;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Readiness probe reporting the deployment of the security domains. The probe is unhealthy until every domain
+ * known at startup has been deployed or has failed to deploy, failed domains are listed until they are deployed.
+ * Deployment and in place update durations are reported as well.
+ *
+ * @author GraviteeSource Team
+ */
+public class DomainDeploymentProbe implements Probe {
+
+    @Autowired
+    private DomainDeploymentStatus domainDeploymentStatus;
+
+    @Override
+    public String id() {
+        return "domains-deployment";
+    }
+
+    @Override
+    public CompletableFuture<Result> check() {
+        if (!domainDeploymentStatus.isBootstrapped()) {
+            final String message = domainDeploymentStatus.getBootstrapTotal() < 0
+                    ? "domains have not been loaded yet"
+                    : String.format("deploying domains: %d/%d", domainDeploymentStatus.getBootstrapProcessed(), domainDeploymentStatus.getBootstrapTotal());
+            return CompletableFuture.completedFuture(Result.unhealthy(message));
+        }
+
+        Set<String> failedDomains = domainDeploymentStatus.getFailedDomains();
+        final String message = String.format("%s, deployments: %d, average deployment time: %d ms, updates: %d, average update time: %d ms, max update time: %d ms",
+                failedDomains.isEmpty() ? "all domains deployed" : String.format("%d domains failed to deploy: %s", failedDomains.size(), failedDomains),
+                domainDeploymentStatus.getDeployments(),
+                domainDeploymentStatus.getAverageDeploymentTime(),
+                domainDeploymentStatus.getUpdates(),
+                domainDeploymentStatus.getAverageUpdateTime(),
+                domainDeploymentStatus.getMaxUpdateTime());
+        return CompletableFuture.completedFuture(Result.healthy(message));
+    }
+}
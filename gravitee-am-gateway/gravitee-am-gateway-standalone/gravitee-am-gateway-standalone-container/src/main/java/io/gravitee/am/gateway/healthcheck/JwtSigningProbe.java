@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.healthcheck;
+
+import io.gravitee.am.gateway.handler.jwt.JwtSigningExecutor;
+import io.gravitee.node.api.healthcheck.Probe;
+import io.gravitee.node.api.healthcheck.Result;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Probe used to report the JWT signing pool activity. The probe is unhealthy when the signing queue is full.
+ *
+ * @author GraviteeSource Team
+ */
+public class JwtSigningProbe implements Probe {
+
+    @Autowired
+    private JwtSigningExecutor jwtSigningExecutor;
+
+    @Override
+    public String id() {
+        return "jwt-signing";
+    }
+
+    @Override
+    public CompletableFuture<Result> check() {
+        final String message = String.format("active: %d, queued: %d/%d, signed: %d, rejected: %d, average signing time: %d µs",
+                jwtSigningExecutor.getActiveCount(),
+                jwtSigningExecutor.getQueueSize(),
+                jwtSigningExecutor.getQueueCapacity(),
+                jwtSigningExecutor.getSignedTokens(),
+                jwtSigningExecutor.getRejectedTasks(),
+                jwtSigningExecutor.getAverageSigningTime());
+
+        if (jwtSigningExecutor.getQueueSize() >= jwtSigningExecutor.getQueueCapacity()) {
+            return CompletableFuture.completedFuture(Result.unhealthy(message));
+        }
+        return CompletableFuture.completedFuture(Result.healthy(message));
+    }
+}
@@ -48,7 +48,7 @@ public class GraviteeVerticle extends AbstractVerticle {
 
     @Override
     public void start(Future<Void> startFuture) {
-        httpServer.requestHandler(request -> reactor.route().accept(request));
+        httpServer.requestHandler(reactor::route);
 
         httpServer.listen(res -> {
             if (res.succeeded()) {
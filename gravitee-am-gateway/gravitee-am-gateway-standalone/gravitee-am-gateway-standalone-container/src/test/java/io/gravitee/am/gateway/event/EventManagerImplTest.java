@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.gateway.event;
+
+import io.gravitee.am.gateway.core.event.ClientEvent;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.common.event.EventListener;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class EventManagerImplTest {
+
+    private EventManagerImpl eventManager;
+
+    @Before
+    public void setUp() {
+        eventManager = new EventManagerImpl(2);
+    }
+
+    @After
+    public void tearDown() {
+        eventManager.destroy();
+    }
+
+    @Test
+    public void shouldDeliverDomainEventsInOrder() throws Exception {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(100);
+        EventListener<ClientEvent, Payload> listener = event -> {
+            received.add(event.content().getId());
+            latch.countDown();
+        };
+        eventManager.subscribeForEvents(listener, ClientEvent.class, "domain-1");
+
+        List<String> published = IntStream.range(0, 100).mapToObj(String::valueOf).collect(Collectors.toList());
+        published.forEach(id -> eventManager.publishEvent(ClientEvent.UPDATE, new Payload(id, "domain-1", Action.UPDATE)));
+
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(published, received);
+    }
+
+    @Test
+    public void shouldNotDeliverEventsOfOtherDomains() throws Exception {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        EventListener<ClientEvent, Payload> listener = event -> {
+            received.add(event.content().getId());
+            latch.countDown();
+        };
+        eventManager.subscribeForEvents(listener, ClientEvent.class, "domain-1");
+        eventManager.subscribeForEvents(event -> {}, ClientEvent.class, "domain-2");
+
+        eventManager.publishEvent(ClientEvent.UPDATE, new Payload("client-2", "domain-2", Action.UPDATE));
+        eventManager.publishEvent(ClientEvent.UPDATE, new Payload("client-1", "domain-1", Action.UPDATE));
+
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(Collections.singletonList("client-1"), received);
+    }
+
+    @Test
+    public void shouldNotBlockOtherDomains() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        eventManager.subscribeForEvents((EventListener<ClientEvent, Payload>) event -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, ClientEvent.class, "domain-1");
+        eventManager.subscribeForEvents((EventListener<ClientEvent, Payload>) event -> delivered.countDown(), ClientEvent.class, "domain-2");
+
+        try {
+            eventManager.publishEvent(ClientEvent.UPDATE, new Payload("client-1", "domain-1", Action.UPDATE));
+            Assert.assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+            // domain-1 listener is still running
+            eventManager.publishEvent(ClientEvent.UPDATE, new Payload("client-2", "domain-2", Action.UPDATE));
+            Assert.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void shouldNotDeliverAfterUnsubscribe() throws Exception {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch delivered = new CountDownLatch(1);
+        EventListener<ClientEvent, Payload> unsubscribed = event -> received.add(event.content().getId());
+        EventListener<ClientEvent, Payload> subscribed = event -> delivered.countDown();
+        eventManager.subscribeForEvents(unsubscribed, ClientEvent.class, "domain-1");
+        eventManager.subscribeForEvents(subscribed, ClientEvent.class, "domain-1");
+
+        eventManager.unsubscribeForEvents(unsubscribed, ClientEvent.class, "domain-1");
+        eventManager.publishEvent(ClientEvent.UPDATE, new Payload("client-1", "domain-1", Action.UPDATE));
+
+        // events of a domain are delivered to its listeners in turn, once the remaining listener is notified the event is done
+        Assert.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void shouldKeepDomainEventsSerialAfterResubscribe() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicBoolean overlap = new AtomicBoolean();
+        EventListener<ClientEvent, Payload> undeployed = event -> {
+            running.incrementAndGet();
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+        };
+        eventManager.subscribeForEvents(undeployed, ClientEvent.class, "domain-1");
+
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch delivered = new CountDownLatch(3);
+        EventListener<ClientEvent, Payload> redeployed = event -> {
+            if (running.get() > 0) {
+                overlap.set(true);
+            }
+            received.add(event.content().getId());
+            delivered.countDown();
+        };
+
+        try {
+            eventManager.publishEvent(ClientEvent.UPDATE, new Payload("client-1", "domain-1", Action.UPDATE));
+            eventManager.publishEvent(ClientEvent.UPDATE, new Payload("client-2", "domain-1", Action.UPDATE));
+            Assert.assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+            // undeploy and redeploy the domain while its queue is still draining
+            eventManager.unsubscribeForEvents(undeployed, ClientEvent.class, "domain-1");
+            eventManager.subscribeForEvents(redeployed, ClientEvent.class, "domain-1");
+            eventManager.publishEvent(ClientEvent.UPDATE, new Payload("client-3", "domain-1", Action.UPDATE));
+            eventManager.publishEvent(ClientEvent.UPDATE, new Payload("client-4", "domain-1", Action.UPDATE));
+
+            // new events wait for the pending ones, they are not delivered by another thread in the meantime
+            Thread.sleep(200);
+            Assert.assertTrue(received.isEmpty());
+        } finally {
+            release.countDown();
+        }
+
+        Assert.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        Assert.assertFalse(overlap.get());
+        // listeners are resolved at delivery time, the pending event goes to the redeployed listener before the new ones
+        Assert.assertEquals(Arrays.asList("client-2", "client-3", "client-4"), received);
+    }
+
+    @Test
+    public void shouldKeepDeliveringAfterListenerFailure() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        eventManager.subscribeForEvents((EventListener<ClientEvent, Payload>) event -> {
+            latch.countDown();
+            throw new IllegalStateException("listener failure");
+        }, ClientEvent.class, "domain-1");
+
+        eventManager.publishEvent(ClientEvent.UPDATE, new Payload("client-1", "domain-1", Action.UPDATE));
+        eventManager.publishEvent(ClientEvent.UPDATE, new Payload("client-2", "domain-1", Action.UPDATE));
+
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldDeliverEventsWithoutDomainSynchronously() {
+        List<Thread> threads = new ArrayList<>();
+        eventManager.subscribeForEvents((EventListener<ClientEvent, Object>) event -> threads.add(Thread.currentThread()), ClientEvent.class);
+
+        eventManager.publishEvent(ClientEvent.DEPLOY, "content");
+
+        Assert.assertEquals(Collections.singletonList(Thread.currentThread()), threads);
+    }
+}
@@ -41,10 +41,32 @@ public class LdapIdentityProviderConfiguration implements IdentityProviderConfig
 
     private String groupRoleAttribute = "cn";
 
+    private String groupMembershipAttribute;
+
+    private Long groupCacheTtl = 300000l;
+
     private Long connectTimeout = 5000l;
 
     private Long responseTimeout = 5000l;
 
+    private Integer minPoolSize = 5;
+
+    private Integer maxPoolSize = 15;
+
+    private boolean validateOnCheckOut = false;
+
+    private boolean validatePeriodically = true;
+
+    private Long validatePeriod = 600000l;
+
+    private Long idleTime = 600000l;
+
+    private Long prunePeriod = 300000l;
+
+    private Long blockWaitTime = 5000l;
+
+    private Integer maxPendingRequests = 100;
+
     public String getContextSourceUrl() {
         return contextSourceUrl;
     }
@@ -117,6 +139,22 @@ public class LdapIdentityProviderConfiguration implements IdentityProviderConfig
         this.groupRoleAttribute = groupRoleAttribute;
     }
 
+    public String getGroupMembershipAttribute() {
+        return groupMembershipAttribute;
+    }
+
+    public void setGroupMembershipAttribute(String groupMembershipAttribute) {
+        this.groupMembershipAttribute = groupMembershipAttribute;
+    }
+
+    public Long getGroupCacheTtl() {
+        return groupCacheTtl;
+    }
+
+    public void setGroupCacheTtl(Long groupCacheTtl) {
+        this.groupCacheTtl = groupCacheTtl;
+    }
+
     public Long getConnectTimeout() {
         return connectTimeout;
     }
@@ -132,4 +170,76 @@ public class LdapIdentityProviderConfiguration implements IdentityProviderConfig
     public void setResponseTimeout(Long responseTimeout) {
         this.responseTimeout = responseTimeout;
     }
+
+    public Integer getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    public void setMinPoolSize(Integer minPoolSize) {
+        this.minPoolSize = minPoolSize;
+    }
+
+    public Integer getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(Integer maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public boolean isValidateOnCheckOut() {
+        return validateOnCheckOut;
+    }
+
+    public void setValidateOnCheckOut(boolean validateOnCheckOut) {
+        this.validateOnCheckOut = validateOnCheckOut;
+    }
+
+    public boolean isValidatePeriodically() {
+        return validatePeriodically;
+    }
+
+    public void setValidatePeriodically(boolean validatePeriodically) {
+        this.validatePeriodically = validatePeriodically;
+    }
+
+    public Long getValidatePeriod() {
+        return validatePeriod;
+    }
+
+    public void setValidatePeriod(Long validatePeriod) {
+        this.validatePeriod = validatePeriod;
+    }
+
+    public Long getIdleTime() {
+        return idleTime;
+    }
+
+    public void setIdleTime(Long idleTime) {
+        this.idleTime = idleTime;
+    }
+
+    public Long getPrunePeriod() {
+        return prunePeriod;
+    }
+
+    public void setPrunePeriod(Long prunePeriod) {
+        this.prunePeriod = prunePeriod;
+    }
+
+    public Long getBlockWaitTime() {
+        return blockWaitTime;
+    }
+
+    public void setBlockWaitTime(Long blockWaitTime) {
+        this.blockWaitTime = blockWaitTime;
+    }
+
+    public Integer getMaxPendingRequests() {
+        return maxPendingRequests;
+    }
+
+    public void setMaxPendingRequests(Integer maxPendingRequests) {
+        this.maxPendingRequests = maxPendingRequests;
+    }
 }
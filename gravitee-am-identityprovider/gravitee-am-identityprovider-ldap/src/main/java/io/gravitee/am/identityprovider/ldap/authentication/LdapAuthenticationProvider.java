@@ -28,11 +28,12 @@ import io.gravitee.am.service.exception.authentication.BadCredentialsException;
 import io.gravitee.am.service.exception.authentication.InternalAuthenticationServiceException;
 import io.gravitee.am.service.exception.authentication.UsernameNotFoundException;
 import io.reactivex.Maybe;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
 import org.ldaptive.*;
 import org.ldaptive.auth.AuthenticationRequest;
 import org.ldaptive.auth.AuthenticationResponse;
 import org.ldaptive.auth.Authenticator;
-import org.ldaptive.auth.SearchDnResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
@@ -41,6 +42,8 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Import;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -80,6 +83,16 @@ public class LdapAuthenticationProvider implements AuthenticationProvider, Initi
     @Qualifier("userSearchExecutor")
     private SearchExecutor userSearchExecutor;
 
+    @Autowired
+    @Qualifier("ldapWorkerExecutor")
+    private ExecutorService ldapWorkerExecutor;
+
+    private String[] userReturnAttributes = ReturnAttributes.ALL_USER.value();
+
+    private List<RoleMappingRule> roleMappingRules = Collections.emptyList();
+
+    private LdapGroupCache groupCache;
+
     @Override
     public void afterPropertiesSet() {
         String searchFilter = configuration.getUserSearchFilter();
@@ -95,6 +108,15 @@ public class LdapAuthenticationProvider implements AuthenticationProvider, Initi
         }
 
         LOGGER.info("User identifier is based on the [{}] attribute", identifierAttribute);
+
+        // membership attributes are usually operational attributes, ask for them explicitly
+        if (isGroupMembershipAttributeEnabled()) {
+            userReturnAttributes = new String[]{ReturnAttributes.ALL_USER.value()[0], configuration.getGroupMembershipAttribute()};
+            groupCache = new LdapGroupCache(configuration.getGroupCacheTtl() == null ? 0 : configuration.getGroupCacheTtl());
+        }
+
+        // compile role mapping rules once instead of parsing them for each login
+        roleMappingRules = compileRoleMappingRules();
     }
 
     @Override
@@ -104,30 +126,15 @@ public class LdapAuthenticationProvider implements AuthenticationProvider, Initi
                 String username = (String) authentication.getPrincipal();
                 String password = (String) authentication.getCredentials();
                 // authenticate user
-                // unable *={0} authentication filter (ldaptive use *={user})
-                ((SearchDnResolver) authenticator.getDnResolver()).setUserFilterParameters(Collections.singleton(username).toArray());
+                // *={0} and *={user} authentication filters are resolved per request by the DN resolver
                 AuthenticationResponse response = authenticator.authenticate(
-                        new AuthenticationRequest(username, new Credential(password), ReturnAttributes.ALL_USER.value()));
+                        new AuthenticationRequest(username, new Credential(password), userReturnAttributes));
                 if (response.getResult()) { // authentication succeeded
                     LdapEntry userEntry = response.getLdapEntry();
                     // fetch user groups
-                    try {
-                        groupSearchExecutor.getSearchFilter().setParameter(0, userEntry.getDn());
-                        SearchResult searchResult = groupSearchExecutor.search(connectionFactory).getResult();
-                        Collection<LdapEntry> groupEntries = searchResult.getEntries();
-                        String[] groups = groupEntries.stream()
-                                .map(groupEntry -> groupEntry.getAttributes()
-                                        .stream()
-                                        .map(ldapAttribute -> ldapAttribute.getStringValue())
-                                        .collect(Collectors.toList()))
-                                .flatMap(List::stream)
-                                .toArray(size -> new String[size]);
-                        userEntry.addAttribute(new LdapAttribute(MEMBEROF_ATTRIBUTE, groups));
-                    } catch (Exception e) {
-                        LOGGER.warn("No group found for user {}", userEntry.getDn(), e);
-                    }
+                    Set<String> groups = fetchGroups(userEntry);
                     // return user
-                    emitter.onSuccess(createUser(userEntry));
+                    emitter.onSuccess(createUser(userEntry, groups));
                 } else { // authentication failed
                     LOGGER.debug("Failed to authenticate user", response.getMessage());
                     emitter.onError(new BadCredentialsException(response.getMessage()));
@@ -138,7 +145,7 @@ public class LdapAuthenticationProvider implements AuthenticationProvider, Initi
             }
         });
 
-        return userSource;
+        return runOnWorker(userSource);
     }
 
     @Override
@@ -146,28 +153,14 @@ public class LdapAuthenticationProvider implements AuthenticationProvider, Initi
         Maybe<User> userSource = Maybe.create(emitter -> {
             try {
                 // find user
-                userSearchExecutor.getSearchFilter().setParameter(0, username);
-                SearchResult userSearchResult = userSearchExecutor.search(connectionFactory).getResult();
+                SearchFilter userSearchFilter = new SearchFilter(userSearchExecutor.getSearchFilter().getFilter(), new Object[]{username});
+                SearchResult userSearchResult = userSearchExecutor.search(connectionFactory, userSearchFilter, userReturnAttributes).getResult();
                 LdapEntry userEntry = userSearchResult.getEntry();
                 if (userEntry != null) {
                     // fetch user groups
-                    try {
-                        groupSearchExecutor.getSearchFilter().setParameter(0, userEntry.getDn());
-                        SearchResult searchResult = groupSearchExecutor.search(connectionFactory).getResult();
-                        Collection<LdapEntry> groupEntries = searchResult.getEntries();
-                        String[] groups = groupEntries.stream()
-                                .map(groupEntry -> groupEntry.getAttributes()
-                                        .stream()
-                                        .map(ldapAttribute -> ldapAttribute.getStringValue())
-                                        .collect(Collectors.toList()))
-                                .flatMap(List::stream)
-                                .toArray(size -> new String[size]);
-                        userEntry.addAttribute(new LdapAttribute(MEMBEROF_ATTRIBUTE, groups));
-                    } catch (Exception e) {
-                        LOGGER.warn("No group found for user {}", userEntry.getDn(), e);
-                    }
+                    Set<String> groups = fetchGroups(userEntry);
                     // return user
-                    emitter.onSuccess(createUser(userEntry));
+                    emitter.onSuccess(createUser(userEntry, groups));
                 } else { // failed to find user
                     emitter.onError(new UsernameNotFoundException(username));
                 }
@@ -177,10 +170,127 @@ public class LdapAuthenticationProvider implements AuthenticationProvider, Initi
             }
         });
 
-        return userSource;
+        return runOnWorker(userSource);
+    }
+
+    private Set<String> fetchGroups(LdapEntry userEntry) {
+        Set<String> groups = new HashSet<>();
+        try {
+            if (isGroupMembershipAttributeEnabled()) {
+                // groups are part of the user entry, no need for an extra group search
+                LdapAttribute membershipAttribute = userEntry.getAttribute(configuration.getGroupMembershipAttribute());
+                Set<String> groupNames = new LinkedHashSet<>();
+                if (membershipAttribute != null) {
+                    for (String groupDn : membershipAttribute.getStringValues()) {
+                        groups.add(groupDn);
+                        groupNames.addAll(resolveGroupNames(groupDn));
+                    }
+                }
+                groups.addAll(groupNames);
+                userEntry.addAttribute(new LdapAttribute(MEMBEROF_ATTRIBUTE, groupNames.toArray(new String[groupNames.size()])));
+            } else {
+                SearchFilter groupSearchFilter = new SearchFilter(groupSearchExecutor.getSearchFilter().getFilter(), new Object[]{userEntry.getDn()});
+                SearchResult searchResult = groupSearchExecutor.search(connectionFactory, groupSearchFilter).getResult();
+                Collection<LdapEntry> groupEntries = searchResult.getEntries();
+                String[] groupNames = groupEntries.stream()
+                        .map(groupEntry -> groupEntry.getAttributes()
+                                .stream()
+                                .map(ldapAttribute -> ldapAttribute.getStringValue())
+                                .collect(Collectors.toList()))
+                        .flatMap(List::stream)
+                        .toArray(size -> new String[size]);
+                groups.addAll(Arrays.asList(groupNames));
+                userEntry.addAttribute(new LdapAttribute(MEMBEROF_ATTRIBUTE, groupNames));
+            }
+        } catch (Exception e) {
+            LOGGER.warn("No group found for user {}", userEntry.getDn(), e);
+        }
+        return groups;
+    }
+
+    private Collection<String> resolveGroupNames(String groupDn) throws LdapException {
+        Collection<String> groupNames = groupCache.get(groupDn);
+        if (groupNames != null) {
+            return groupNames;
+        }
+
+        String groupRoleAttribute = configuration.getGroupRoleAttribute();
+        try {
+            // most of the time the group role attribute is the RDN of the group (cn=developers,ou=groups,...)
+            List<LdapAttribute> dnAttributes = DnParser.convertDnToAttributes(groupDn);
+            if (!dnAttributes.isEmpty() && dnAttributes.get(0).getName().equalsIgnoreCase(groupRoleAttribute)) {
+                groupNames = dnAttributes.get(0).getStringValues();
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Unable to parse group DN {}", groupDn, e);
+        }
+
+        if (groupNames == null) {
+            // read the group entry
+            SearchExecutor searchExecutor = new SearchExecutor();
+            searchExecutor.setBaseDn(groupDn);
+            searchExecutor.setSearchScope(SearchScope.OBJECT);
+            searchExecutor.setReturnAttributes(groupRoleAttribute);
+            LdapEntry groupEntry = searchExecutor.search(connectionFactory, "(objectClass=*)").getResult().getEntry();
+            LdapAttribute groupRole = groupEntry == null ? null : groupEntry.getAttribute(groupRoleAttribute);
+            groupNames = groupRole == null ? Collections.emptyList() : groupRole.getStringValues();
+        }
+
+        groupNames = Collections.unmodifiableList(new ArrayList<>(groupNames));
+        groupCache.put(groupDn, groupNames);
+        return groupNames;
     }
 
-    private User createUser(LdapEntry ldapEntry) {
+    private boolean isGroupMembershipAttributeEnabled() {
+        return configuration.getGroupMembershipAttribute() != null && !configuration.getGroupMembershipAttribute().isEmpty();
+    }
+
+    private List<RoleMappingRule> compileRoleMappingRules() {
+        if (roleMapper == null || roleMapper.getRoles() == null) {
+            return Collections.emptyList();
+        }
+        List<RoleMappingRule> rules = new ArrayList<>();
+        roleMapper.getRoles().forEach((role, users) -> {
+            if (users != null) {
+                Arrays.stream(users).forEach(u -> {
+                    RoleMappingRule rule = RoleMappingRule.compile(role, u);
+                    if (rule != null) {
+                        rules.add(rule);
+                    } else {
+                        LOGGER.warn("Invalid role mapping rule {} for role {}", u, role);
+                    }
+                });
+            }
+        });
+        return rules;
+    }
+
+    private Maybe<User> runOnWorker(Maybe<User> userSource) {
+        // LDAP calls are blocking, do not run them on the caller (event loop) thread
+        // but hand the result back to the caller context, if any
+        return Maybe.create(emitter -> {
+            final Context context = Vertx.currentContext();
+            try {
+                ldapWorkerExecutor.execute(() -> userSource.subscribe(
+                        user -> emit(context, () -> emitter.onSuccess(user)),
+                        error -> emit(context, () -> emitter.onError(error)),
+                        () -> emit(context, emitter::onComplete)));
+            } catch (RejectedExecutionException e) {
+                LOGGER.warn("Too many pending LDAP requests, rejecting the request");
+                emitter.onError(new InternalAuthenticationServiceException("Too many pending LDAP requests", e));
+            }
+        });
+    }
+
+    private static void emit(Context context, Runnable emission) {
+        if (context == null) {
+            emission.run();
+        } else {
+            context.runOnContext(v -> emission.run());
+        }
+    }
+
+    private User createUser(LdapEntry ldapEntry, Set<String> groups) {
         DefaultUser user = new DefaultUser(ldapEntry.getAttribute(identifierAttribute).getStringValue());
 
         // add additional information
@@ -211,7 +321,7 @@ public class LdapAuthenticationProvider implements AuthenticationProvider, Initi
         user.setAdditonalInformation(claims);
 
         // set user roles
-        user.setRoles(getUserRoles(ldapEntry));
+        user.setRoles(getUserRoles(ldapEntry, groups));
 
         return user;
     }
@@ -223,30 +333,12 @@ public class LdapAuthenticationProvider implements AuthenticationProvider, Initi
         return claims;
     }
 
-    private List<String> getUserRoles(LdapEntry ldapEntry) {
-        Set<String> roles = new HashSet();
-        if (roleMapper != null && roleMapper.getRoles() != null) {
-            roleMapper.getRoles().forEach((role, users) -> {
-                Arrays.asList(users).forEach(u -> {
-                    // user/group have the following syntax userAttribute=userValue
-                    String[] attributes = u.split("=");
-                    String userAttribute = attributes[0];
-                    String userValue = attributes[1];
-
-                    // group
-                    if (MEMBEROF_ATTRIBUTE.equals(userAttribute) && ldapEntry.getAttribute(MEMBEROF_ATTRIBUTE) != null) {
-                        if (ldapEntry.getAttribute(MEMBEROF_ATTRIBUTE).getStringValues().contains(userValue)) {
-                            roles.add(role);
-                        }
-                    // user
-                    } else {
-                        if (ldapEntry.getAttribute(userAttribute) != null &&
-                                ldapEntry.getAttribute(userAttribute).getStringValue().equals(userValue)) {
-                            roles.add(role);
-                        }
-                    }
-                });
-            });
+    private List<String> getUserRoles(LdapEntry ldapEntry, Set<String> groups) {
+        Set<String> roles = new HashSet<>();
+        for (RoleMappingRule rule : roleMappingRules) {
+            if (!roles.contains(rule.getRole()) && rule.matches(ldapEntry, groups)) {
+                roles.add(rule.getRole());
+            }
         }
         return new ArrayList<>(roles);
     }
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.ldap.authentication;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Time based cache of the group DN to group names resolution.
+ *
+ * @author GraviteeSource Team
+ */
+public class LdapGroupCache {
+
+    private static final int PURGE_THRESHOLD = 10000;
+
+    private final ConcurrentMap<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final long ttl;
+
+    /**
+     * @param ttl time to live of the entries in milliseconds, the cache is disabled if the value is less or equal to 0
+     */
+    public LdapGroupCache(long ttl) {
+        this.ttl = ttl;
+    }
+
+    public Collection<String> get(String groupDn) {
+        if (ttl <= 0) {
+            return null;
+        }
+        CacheEntry entry = entries.get(groupDn);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(groupDn, entry);
+            return null;
+        }
+        return entry.groupNames;
+    }
+
+    public void put(String groupDn, Collection<String> groupNames) {
+        if (ttl <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (entries.size() >= PURGE_THRESHOLD) {
+            entries.values().removeIf(entry -> entry.isExpired(now));
+        }
+        entries.put(groupDn, new CacheEntry(groupNames, now + ttl));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static class CacheEntry {
+        private final Collection<String> groupNames;
+        private final long expireAt;
+
+        CacheEntry(Collection<String> groupNames, long expireAt) {
+            this.groupNames = groupNames;
+            this.expireAt = expireAt;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+}
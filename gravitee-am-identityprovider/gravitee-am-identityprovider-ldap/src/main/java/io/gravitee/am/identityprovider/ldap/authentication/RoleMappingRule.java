@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.ldap.authentication;
+
+import org.ldaptive.LdapAttribute;
+import org.ldaptive.LdapEntry;
+
+import java.util.Set;
+
+/**
+ * Role mapping rule compiled from the identity provider role mapper.
+ *
+ * A rule has the following syntax <code>attribute=value</code>, when the attribute is <code>memberOf</code>
+ * the value is compared with the user groups (group name or group DN), otherwise with the user entry attribute value.
+ * For a multi-valued user attribute, only its first value is compared.
+ *
+ * @author GraviteeSource Team
+ */
+public final class RoleMappingRule {
+
+    private static final String MEMBEROF_ATTRIBUTE = "memberOf";
+
+    private final String role;
+    private final String attribute;
+    private final String value;
+    private final boolean group;
+
+    private RoleMappingRule(String role, String attribute, String value) {
+        this.role = role;
+        this.attribute = attribute;
+        this.value = value;
+        this.group = MEMBEROF_ATTRIBUTE.equals(attribute);
+    }
+
+    /**
+     * @param role the role granted by this rule
+     * @param expression the rule expression, <code>attribute=value</code>
+     * @return the compiled rule or <code>null</code> if the expression is not valid
+     */
+    public static RoleMappingRule compile(String role, String expression) {
+        if (expression == null) {
+            return null;
+        }
+        // only split on the first '=' to support DN values (memberOf=cn=developers,ou=groups,dc=example,dc=org)
+        int separator = expression.indexOf('=');
+        if (separator <= 0 || separator == expression.length() - 1) {
+            return null;
+        }
+        return new RoleMappingRule(role, expression.substring(0, separator), expression.substring(separator + 1));
+    }
+
+    public boolean matches(LdapEntry ldapEntry, Set<String> groups) {
+        if (group) {
+            return groups.contains(value);
+        }
+        LdapAttribute ldapAttribute = ldapEntry.getAttribute(attribute);
+        return ldapAttribute != null && value.equals(ldapAttribute.getStringValue());
+    }
+
+    public String getRole() {
+        return role;
+    }
+}
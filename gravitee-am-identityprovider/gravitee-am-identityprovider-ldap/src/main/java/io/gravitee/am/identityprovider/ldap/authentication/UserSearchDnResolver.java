@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.ldap.authentication;
+
+import org.ldaptive.ConnectionFactory;
+import org.ldaptive.SearchFilter;
+import org.ldaptive.auth.SearchDnResolver;
+import org.ldaptive.auth.User;
+
+/**
+ * Search DN resolver which supports both the <code>{user}</code> and the <code>{0}</code> user filter placeholders.
+ *
+ * The search filter is built for each authentication request, the resolver does not hold any per-user state
+ * and can be shared by concurrent logins.
+ *
+ * @author GraviteeSource Team
+ */
+public class UserSearchDnResolver extends SearchDnResolver {
+
+    public UserSearchDnResolver(ConnectionFactory connectionFactory) {
+        super(connectionFactory);
+    }
+
+    @Override
+    protected SearchFilter createSearchFilter(User user) {
+        SearchFilter searchFilter = super.createSearchFilter(user);
+        if (user != null && user.getIdentifier() != null) {
+            searchFilter.setParameter(0, user.getIdentifier());
+        }
+        return searchFilter;
+    }
+}
@@ -16,17 +16,23 @@
 package io.gravitee.am.identityprovider.ldap.authentication.spring;
 
 import io.gravitee.am.identityprovider.ldap.LdapIdentityProviderConfiguration;
+import io.gravitee.am.identityprovider.ldap.authentication.UserSearchDnResolver;
 import org.ldaptive.*;
 import org.ldaptive.auth.Authenticator;
-import org.ldaptive.auth.BindAuthenticationHandler;
-import org.ldaptive.auth.SearchDnResolver;
+import org.ldaptive.auth.PooledBindAuthenticationHandler;
 import org.ldaptive.auth.ext.PasswordPolicyAuthenticationResponseHandler;
 import org.ldaptive.control.PasswordPolicyControl;
+import org.ldaptive.pool.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -43,7 +49,40 @@ public class LdapAuthenticationProviderConfiguration {
 
     @Bean
     public ConnectionFactory connectionFactory() {
-        return new DefaultConnectionFactory(connectionConfig());
+        return new PooledConnectionFactory(searchConnectionPool());
+    }
+
+    /**
+     * Connections used to search users and groups, bound with the configured principal.
+     */
+    @Bean(destroyMethod = "close")
+    public ConnectionPool searchConnectionPool() {
+        return createConnectionPool("search-pool");
+    }
+
+    /**
+     * Connections used to authenticate end users, kept apart from the search pool because binds change the connection identity.
+     */
+    @Bean(destroyMethod = "close")
+    public ConnectionPool bindConnectionPool() {
+        return createConnectionPool("bind-pool");
+    }
+
+    /**
+     * LDAP operations are blocking, they are run on this bounded pool to keep them off the event loop.
+     * There is no use for more workers than pooled connections.
+     * Pending requests are bounded, requests beyond the limit are rejected instead of piling up behind a slow LDAP server.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService ldapWorkerExecutor() {
+        final AtomicInteger counter = new AtomicInteger(0);
+        int poolSize = configuration.getMaxPoolSize();
+        int maxPendingRequests = configuration.getMaxPendingRequests() == null ? 100 : configuration.getMaxPendingRequests();
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(maxPendingRequests), r -> {
+            Thread thread = new Thread(r, "gio.am-ldap-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
     }
 
     @Bean
@@ -86,15 +125,37 @@ public class LdapAuthenticationProviderConfiguration {
 
     @Bean
     public Authenticator authenticator() {
-        SearchDnResolver dnResolver = new SearchDnResolver(connectionFactory());
+        UserSearchDnResolver dnResolver = new UserSearchDnResolver(connectionFactory());
         dnResolver.setBaseDn(configuration.getContextSourceBase());
         dnResolver.setUserFilter(configuration.getUserSearchFilter());
         dnResolver.setSubtreeSearch(true);
-        BindAuthenticationHandler authHandler = new BindAuthenticationHandler(connectionFactory());
+        PooledBindAuthenticationHandler authHandler = new PooledBindAuthenticationHandler(new PooledConnectionFactory(bindConnectionPool()));
         authHandler.setAuthenticationControls(new PasswordPolicyControl());
 
         Authenticator auth = new Authenticator(dnResolver, authHandler);
         auth.setAuthenticationResponseHandlers(new PasswordPolicyAuthenticationResponseHandler());
         return auth;
     }
+
+    private ConnectionPool createConnectionPool(String name) {
+        PoolConfig poolConfig = new PoolConfig();
+        poolConfig.setMinPoolSize(configuration.getMinPoolSize());
+        poolConfig.setMaxPoolSize(configuration.getMaxPoolSize());
+        poolConfig.setValidateOnCheckOut(configuration.isValidateOnCheckOut());
+        poolConfig.setValidatePeriodically(configuration.isValidatePeriodically());
+        poolConfig.setValidatePeriod(Duration.ofMillis(configuration.getValidatePeriod()));
+
+        BlockingConnectionPool connectionPool = new BlockingConnectionPool(poolConfig, new DefaultConnectionFactory(connectionConfig()));
+        connectionPool.setName(name);
+        if (configuration.getBlockWaitTime() != null && configuration.getBlockWaitTime() > 0) {
+            connectionPool.setBlockWaitTime(Duration.ofMillis(configuration.getBlockWaitTime()));
+        }
+        connectionPool.setValidator(new SearchValidator());
+        connectionPool.setPruneStrategy(new IdlePruneStrategy(
+                Duration.ofMillis(configuration.getPrunePeriod()), Duration.ofMillis(configuration.getIdleTime())));
+        // do not prevent the identity provider from being loaded if the LDAP server is not reachable yet
+        connectionPool.setFailFastInitialize(false);
+        connectionPool.initialize();
+        return connectionPool;
+    }
 }
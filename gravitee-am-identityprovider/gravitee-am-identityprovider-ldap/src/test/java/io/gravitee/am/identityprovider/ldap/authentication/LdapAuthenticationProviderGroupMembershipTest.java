@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.ldap.authentication;
+
+import io.gravitee.am.identityprovider.api.Authentication;
+import io.gravitee.am.identityprovider.api.AuthenticationProvider;
+import io.gravitee.am.identityprovider.api.User;
+import io.gravitee.am.identityprovider.ldap.LdapIdentityProviderConfiguration;
+import io.gravitee.am.identityprovider.ldap.LdapIdentityProviderMapper;
+import io.gravitee.am.identityprovider.ldap.LdapIdentityProviderRoleMapper;
+import io.gravitee.am.identityprovider.ldap.authentication.spring.LdapAuthenticationProviderConfiguration;
+import io.reactivex.observers.TestObserver;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.zapodot.junit.ldap.EmbeddedLdapRule;
+import org.zapodot.junit.ldap.EmbeddedLdapRuleBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read user groups from a membership attribute of the user entry instead of running a group search.
+ *
+ * @author GraviteeSource Team
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = { LdapAuthenticationProviderConfiguration.class,
+        LdapAuthenticationProviderGroupMembershipTest.LdapAuthenticationConfiguration.class })
+public class LdapAuthenticationProviderGroupMembershipTest {
+
+    @Autowired
+    private AuthenticationProvider authenticationProvider;
+
+    @Rule
+    public EmbeddedLdapRule embeddedLdapRule = EmbeddedLdapRuleBuilder
+            .newInstance()
+            .bindingToAddress("localhost")
+            .bindingToPort(61001)
+            .usingDomainDsn("dc=example,dc=org")
+            .importingLdifs("test-server.ldif")
+            .build();
+
+    @Test
+    public void shouldLoadUserByUsername_authentication_groupsFromUserEntry() throws Exception {
+        embeddedLdapRule.ldapConnection();
+        TestObserver<User> testObserver = authenticationProvider.loadUserByUsername(new Authentication() {
+            @Override
+            public Object getCredentials() {
+                return "bobspassword";
+            }
+
+            @Override
+            public Object getPrincipal() {
+                return "bob";
+            }
+
+            @Override
+            public Map<String, Object> getAdditionalInformation() {
+                return null;
+            }
+        }).test();
+
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(u -> "bob".equals(u.getUsername()));
+        testObserver.assertValue(u -> u.getRoles().size() == 3
+                && u.getRoles().contains("ROLE_USER")
+                && u.getRoles().contains("ROLE_DEVELOPER")
+                && u.getRoles().contains("ROLE_DEVELOPER_DN"));
+    }
+
+    @Configuration
+    static class LdapAuthenticationConfiguration {
+
+        @Bean
+        public LdapIdentityProviderConfiguration configuration() {
+            LdapIdentityProviderConfiguration configuration = new LdapIdentityProviderConfiguration();
+
+            configuration.setContextSourceUsername("uid=bob,ou=people,dc=example,dc=org");
+            configuration.setContextSourcePassword("bobspassword");
+            configuration.setContextSourceBase("dc=example,dc=org");
+            configuration.setContextSourceUrl("ldap://localhost:61001");
+
+            configuration.setUserSearchBase("ou=people");
+            configuration.setUserSearchFilter("uid={user}");
+
+            // group name is not the group RDN, the group entry has to be read
+            configuration.setGroupRoleAttribute("ou");
+            configuration.setGroupMembershipAttribute("seeAlso");
+
+            return configuration;
+        }
+
+        @Bean
+        public AuthenticationProvider authenticationProvider() {
+            return new LdapAuthenticationProvider();
+        }
+
+        @Bean
+        public LdapIdentityProviderMapper mapper() {
+            return new LdapIdentityProviderMapper();
+        }
+
+        @Bean
+        public LdapIdentityProviderRoleMapper roleMapper() {
+            Map<String, String[]> roles = new HashMap<>();
+            roles.put("ROLE_USER", new String[] { "uid=bob" });
+            roles.put("ROLE_DEVELOPER", new String[] { "memberOf=developer" });
+            roles.put("ROLE_DEVELOPER_DN", new String[] { "memberOf=cn=developers,ou=groups,dc=example,dc=org" });
+            roles.put("ROLE_MANAGER", new String[] { "memberOf=manager", "invalid" });
+
+            LdapIdentityProviderRoleMapper roleMapper = new LdapIdentityProviderRoleMapper();
+            roleMapper.setRoles(roles);
+            return roleMapper;
+        }
+    }
+}
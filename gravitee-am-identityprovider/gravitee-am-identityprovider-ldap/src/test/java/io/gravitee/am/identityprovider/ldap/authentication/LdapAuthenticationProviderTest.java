@@ -24,6 +24,9 @@ import io.gravitee.am.identityprovider.ldap.LdapIdentityProviderRoleMapper;
 import io.gravitee.am.identityprovider.ldap.authentication.spring.LdapAuthenticationProviderConfiguration;
 import io.gravitee.am.service.exception.authentication.BadCredentialsException;
 import io.reactivex.observers.TestObserver;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -35,7 +38,11 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.zapodot.junit.ldap.EmbeddedLdapRule;
 import org.zapodot.junit.ldap.EmbeddedLdapRuleBuilder;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -106,6 +113,7 @@ public class LdapAuthenticationProviderTest {
             }
         }).test();
 
+        testObserver.awaitTerminalEvent();
         testObserver.assertError(BadCredentialsException.class);
     }
 
@@ -129,10 +137,66 @@ public class LdapAuthenticationProviderTest {
             }
         }).test();
 
+        testObserver.awaitTerminalEvent();
         testObserver.assertError(BadCredentialsException.class);
     }
 
 
+    @Test
+    public void shouldLoadUserByUsername_authentication_concurrentLogins() throws Exception {
+        embeddedLdapRule.ldapConnection();
+        List<TestObserver<User>> bobObservers = new ArrayList<>();
+        List<TestObserver<User>> joeObservers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            bobObservers.add(authenticationProvider.loadUserByUsername(authentication("bob", "bobspassword")).test());
+            joeObservers.add(authenticationProvider.loadUserByUsername(authentication("joe", "joespassword")).test());
+        }
+
+        for (TestObserver<User> testObserver : bobObservers) {
+            testObserver.awaitTerminalEvent();
+            testObserver.assertValue(u -> "bob".equals(u.getUsername()));
+        }
+        for (TestObserver<User> testObserver : joeObservers) {
+            testObserver.awaitTerminalEvent();
+            testObserver.assertValue(u -> "joe".equals(u.getUsername()));
+        }
+    }
+
+    @Test
+    public void shouldLoadUserByUsername_emitOnCallerContext() throws Exception {
+        embeddedLdapRule.ldapConnection();
+        Vertx vertx = Vertx.vertx();
+        try {
+            Context context = vertx.getOrCreateContext();
+            CompletableFuture<Context> emissionContext = new CompletableFuture<>();
+            context.runOnContext(v -> authenticationProvider.loadUserByUsername(authentication("bob", "bobspassword"))
+                    .subscribe(user -> emissionContext.complete(Vertx.currentContext()), emissionContext::completeExceptionally));
+
+            Assert.assertSame(context, emissionContext.get(10, TimeUnit.SECONDS));
+        } finally {
+            vertx.close();
+        }
+    }
+
+    private Authentication authentication(String username, String password) {
+        return new Authentication() {
+            @Override
+            public Object getCredentials() {
+                return password;
+            }
+
+            @Override
+            public Object getPrincipal() {
+                return username;
+            }
+
+            @Override
+            public Map<String, Object> getAdditionalInformation() {
+                return null;
+            }
+        };
+    }
+
     @Configuration
     static class LdapAuthenticationConfiguration {
 
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.ldap.authentication;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.ldaptive.LdapAttribute;
+import org.ldaptive.LdapEntry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class RoleMappingRuleTest {
+
+    @Test
+    public void shouldNotCompile_invalidExpression() {
+        Assert.assertNull(RoleMappingRule.compile("admin", null));
+        Assert.assertNull(RoleMappingRule.compile("admin", "uid"));
+        Assert.assertNull(RoleMappingRule.compile("admin", "=bob"));
+        Assert.assertNull(RoleMappingRule.compile("admin", "uid="));
+    }
+
+    @Test
+    public void shouldMatchUserAttribute() {
+        LdapEntry ldapEntry = new LdapEntry("uid=bob,ou=people,dc=example,dc=org", new LdapAttribute("uid", "bob"));
+
+        Assert.assertTrue(RoleMappingRule.compile("admin", "uid=bob").matches(ldapEntry, Collections.emptySet()));
+        Assert.assertFalse(RoleMappingRule.compile("admin", "uid=joe").matches(ldapEntry, Collections.emptySet()));
+        Assert.assertFalse(RoleMappingRule.compile("admin", "cn=bob").matches(ldapEntry, Collections.emptySet()));
+    }
+
+    @Test
+    public void shouldMatchFirstValueOfMultiValuedAttribute() {
+        LdapEntry ldapEntry = new LdapEntry("uid=bob,ou=people,dc=example,dc=org", new LdapAttribute("ou", "developers", "admins"));
+
+        Assert.assertTrue(RoleMappingRule.compile("developer", "ou=developers").matches(ldapEntry, Collections.emptySet()));
+        // only the first value of a multi-valued attribute is compared
+        Assert.assertFalse(RoleMappingRule.compile("admin", "ou=admins").matches(ldapEntry, Collections.emptySet()));
+    }
+
+    @Test
+    public void shouldMatchGroup() {
+        LdapEntry ldapEntry = new LdapEntry("uid=bob,ou=people,dc=example,dc=org");
+        HashSet<String> groups = new HashSet<>(Arrays.asList("developers", "cn=admins,ou=groups,dc=example,dc=org"));
+
+        Assert.assertTrue(RoleMappingRule.compile("developer", "memberOf=developers").matches(ldapEntry, groups));
+        Assert.assertTrue(RoleMappingRule.compile("admin", "memberOf=cn=admins,ou=groups,dc=example,dc=org").matches(ldapEntry, groups));
+        Assert.assertFalse(RoleMappingRule.compile("admin", "memberOf=admins").matches(ldapEntry, groups));
+    }
+}
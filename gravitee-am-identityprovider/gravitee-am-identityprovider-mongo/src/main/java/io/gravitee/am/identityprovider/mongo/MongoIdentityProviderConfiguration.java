@@ -33,6 +33,7 @@ public class MongoIdentityProviderConfiguration implements IdentityProviderConfi
     private String usersCollection;
     private String findUserByUsernameQuery;
     private String passwordField;
+    private Long userCacheTtl = 10000l;
 
     public String getUri() {
         return this.uri;
@@ -121,4 +122,12 @@ public class MongoIdentityProviderConfiguration implements IdentityProviderConfi
     public void setPasswordField(String passwordField) {
         this.passwordField = passwordField;
     }
+
+    public Long getUserCacheTtl() {
+        return userCacheTtl;
+    }
+
+    public void setUserCacheTtl(Long userCacheTtl) {
+        this.userCacheTtl = userCacheTtl;
+    }
 }
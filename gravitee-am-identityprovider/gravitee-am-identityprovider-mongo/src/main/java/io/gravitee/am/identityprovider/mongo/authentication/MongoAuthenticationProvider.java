@@ -30,23 +30,25 @@ import io.gravitee.am.service.exception.authentication.BadCredentialsException;
 import io.gravitee.am.service.exception.authentication.UsernameNotFoundException;
 import io.reactivex.Maybe;
 import io.reactivex.Observable;
-import org.bson.BsonDocument;
 import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.mongodb.client.model.Indexes.ascending;
+
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
 @Import({MongoAuthenticationProviderConfiguration.class})
-public class MongoAuthenticationProvider implements AuthenticationProvider {
+public class MongoAuthenticationProvider implements AuthenticationProvider, InitializingBean {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MongoAuthenticationProvider.class);
 
@@ -62,6 +64,26 @@ public class MongoAuthenticationProvider implements AuthenticationProvider {
     @Autowired
     private MongoClient mongoClient;
 
+    private MongoCollection<Document> usersCollection;
+
+    private UsernameQuery findUserByUsernameQuery;
+
+    private MongoUserCache userCache;
+
+    @Override
+    public void afterPropertiesSet() {
+        usersCollection = mongoClient.getDatabase(configuration.getDatabase()).getCollection(configuration.getUsersCollection());
+        findUserByUsernameQuery = new UsernameQuery(configuration.getFindUserByUsernameQuery());
+        userCache = new MongoUserCache(configuration.getUserCacheTtl() == null ? 0 : configuration.getUserCacheTtl());
+
+        // the users collection is owned by the customer, a missing index must not prevent the provider to start
+        findUserByUsernameQuery.getUsernameFields().forEach(field ->
+                Observable.fromPublisher(usersCollection.createIndex(ascending(field)))
+                        .subscribe(
+                                index -> LOGGER.debug("Index {} ensured on collection {}", index, configuration.getUsersCollection()),
+                                error -> LOGGER.warn("Unable to create an index on {}.{}", configuration.getUsersCollection(), field, error)));
+    }
+
     public Maybe<User> loadUserByUsername(Authentication authentication) {
         String username = (String)authentication.getPrincipal();
         return findUserByUsername(username)
@@ -78,16 +100,22 @@ public class MongoAuthenticationProvider implements AuthenticationProvider {
     }
 
     public Maybe<User> loadUserByUsername(String username) {
-        return findUserByUsername(username)
-                .map(document -> createUser(username, document));
+        MongoUserCache.CacheEntry cacheEntry = userCache.get(username);
+        if (cacheEntry != null) {
+            return cacheEntry.getUser() == null ? Maybe.empty() : Maybe.just(createUser(username, cacheEntry.getUser()));
+        }
+
+        Maybe<Document> user = findUserByUsername(username);
+        if (userCache.isEnabled()) {
+            user = user
+                    .doOnSuccess(document -> userCache.put(username, document))
+                    .doOnComplete(() -> userCache.put(username, null));
+        }
+        return user.map(document -> createUser(username, document));
     }
 
     private Maybe<Document> findUserByUsername(String username) {
-        MongoCollection<Document> usersCol = this.mongoClient.getDatabase(this.configuration.getDatabase()).getCollection(this.configuration.getUsersCollection());
-        String rawQuery = this.configuration.getFindUserByUsernameQuery().replaceAll("\\?", username);
-        String jsonQuery = convertToJsonString(rawQuery);
-        BsonDocument query = BsonDocument.parse(jsonQuery);
-        return Observable.fromPublisher(usersCol.find(query).first()).firstElement();
+        return Observable.fromPublisher(usersCollection.find(findUserByUsernameQuery.filter(username)).first()).firstElement();
     }
 
     private User createUser(String username, Document document) {
@@ -102,9 +130,4 @@ public class MongoAuthenticationProvider implements AuthenticationProvider {
         user.setAdditonalInformation(claims);
         return user;
     }
-
-    private String convertToJsonString(String rawString) {
-        rawString = rawString.replaceAll("[^\\{\\}\\[\\],:]+", "\"$0\"").replaceAll("\\s+","");
-        return rawString;
-    }
 }
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.mongo.authentication;
+
+import org.bson.Document;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Time based cache of the user documents found by username. Unknown usernames are cached as well.
+ *
+ * @author GraviteeSource Team
+ */
+public class MongoUserCache {
+
+    private static final int PURGE_THRESHOLD = 10000;
+
+    private final ConcurrentMap<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final long ttl;
+
+    /**
+     * @param ttl time to live of the entries in milliseconds, the cache is disabled if the value is less or equal to 0
+     */
+    public MongoUserCache(long ttl) {
+        this.ttl = ttl;
+    }
+
+    public boolean isEnabled() {
+        return ttl > 0;
+    }
+
+    /**
+     * @return the cache entry of the username, {@code null} if the username is not in the cache
+     */
+    public CacheEntry get(String username) {
+        if (ttl <= 0) {
+            return null;
+        }
+        CacheEntry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(username, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * @param user the user document, {@code null} if no user has been found for the username
+     */
+    public void put(String username, Document user) {
+        if (ttl <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (entries.size() >= PURGE_THRESHOLD) {
+            entries.values().removeIf(entry -> entry.isExpired(now));
+        }
+        entries.put(username, new CacheEntry(user, now + ttl));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static class CacheEntry {
+        private final Document user;
+        private final long expireAt;
+
+        CacheEntry(Document user, long expireAt) {
+            this.user = user;
+            this.expireAt = expireAt;
+        }
+
+        public Document getUser() {
+            return user;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.mongo.authentication;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.json.JsonParseException;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The find user by username query, parsed once from the configured template (e.g. {@code {username: ?}}).
+ * The {@code ?} placeholders are substituted by the username without re-parsing the query.
+ *
+ * @author GraviteeSource Team
+ */
+public class UsernameQuery {
+
+    private static final String PLACEHOLDER = "?";
+
+    private final BsonDocument template;
+    private final Set<String> usernameFields;
+
+    public UsernameQuery(String rawQuery) {
+        this.template = parse(rawQuery);
+        Set<String> fields = new LinkedHashSet<>();
+        collectUsernameFields(template, null, fields);
+        this.usernameFields = Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * @return the query filter for the given username
+     */
+    public BsonDocument filter(String username) {
+        return (BsonDocument) bind(template, username);
+    }
+
+    /**
+     * @return the fields matched against the username, candidates for an index
+     */
+    public Set<String> getUsernameFields() {
+        return usernameFields;
+    }
+
+    private static BsonValue bind(BsonValue value, String username) {
+        if (value.isString()) {
+            // only the placeholder itself, a literal containing a '?' is left as is
+            return PLACEHOLDER.equals(value.asString().getValue()) ? new BsonString(username) : value;
+        }
+        if (value.isDocument()) {
+            BsonDocument document = new BsonDocument();
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                document.append(entry.getKey(), bind(entry.getValue(), username));
+            }
+            return document;
+        }
+        if (value.isArray()) {
+            BsonArray array = new BsonArray();
+            for (BsonValue element : value.asArray()) {
+                array.add(bind(element, username));
+            }
+            return array;
+        }
+        return value;
+    }
+
+    private static void collectUsernameFields(BsonValue value, String field, Set<String> fields) {
+        if (value.isString()) {
+            if (field != null && PLACEHOLDER.equals(value.asString().getValue())) {
+                fields.add(field);
+            }
+        } else if (value.isDocument()) {
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                // operators ($or, $eq, ...) apply to the enclosing field
+                String key = entry.getKey();
+                collectUsernameFields(entry.getValue(), key.startsWith("$") ? field : key, fields);
+            }
+        } else if (value.isArray()) {
+            for (BsonValue element : value.asArray()) {
+                collectUsernameFields(element, field, fields);
+            }
+        }
+    }
+
+    private static BsonDocument parse(String rawQuery) {
+        try {
+            // relaxed JSON, e.g. {$or: [{username: ?}, {email: ?}]}
+            return BsonDocument.parse(quotePlaceholders(rawQuery));
+        } catch (JsonParseException ex) {
+            return BsonDocument.parse(convertToJsonString(rawQuery));
+        }
+    }
+
+    /**
+     * Quote the {@code ?} placeholders, the {@code ?} inside quoted strings are literals.
+     */
+    private static String quotePlaceholders(String rawQuery) {
+        StringBuilder query = new StringBuilder(rawQuery.length());
+        boolean quoted = false;
+        for (int i = 0; i < rawQuery.length(); i++) {
+            char c = rawQuery.charAt(i);
+            if (c == '"' && (i == 0 || rawQuery.charAt(i - 1) != '\\')) {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                query.append('"').append(PLACEHOLDER).append('"');
+            } else {
+                query.append(c);
+            }
+        }
+        return query.toString();
+    }
+
+    private static String convertToJsonString(String rawString) {
+        return rawString.replaceAll("[^\\{\\}\\[\\],:]+", "\"$0\"").replaceAll("\\s+","");
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.identityprovider.mongo.authentication;
+
+import org.bson.BsonDocument;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class UsernameQueryTest {
+
+    @Test
+    public void shouldBindUsername() {
+        UsernameQuery query = new UsernameQuery("{username: ?}");
+
+        Assert.assertEquals(BsonDocument.parse("{\"username\": \"bob\"}"), query.filter("bob"));
+        Assert.assertEquals(BsonDocument.parse("{\"username\": \"alice\"}"), query.filter("alice"));
+        Assert.assertEquals(Collections.singleton("username"), query.getUsernameFields());
+    }
+
+    @Test
+    public void shouldBindUsername_specialCharacters() {
+        UsernameQuery query = new UsernameQuery("{username: ?}");
+
+        Assert.assertEquals("$bob{}, \"x\"", query.filter("$bob{}, \"x\"").getString("username").getValue());
+    }
+
+    @Test
+    public void shouldBindUsername_operators() {
+        UsernameQuery query = new UsernameQuery("{$or: [{username: ?}, {email: {$eq: ?}}]}");
+
+        Assert.assertEquals(BsonDocument.parse("{\"$or\": [{\"username\": \"bob\"}, {\"email\": {\"$eq\": \"bob\"}}]}"), query.filter("bob"));
+        Assert.assertEquals(new HashSet<>(Arrays.asList("username", "email")), query.getUsernameFields());
+    }
+
+    @Test
+    public void shouldBindUsername_literalQuestionMark() {
+        UsernameQuery query = new UsernameQuery("{username: ?, type: \"user?\", \"note\": \"who?\"}");
+
+        Assert.assertEquals(BsonDocument.parse("{\"username\": \"bob\", \"type\": \"user?\", \"note\": \"who?\"}"), query.filter("bob"));
+        Assert.assertEquals(Collections.singleton("username"), query.getUsernameFields());
+    }
+}
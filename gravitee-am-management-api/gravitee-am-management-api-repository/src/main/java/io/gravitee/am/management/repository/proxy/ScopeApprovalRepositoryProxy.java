@@ -22,6 +22,7 @@ import io.reactivex.Maybe;
 import io.reactivex.Single;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -55,6 +56,10 @@ public class ScopeApprovalRepositoryProxy extends AbstractProxy<ScopeApprovalRep
         return target.upsert(scopeApproval);
     }
 
+    public Completable upsertAll(Collection<ScopeApproval> scopeApprovals) {
+        return target.upsertAll(scopeApprovals);
+    }
+
     public Completable delete(String domain, String scope) {
         return target.delete(domain, scope);
     }
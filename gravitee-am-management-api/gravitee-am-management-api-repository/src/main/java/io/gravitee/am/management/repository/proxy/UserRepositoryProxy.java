@@ -23,6 +23,7 @@ import io.reactivex.Maybe;
 import io.reactivex.Single;
 import org.springframework.stereotype.Component;
 
+import java.util.Date;
 import java.util.Set;
 
 /**
@@ -47,6 +48,16 @@ public class UserRepositoryProxy extends AbstractProxy<UserRepository> implement
         return target.findByUsernameAndDomain(username, domain);
     }
 
+    @Override
+    public Completable updateLogins(String id, long logins, Date loggedAt) {
+        return target.updateLogins(id, logins, loggedAt);
+    }
+
+    @Override
+    public Single<User> updateProfile(User user) {
+        return target.updateProfile(user);
+    }
+
     @Override
     public Maybe<User> findById(String id) {
         return target.findById(id);
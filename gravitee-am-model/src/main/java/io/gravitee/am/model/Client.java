@@ -81,6 +81,8 @@ public class Client {
 
     private boolean enhanceScopesWithUserPermissions;
 
+    private boolean statelessTokens;
+
     public String getId() {
         return id;
     }
@@ -233,6 +235,14 @@ public class Client {
         this.enhanceScopesWithUserPermissions = enhanceScopesWithUserPermissions;
     }
 
+    public boolean isStatelessTokens() {
+        return statelessTokens;
+    }
+
+    public void setStatelessTokens(boolean statelessTokens) {
+        this.statelessTokens = statelessTokens;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
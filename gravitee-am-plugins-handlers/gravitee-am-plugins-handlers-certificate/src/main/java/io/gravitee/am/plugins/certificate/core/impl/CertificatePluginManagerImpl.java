@@ -129,7 +129,7 @@ public class CertificatePluginManagerImpl implements CertificatePluginManager {
             Set<Class<?>> configurations = (annImport != null) ?
                     new HashSet<>(Arrays.asList(annImport.value())) : Collections.emptySet();
 
-            ApplicationContext idpApplicationContext = pluginContextFactory.create(new AnnotationBasedPluginContextConfigurer(plugin) {
+            AnnotationBasedPluginContextConfigurer pluginContextConfigurer = new AnnotationBasedPluginContextConfigurer(plugin) {
                 @Override
                 public Set<Class<?>> configurations() {
                     return configurations;
@@ -149,7 +149,13 @@ public class CertificatePluginManagerImpl implements CertificatePluginManager {
 
                     return configurableApplicationContext;
                 }
-            });
+            };
+
+            // domains may be deployed concurrently
+            ApplicationContext idpApplicationContext;
+            synchronized (pluginContextFactory) {
+                idpApplicationContext = pluginContextFactory.create(pluginContextConfigurer);
+            }
 
             idpApplicationContext.getAutowireCapableBeanFactory().autowireBean(certificateObj);
 
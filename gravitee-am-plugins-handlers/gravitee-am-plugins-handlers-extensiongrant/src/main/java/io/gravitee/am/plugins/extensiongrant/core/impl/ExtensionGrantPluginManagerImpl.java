@@ -127,7 +127,7 @@ public class ExtensionGrantPluginManagerImpl implements ExtensionGrantPluginMana
             Set<Class<?>> configurations = (annImport != null) ?
                     new HashSet<>(Arrays.asList(annImport.value())) : Collections.emptySet();
 
-            ApplicationContext extensionGrantApplicationContext = pluginContextFactory.create(new AnnotationBasedPluginContextConfigurer(plugin) {
+            AnnotationBasedPluginContextConfigurer pluginContextConfigurer = new AnnotationBasedPluginContextConfigurer(plugin) {
                 @Override
                 public Set<Class<?>> configurations() {
                     return configurations;
@@ -147,7 +147,13 @@ public class ExtensionGrantPluginManagerImpl implements ExtensionGrantPluginMana
 
                     return configurableApplicationContext;
                 }
-            });
+            };
+
+            // domains may be deployed concurrently
+            ApplicationContext extensionGrantApplicationContext;
+            synchronized (pluginContextFactory) {
+                extensionGrantApplicationContext = pluginContextFactory.create(pluginContextConfigurer);
+            }
 
             extensionGrantApplicationContext.getAutowireCapableBeanFactory().autowireBean(extensionGrantObj);
 
@@ -38,5 +38,19 @@ public interface IdentityProviderPluginManager {
 
     AuthenticationProvider create(String type, String configuration, Map<String, String> mappers, Map<String, String[]> roleMapper);
 
+    /**
+     * Get an authentication provider shared by every identity provider having the same type, configuration and mappers.
+     * The provider is created on first acquisition and must be released once it is no longer used.
+     *
+     * @return the shared authentication provider or <code>null</code> if it can't be created
+     */
+    AuthenticationProvider acquire(String type, String configuration, Map<String, String> mappers, Map<String, String[]> roleMapper);
+
+    /**
+     * Release an authentication provider obtained from {@link #acquire(String, String, Map, Map)}.
+     * The provider is destroyed when it is released by all its users.
+     */
+    void release(AuthenticationProvider authenticationProvider);
+
     String getSchema(String identityProviderId) throws IOException;
 }
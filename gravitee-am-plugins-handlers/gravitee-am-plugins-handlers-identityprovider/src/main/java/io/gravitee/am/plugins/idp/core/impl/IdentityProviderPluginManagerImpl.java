@@ -33,9 +33,14 @@ import org.springframework.context.annotation.Import;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 /**
@@ -51,6 +56,8 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
     private final Map<String, IdentityProvider> identityProviders = new HashMap<>();
     private final Map<IdentityProvider, Plugin> identityProviderPlugins = new HashMap<>();
     private final Map<IdentityProvider, Plugin> oauth2IdentityProviderPlugins = new HashMap<>();
+    private final ConcurrentMap<String, SharedAuthenticationProvider> sharedProviders = new ConcurrentHashMap<>();
+    private final Map<AuthenticationProvider, String> sharedProviderKeys = Collections.synchronizedMap(new IdentityHashMap<>());
 
     @Autowired
     private PluginContextFactory pluginContextFactory;
@@ -107,6 +114,57 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
 
     @Override
     public AuthenticationProvider create(String type, String configuration, Map<String, String> mappers, Map<String, String[]> roleMapper) {
+        PluginInstance<? extends AuthenticationProvider> pluginInstance = create0(type, configuration, mappers, roleMapper);
+        return pluginInstance != null ? pluginInstance.instance : null;
+    }
+
+    @Override
+    public AuthenticationProvider acquire(String type, String configuration, Map<String, String> mappers, Map<String, String[]> roleMapper) {
+        String key = key(type, configuration, mappers, roleMapper);
+        SharedAuthenticationProvider sharedProvider = sharedProviders.compute(key, (k, existingProvider) -> {
+            if (existingProvider != null) {
+                existingProvider.references++;
+                return existingProvider;
+            }
+
+            PluginInstance<? extends AuthenticationProvider> pluginInstance = create0(type, configuration, mappers, roleMapper);
+            if (pluginInstance == null || pluginInstance.instance == null) {
+                return null;
+            }
+            logger.debug("Authentication provider [{}] created for configuration {}", type, k);
+            sharedProviderKeys.put(pluginInstance.instance, k);
+            return new SharedAuthenticationProvider(pluginInstance);
+        });
+
+        return sharedProvider != null ? sharedProvider.pluginInstance.instance : null;
+    }
+
+    @Override
+    public void release(AuthenticationProvider authenticationProvider) {
+        String key = sharedProviderKeys.get(authenticationProvider);
+        if (key == null) {
+            return;
+        }
+
+        sharedProviders.computeIfPresent(key, (k, sharedProvider) -> {
+            if (--sharedProvider.references > 0) {
+                return sharedProvider;
+            }
+
+            logger.debug("Authentication provider for configuration {} is no longer used, destroy it", k);
+            sharedProviderKeys.remove(authenticationProvider);
+            if (sharedProvider.pluginInstance.context instanceof ConfigurableApplicationContext) {
+                try {
+                    ((ConfigurableApplicationContext) sharedProvider.pluginInstance.context).close();
+                } catch (Exception ex) {
+                    logger.error("An error occurs while destroying authentication provider", ex);
+                }
+            }
+            return null;
+        });
+    }
+
+    private PluginInstance<? extends AuthenticationProvider> create0(String type, String configuration, Map<String, String> mappers, Map<String, String[]> roleMapper) {
         logger.debug("Looking for an authentication provider for [{}]", type);
         IdentityProvider identityProvider = identityProviders.get(type);
 
@@ -149,7 +207,7 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
         return null;
     }
 
-    private <T> T create0(Plugin plugin, Class<T> identityClass, IdentityProviderConfiguration identityProviderConfiguration,
+    private <T> PluginInstance<T> create0(Plugin plugin, Class<T> identityClass, IdentityProviderConfiguration identityProviderConfiguration,
                           IdentityProviderMapper identityProviderMapper, IdentityProviderRoleMapper identityProviderRoleMapper) {
         if (identityClass == null) {
             return null;
@@ -161,7 +219,7 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
             Set<Class<?>> configurations = (annImport != null) ?
                     new HashSet<>(Arrays.asList(annImport.value())) : Collections.emptySet();
 
-            ApplicationContext idpApplicationContext = pluginContextFactory.create(new AnnotationBasedPluginContextConfigurer(plugin) {
+            AnnotationBasedPluginContextConfigurer pluginContextConfigurer = new AnnotationBasedPluginContextConfigurer(plugin) {
                 @Override
                 public Set<Class<?>> configurations() {
                     return configurations;
@@ -193,7 +251,14 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
 
                     return configurableApplicationContext;
                 }
-            });
+            };
+
+            // plugin contexts are created concurrently when domains are deployed in parallel,
+            // the plugin context factory is not thread-safe
+            ApplicationContext idpApplicationContext;
+            synchronized (pluginContextFactory) {
+                idpApplicationContext = pluginContextFactory.create(pluginContextConfigurer);
+            }
 
             idpApplicationContext.getAutowireCapableBeanFactory().autowireBean(identityObj);
 
@@ -201,7 +266,7 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
                 ((InitializingBean) identityObj).afterPropertiesSet();
             }
 
-            return identityObj;
+            return new PluginInstance<>(identityObj, idpApplicationContext);
         } catch (Exception ex) {
             logger.error("An unexpected error occurs while loading identity provider", ex);
             return null;
@@ -216,4 +281,51 @@ public class IdentityProviderPluginManagerImpl implements IdentityProviderPlugin
             throw ex;
         }
     }
+
+    /**
+     * Identity providers with the same type, configuration and mappers share the same key.
+     */
+    private static String key(String type, String configuration, Map<String, String> mappers, Map<String, String[]> roleMapper) {
+        StringBuilder builder = new StringBuilder(type).append('\n').append(configuration).append('\n');
+        if (mappers != null) {
+            new TreeMap<>(mappers).forEach((key, value) -> builder.append(key).append('=').append(value).append(';'));
+        }
+        builder.append('\n');
+        if (roleMapper != null) {
+            new TreeMap<>(roleMapper).forEach((key, value) -> builder.append(key).append('=').append(Arrays.toString(value)).append(';'));
+        }
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hexHash = new StringBuilder(type).append(':');
+            for (byte b : hash) {
+                hexHash.append(String.format("%02x", b));
+            }
+            return hexHash.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is available on every Java platform
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static class PluginInstance<T> {
+
+        private final T instance;
+        private final ApplicationContext context;
+
+        PluginInstance(T instance, ApplicationContext context) {
+            this.instance = instance;
+            this.context = context;
+        }
+    }
+
+    private static class SharedAuthenticationProvider {
+
+        private final PluginInstance<? extends AuthenticationProvider> pluginInstance;
+        private int references = 1;
+
+        SharedAuthenticationProvider(PluginInstance<? extends AuthenticationProvider> pluginInstance) {
+            this.pluginInstance = pluginInstance;
+        }
+    }
 }
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.management.api;
+
+import io.gravitee.am.model.common.event.SequencedEvent;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+
+import java.util.List;
+
+/**
+ * Append-only log of the configuration events sent to the gateways.
+ *
+ * @author GraviteeSource Team
+ */
+public interface EventRepository {
+
+    /**
+     * Append an event to the log. Sequence numbers are contiguous: an append which fails does not consume one.
+     *
+     * @param event the event to append
+     * @return the event with its identifier, sequence number and creation date
+     */
+    Single<SequencedEvent> create(SequencedEvent event);
+
+    /**
+     * @param sequence last sequence number already consumed
+     * @param limit maximum number of events to return
+     * @return events with a sequence number greater than the given one, ordered by sequence number
+     */
+    Single<List<SequencedEvent>> findAfter(long sequence, int limit);
+
+    /**
+     * @return the sequence number of the last appended event (even if it has expired), 0 if no event has ever been appended
+     */
+    Single<Long> findLastSequence();
+
+    /**
+     * Stream appended events as they happen.
+     *
+     * @return the sequence number of each appended event. The flow fails if the underlying storage
+     * is not able to notify changes, callers are expected to fall back to {@link #findAfter(long, int)} polling.
+     */
+    Flowable<Long> watch();
+}
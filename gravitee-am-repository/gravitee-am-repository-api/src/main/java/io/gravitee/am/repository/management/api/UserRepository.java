@@ -19,9 +19,11 @@ import io.gravitee.am.model.User;
 import io.gravitee.am.model.common.Page;
 import io.gravitee.am.repository.common.CrudRepository;
 import io.gravitee.am.repository.exceptions.TechnicalException;
+import io.reactivex.Completable;
 import io.reactivex.Maybe;
 import io.reactivex.Single;
 
+import java.util.Date;
 import java.util.Set;
 
 /**
@@ -36,4 +38,15 @@ public interface UserRepository extends CrudRepository<User, String> {
 
     Maybe<User> findByUsernameAndDomain(String domain, String username);
 
+    /**
+     * Add logins to the user logins count and move its last login date forward, without rewriting the whole user.
+     */
+    Completable updateLogins(String id, long logins, Date loggedAt);
+
+    /**
+     * Update the profile provided by the identity provider (roles, source, client and additional information) and
+     * the update date, every other stored field of the user is left untouched.
+     */
+    Single<User> updateProfile(User user);
+
 }
@@ -20,6 +20,7 @@ import io.gravitee.am.repository.common.CrudRepository;
 import io.reactivex.Completable;
 import io.reactivex.Single;
 
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -32,5 +33,10 @@ public interface ScopeApprovalRepository extends CrudRepository<ScopeApproval, S
 
     Single<ScopeApproval> upsert(ScopeApproval scopeApproval);
 
+    /**
+     * Create or update the approvals in a single round-trip, an approval is identified by its domain, client, user and scope.
+     */
+    Completable upsertAll(Collection<ScopeApproval> scopeApprovals);
+
     Completable delete(String domain, String scope);
 }
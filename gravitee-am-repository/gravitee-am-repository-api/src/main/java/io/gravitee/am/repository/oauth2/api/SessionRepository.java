@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.oauth2.api;
+
+import io.gravitee.am.repository.oauth2.model.Session;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+
+/**
+ * Shared storage of the gateway HTTP sessions.
+ *
+ * @author GraviteeSource Team
+ */
+public interface SessionRepository {
+
+    /**
+     * Find a session which has not expired yet.
+     *
+     * @param id The session id.
+     * @return
+     */
+    Maybe<Session> findById(String id);
+
+    /**
+     * Find the revision of a session which has not expired yet, without loading its value.
+     *
+     * @param id The session id.
+     * @return
+     */
+    Maybe<String> findRevisionById(String id);
+
+    /**
+     * Create or replace a session.
+     *
+     * @param session The session.
+     */
+    Completable save(Session session);
+
+    /**
+     * Replace a session only if it has not been updated since it has been read.
+     *
+     * @param session The new version of the session.
+     * @param revision The revision of the session which has been read.
+     * @return <code>false</code> if the stored session has another revision, or does not exist anymore
+     */
+    Single<Boolean> replace(Session session, String revision);
+
+    Completable delete(String id);
+
+    Single<Long> countByDomain(String domain);
+
+    Completable deleteByDomain(String domain);
+}
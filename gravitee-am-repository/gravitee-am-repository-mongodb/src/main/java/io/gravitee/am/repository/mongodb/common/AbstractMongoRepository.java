@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.common;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.gravitee.am.repository.Scope;
+import io.gravitee.am.repository.exceptions.TechnicalException;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.Callable;
+
+/**
+ * Base class of the MongoDB repositories of a {@link Scope}.
+ *
+ * Write settings are read from the scope configuration (e.g. {@code oauth2.mongodb}):
+ * <ul>
+ *     <li>{@code writeConcern}: write concern of all the collections (default: the client one)</li>
+ *     <li>{@code collections.<name>.writeConcern}: write concern of a collection</li>
+ *     <li>{@code readAfterWrite}: read the document again after a create or an update (default: false)</li>
+ * </ul>
+ *
+ * @author GraviteeSource Team
+ */
+public abstract class AbstractMongoRepository {
+
+    @Autowired
+    private Environment environment;
+
+    private final String propertyPrefix;
+
+    private boolean readAfterWrite;
+
+    protected AbstractMongoRepository(Scope scope) {
+        this.propertyPrefix = scope.getName() + ".mongodb.";
+    }
+
+    @PostConstruct
+    public void initWriteSettings() {
+        readAfterWrite = environment.getProperty(propertyPrefix + "readAfterWrite", Boolean.class, false);
+    }
+
+    protected abstract MongoDatabase getDatabase();
+
+    protected <T> MongoCollection<T> getCollection(String collectionName, Class<T> documentClass) {
+        MongoCollection<T> collection = getDatabase().getCollection(collectionName, documentClass);
+        String writeConcern = environment.getProperty(propertyPrefix + "collections." + collectionName + ".writeConcern",
+                environment.getProperty(propertyPrefix + "writeConcern"));
+        if (writeConcern == null) {
+            return collection;
+        }
+
+        WriteConcern concern = WriteConcern.valueOf(writeConcern);
+        if (concern == null) {
+            throw new IllegalArgumentException("Unknown write concern [" + writeConcern + "] for collection " + collectionName);
+        }
+        return collection.withWriteConcern(concern);
+    }
+
+    /**
+     * The document written to the collection is the one built from the entity given to create or update, so the entity
+     * is returned as is unless {@code readAfterWrite} is enabled.
+     *
+     * @param written the entity converted back from the written document
+     * @param reader finds the document again
+     */
+    protected <T> Single<T> afterWrite(Callable<T> written, Callable<Maybe<T>> reader) {
+        if (readAfterWrite) {
+            return Single.defer(() -> reader.call().toSingle());
+        }
+        return Single.fromCallable(written);
+    }
+
+    /**
+     * Same as {@link #afterWrite(Callable, Callable)} for an update, which fails if no document has the id of the entity:
+     * the entity would otherwise be returned as if it had been written.
+     * The matched count is unknown for unacknowledged writes, which are trusted.
+     *
+     * @param updateResult result of the update
+     * @param id id of the updated entity
+     * @param written the entity converted back from the written document
+     * @param reader finds the document again
+     */
+    protected <T> Single<T> afterUpdate(UpdateResult updateResult, String id, Callable<T> written, Callable<Maybe<T>> reader) {
+        if (updateResult.wasAcknowledged() && updateResult.getMatchedCount() == 0) {
+            return Single.error(new TechnicalException("No document found with id [" + id + "]"));
+        }
+        return afterWrite(written, reader);
+    }
+}
@@ -16,6 +16,8 @@
 package io.gravitee.am.repository.mongodb.management;
 
 import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.gravitee.am.repository.Scope;
+import io.gravitee.am.repository.mongodb.common.AbstractMongoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 
@@ -24,9 +26,18 @@ import org.springframework.beans.factory.annotation.Qualifier;
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public abstract class AbstractManagementMongoRepository {
+public abstract class AbstractManagementMongoRepository extends AbstractMongoRepository {
 
     @Autowired
     @Qualifier("managementMongoTemplate")
     protected MongoDatabase mongoOperations;
+
+    protected AbstractManagementMongoRepository() {
+        super(Scope.MANAGEMENT);
+    }
+
+    @Override
+    protected MongoDatabase getDatabase() {
+        return mongoOperations;
+    }
 }
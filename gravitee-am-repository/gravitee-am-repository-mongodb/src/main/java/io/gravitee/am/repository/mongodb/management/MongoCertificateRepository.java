@@ -54,7 +54,7 @@ public class MongoCertificateRepository extends AbstractManagementMongoRepositor
 
     @PostConstruct
     public void init() {
-        certificatesCollection = mongoOperations.getCollection("certificates", CertificateMongo.class);
+        certificatesCollection = getCollection("certificates", CertificateMongo.class);
         certificatesCollection.createIndex(new Document(FIELD_DOMAIN, 1)).subscribe(new LoggableIndexSubscriber());
     }
 
@@ -77,13 +77,13 @@ public class MongoCertificateRepository extends AbstractManagementMongoRepositor
     public Single<Certificate> create(Certificate item) {
         CertificateMongo certificate = convert(item);
         certificate.setId(certificate.getId() == null ? (String) idGenerator.generate() : certificate.getId());
-        return Single.fromPublisher(certificatesCollection.insertOne(certificate)).flatMap(success -> findById(certificate.getId()).toSingle());
+        return Single.fromPublisher(certificatesCollection.insertOne(certificate)).flatMap(success -> afterWrite(() -> convert(certificate), () -> findById(certificate.getId())));
     }
 
     @Override
     public Single<Certificate> update(Certificate item) {
         CertificateMongo certificate = convert(item);
-        return Single.fromPublisher(certificatesCollection.replaceOne(eq(FIELD_ID, certificate.getId()), certificate)).flatMap(updateResult -> findById(certificate.getId()).toSingle());
+        return Single.fromPublisher(certificatesCollection.replaceOne(eq(FIELD_ID, certificate.getId()), certificate)).flatMap(updateResult -> afterUpdate(updateResult, certificate.getId(), () -> convert(certificate), () -> findById(certificate.getId())));
     }
 
     @Override
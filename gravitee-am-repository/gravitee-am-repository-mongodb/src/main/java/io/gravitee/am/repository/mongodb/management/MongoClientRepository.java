@@ -58,7 +58,7 @@ public class MongoClientRepository extends AbstractManagementMongoRepository imp
 
     @PostConstruct
     public void init() {
-        clientsCollection = mongoOperations.getCollection("clients", ClientMongo.class);
+        clientsCollection = getCollection("clients", ClientMongo.class);
         clientsCollection.createIndex(new Document(FIELD_DOMAIN, 1)).subscribe(new LoggableIndexSubscriber());
         clientsCollection.createIndex(new Document(FIELD_DOMAIN, 1).append(FIELD_CLIENT_ID, 1)).subscribe(new LoggableIndexSubscriber());
         clientsCollection.createIndex(new Document(FIELD_IDENTITIES, 1)).subscribe(new LoggableIndexSubscriber());
@@ -119,13 +119,13 @@ public class MongoClientRepository extends AbstractManagementMongoRepository imp
     public Single<Client> create(Client item) {
         ClientMongo client = convert(item);
         client.setId(client.getId() == null ? (String) idGenerator.generate() : client.getId());
-        return Single.fromPublisher(clientsCollection.insertOne(client)).flatMap(success -> findById(client.getId()).toSingle());
+        return Single.fromPublisher(clientsCollection.insertOne(client)).flatMap(success -> afterWrite(() -> convert(client), () -> findById(client.getId())));
     }
 
     @Override
     public Single<Client> update(Client item) {
         ClientMongo client = convert(item);
-        return Single.fromPublisher(clientsCollection.replaceOne(eq(FIELD_ID, client.getId()), client)).flatMap(success -> findById(client.getId()).toSingle());
+        return Single.fromPublisher(clientsCollection.replaceOne(eq(FIELD_ID, client.getId()), client)).flatMap(updateResult -> afterUpdate(updateResult, client.getId(), () -> convert(client), () -> findById(client.getId())));
     }
 
     @Override
@@ -166,6 +166,7 @@ public class MongoClientRepository extends AbstractManagementMongoRepository imp
         client.setIdTokenCustomClaims(clientMongo.getIdTokenCustomClaims());
         client.setCertificate(clientMongo.getCertificate());
         client.setEnhanceScopesWithUserPermissions(clientMongo.isEnhanceScopesWithUserPermissions());
+        client.setStatelessTokens(clientMongo.isStatelessTokens());
         client.setCreatedAt(clientMongo.getCreatedAt());
         client.setUpdatedAt(clientMongo.getUpdatedAt());
         return client;
@@ -194,6 +195,7 @@ public class MongoClientRepository extends AbstractManagementMongoRepository imp
         clientMongo.setIdTokenCustomClaims(client.getIdTokenCustomClaims() != null ? new Document(client.getIdTokenCustomClaims()) : new Document());
         clientMongo.setCertificate(client.getCertificate());
         clientMongo.setEnhanceScopesWithUserPermissions(client.isEnhanceScopesWithUserPermissions());
+        clientMongo.setStatelessTokens(client.isStatelessTokens());
         clientMongo.setCreatedAt(client.getCreatedAt());
         clientMongo.setUpdatedAt(client.getUpdatedAt());
         return clientMongo;
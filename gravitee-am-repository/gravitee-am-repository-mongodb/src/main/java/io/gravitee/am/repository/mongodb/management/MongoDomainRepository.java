@@ -59,7 +59,7 @@ public class MongoDomainRepository extends AbstractManagementMongoRepository imp
 
     @PostConstruct
     public void init() {
-        domainsCollection = mongoOperations.getCollection("domains", DomainMongo.class);
+        domainsCollection = getCollection("domains", DomainMongo.class);
     }
 
     @Override
@@ -81,13 +81,13 @@ public class MongoDomainRepository extends AbstractManagementMongoRepository imp
     public Single<Domain> create(Domain item) {
         DomainMongo domain = convert(item);
         domain.setId(domain.getId() == null ? (String) idGenerator.generate() : domain.getId());
-        return Single.fromPublisher(domainsCollection.insertOne(domain)).flatMap(success -> findById(domain.getId()).toSingle());
+        return Single.fromPublisher(domainsCollection.insertOne(domain)).flatMap(success -> afterWrite(() -> convert(domain), () -> findById(domain.getId())));
     }
 
     @Override
     public Single<Domain> update(Domain item) {
         DomainMongo domain = convert(item);
-        return Single.fromPublisher(domainsCollection.replaceOne(eq(FIELD_ID, domain.getId()), domain)).flatMap(updateResult -> findById(domain.getId()).toSingle());
+        return Single.fromPublisher(domainsCollection.replaceOne(eq(FIELD_ID, domain.getId()), domain)).flatMap(updateResult -> afterUpdate(updateResult, domain.getId(), () -> convert(domain), () -> findById(domain.getId())));
     }
 
     @Override
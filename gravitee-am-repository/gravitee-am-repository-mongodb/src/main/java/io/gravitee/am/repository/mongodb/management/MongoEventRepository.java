@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.management;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.model.common.event.SequencedEvent;
+import io.gravitee.am.model.common.event.Type;
+import io.gravitee.am.repository.management.api.EventRepository;
+import io.gravitee.am.repository.mongodb.common.IdGenerator;
+import io.gravitee.am.repository.mongodb.common.LoggableIndexSubscriber;
+import io.gravitee.am.repository.mongodb.management.internal.model.EventMongo;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gt;
+import static com.mongodb.client.model.Sorts.ascending;
+import static com.mongodb.client.model.Sorts.descending;
+import static com.mongodb.client.model.Updates.max;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class MongoEventRepository extends AbstractManagementMongoRepository implements EventRepository {
+
+    private static final String FIELD_ID = "_id";
+    private static final String FIELD_SEQUENCE = "sequence";
+    private static final String FIELD_DOMAIN = "domain";
+    private static final String FIELD_CREATED_AT = "createdAt";
+    private static final String FIELD_VALUE = "value";
+    private static final String FIELD_ACTION = "action";
+    private static final String FIELD_OPERATION_TYPE = "operationType";
+    private static final String EVENTS_SEQUENCE = "events";
+    // gateways which are late by more than this period do a full synchronization
+    private static final long EVENTS_TTL_DAYS = 7;
+    private static final int MAX_SEQUENCE_CONFLICTS = 10;
+
+    private MongoCollection<EventMongo> eventsCollection;
+    private MongoCollection<Document> sequencesCollection;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @PostConstruct
+    public void init() {
+        eventsCollection = getCollection("events", EventMongo.class);
+        eventsCollection.createIndex(new Document(FIELD_SEQUENCE, 1), new IndexOptions().unique(true)).subscribe(new LoggableIndexSubscriber());
+        eventsCollection.createIndex(new Document(FIELD_DOMAIN, 1).append(FIELD_SEQUENCE, 1)).subscribe(new LoggableIndexSubscriber());
+        eventsCollection.createIndex(new Document(FIELD_CREATED_AT, 1), new IndexOptions().expireAfter(EVENTS_TTL_DAYS, TimeUnit.DAYS)).subscribe(new LoggableIndexSubscriber());
+        sequencesCollection = getCollection("sequences", Document.class);
+    }
+
+    @Override
+    public Single<SequencedEvent> create(SequencedEvent item) {
+        // the sequence number is claimed by the insert itself (unique index on sequence): an append either fails
+        // without consuming a number or is visible right away, the log never has holes
+        return Single.defer(() -> findLastSequence().flatMap(sequence -> {
+                    EventMongo event = convert(item);
+                    event.setId(event.getId() == null ? (String) idGenerator.generate() : event.getId());
+                    event.setSequence(sequence + 1);
+                    event.setCreatedAt(new Date());
+                    return Single.fromPublisher(eventsCollection.insertOne(event)).map(success -> event);
+                }))
+                // another event has been appended concurrently, claim the next number
+                .retry((attempts, ex) -> attempts < MAX_SEQUENCE_CONFLICTS && isDuplicateKey(ex))
+                .flatMap(event -> Completable.fromPublisher(sequencesCollection.updateOne(
+                        eq(FIELD_ID, EVENTS_SEQUENCE),
+                        max(FIELD_VALUE, event.getSequence()),
+                        new UpdateOptions().upsert(true)))
+                        // the event is stored, the counter only matters once every event has expired and is caught up by the next append
+                        .onErrorComplete()
+                        .andThen(Single.fromCallable(() -> convert(event))));
+    }
+
+    @Override
+    public Single<List<SequencedEvent>> findAfter(long sequence, int limit) {
+        return Observable.fromPublisher(eventsCollection.find(gt(FIELD_SEQUENCE, sequence)).sort(ascending(FIELD_SEQUENCE)).limit(limit))
+                .map(this::convert)
+                .toList();
+    }
+
+    @Override
+    public Single<Long> findLastSequence() {
+        // events expire but the sequence never goes back, the counter keeps the last number once the log is empty
+        Single<Long> counter = Observable.fromPublisher(sequencesCollection.find(eq(FIELD_ID, EVENTS_SEQUENCE)).first())
+                .map(sequence -> ((Number) sequence.get(FIELD_VALUE)).longValue())
+                .first(0L);
+        Single<Long> lastEvent = Observable.fromPublisher(eventsCollection.find().sort(descending(FIELD_SEQUENCE)).first())
+                .map(EventMongo::getSequence)
+                .first(0L);
+        return Single.zip(counter, lastEvent, Math::max);
+    }
+
+    @Override
+    public Flowable<Long> watch() {
+        // change streams are only available with replica sets or sharded clusters (MongoDB 3.6+)
+        return Flowable.fromPublisher(eventsCollection.watch(Collections.singletonList(Aggregates.match(eq(FIELD_OPERATION_TYPE, "insert"))), EventMongo.class))
+                .filter(changeStreamDocument -> changeStreamDocument.getFullDocument() != null)
+                .map(changeStreamDocument -> changeStreamDocument.getFullDocument().getSequence());
+    }
+
+    private static boolean isDuplicateKey(Throwable ex) {
+        return ex instanceof MongoWriteException && ((MongoWriteException) ex).getError().getCategory() == ErrorCategory.DUPLICATE_KEY;
+    }
+
+    private SequencedEvent convert(EventMongo eventMongo) {
+        if (eventMongo == null) {
+            return null;
+        }
+
+        Payload content = new Payload(eventMongo.getContent() == null ? new Document() : eventMongo.getContent());
+        if (content.get(FIELD_ACTION) instanceof String) {
+            content.put(FIELD_ACTION, Action.valueOf((String) content.get(FIELD_ACTION)));
+        }
+        SequencedEvent event = new SequencedEvent(eventMongo.getDomain(), Type.valueOf(eventMongo.getType()), content);
+        event.setId(eventMongo.getId());
+        event.setSequence(eventMongo.getSequence());
+        event.setCreatedAt(eventMongo.getCreatedAt());
+        return event;
+    }
+
+    private EventMongo convert(SequencedEvent event) {
+        if (event == null) {
+            return null;
+        }
+
+        EventMongo eventMongo = new EventMongo();
+        eventMongo.setId(event.getId());
+        eventMongo.setSequence(event.getSequence());
+        eventMongo.setDomain(event.getDomain());
+        eventMongo.setType(event.getType().toString());
+        if (event.getPayload() != null) {
+            // do not alter the event payload
+            Document content = new Document(event.getPayload());
+            Object action = event.getPayload().get(FIELD_ACTION);
+            if (action != null) {
+                content.put(FIELD_ACTION, action.toString());
+            }
+            eventMongo.setContent(content);
+        }
+        eventMongo.setCreatedAt(event.getCreatedAt());
+        return eventMongo;
+    }
+}
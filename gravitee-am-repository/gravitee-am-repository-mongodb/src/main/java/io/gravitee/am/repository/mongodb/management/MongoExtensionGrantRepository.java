@@ -53,7 +53,7 @@ public class MongoExtensionGrantRepository extends AbstractManagementMongoReposi
 
     @PostConstruct
     public void init() {
-        extensionGrantsCollection = mongoOperations.getCollection("extension_grants", ExtensionGrantMongo.class);
+        extensionGrantsCollection = getCollection("extension_grants", ExtensionGrantMongo.class);
         extensionGrantsCollection.createIndex(new Document(FIELD_DOMAIN, 1)).subscribe(new LoggableIndexSubscriber());
         extensionGrantsCollection.createIndex(new Document(FIELD_DOMAIN, 1).append(FIELD_GRANT_TYPE, 1)).subscribe(new LoggableIndexSubscriber());
     }
@@ -77,13 +77,13 @@ public class MongoExtensionGrantRepository extends AbstractManagementMongoReposi
     public Single<ExtensionGrant> create(ExtensionGrant item) {
         ExtensionGrantMongo extensionGrant = convert(item);
         extensionGrant.setId(extensionGrant.getId() == null ? (String) idGenerator.generate() : extensionGrant.getId());
-        return Single.fromPublisher(extensionGrantsCollection.insertOne(extensionGrant)).flatMap(success -> findById(extensionGrant.getId()).toSingle());
+        return Single.fromPublisher(extensionGrantsCollection.insertOne(extensionGrant)).flatMap(success -> afterWrite(() -> convert(extensionGrant), () -> findById(extensionGrant.getId())));
     }
 
     @Override
     public Single<ExtensionGrant> update(ExtensionGrant item) {
         ExtensionGrantMongo extensionGrant = convert(item);
-        return Single.fromPublisher(extensionGrantsCollection.replaceOne(eq(FIELD_ID, extensionGrant.getId()), extensionGrant)).flatMap(updateResult -> findById(extensionGrant.getId()).toSingle());
+        return Single.fromPublisher(extensionGrantsCollection.replaceOne(eq(FIELD_ID, extensionGrant.getId()), extensionGrant)).flatMap(updateResult -> afterUpdate(updateResult, extensionGrant.getId(), () -> convert(extensionGrant), () -> findById(extensionGrant.getId())));
     }
 
     @Override
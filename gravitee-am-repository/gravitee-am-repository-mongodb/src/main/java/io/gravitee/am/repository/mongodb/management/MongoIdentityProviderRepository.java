@@ -51,7 +51,7 @@ public class MongoIdentityProviderRepository extends AbstractManagementMongoRepo
 
     @PostConstruct
     public void init() {
-        identitiesCollection = mongoOperations.getCollection("identities", IdentityProviderMongo.class);
+        identitiesCollection = getCollection("identities", IdentityProviderMongo.class);
         identitiesCollection.createIndex(new Document(FIELD_DOMAIN, 1)).subscribe(new LoggableIndexSubscriber());
     }
 
@@ -69,13 +69,13 @@ public class MongoIdentityProviderRepository extends AbstractManagementMongoRepo
     public Single<IdentityProvider> create(IdentityProvider item) {
         IdentityProviderMongo identityProvider = convert(item);
         identityProvider.setId(identityProvider.getId() == null ? (String) idGenerator.generate() : identityProvider.getId());
-        return Single.fromPublisher(identitiesCollection.insertOne(identityProvider)).flatMap(success -> findById(identityProvider.getId()).toSingle());
+        return Single.fromPublisher(identitiesCollection.insertOne(identityProvider)).flatMap(success -> afterWrite(() -> convert(identityProvider), () -> findById(identityProvider.getId())));
     }
 
     @Override
     public Single<IdentityProvider> update(IdentityProvider item) {
         IdentityProviderMongo identityProvider = convert(item);
-        return Single.fromPublisher(identitiesCollection.replaceOne(eq(FIELD_ID, identityProvider.getId()), identityProvider)).flatMap(updateResult -> findById(identityProvider.getId()).toSingle());
+        return Single.fromPublisher(identitiesCollection.replaceOne(eq(FIELD_ID, identityProvider.getId()), identityProvider)).flatMap(updateResult -> afterUpdate(updateResult, identityProvider.getId(), () -> convert(identityProvider), () -> findById(identityProvider.getId())));
     }
 
     @Override
@@ -53,7 +53,7 @@ public class MongoRoleRepository extends AbstractManagementMongoRepository imple
 
     @PostConstruct
     public void init() {
-        rolesCollection = mongoOperations.getCollection("roles", RoleMongo.class);
+        rolesCollection = getCollection("roles", RoleMongo.class);
         rolesCollection.createIndex(new Document(FIELD_DOMAIN, 1)).subscribe(new LoggableIndexSubscriber());
     }
 
@@ -76,13 +76,13 @@ public class MongoRoleRepository extends AbstractManagementMongoRepository imple
     public Single<Role> create(Role item) {
         RoleMongo role = convert(item);
         role.setId(role.getId() == null ? (String) idGenerator.generate() : role.getId());
-        return Single.fromPublisher(rolesCollection.insertOne(role)).flatMap(success -> findById(role.getId()).toSingle());
+        return Single.fromPublisher(rolesCollection.insertOne(role)).flatMap(success -> afterWrite(() -> convert(role), () -> findById(role.getId())));
     }
 
     @Override
     public Single<Role> update(Role item) {
         RoleMongo role = convert(item);
-        return Single.fromPublisher(rolesCollection.replaceOne(eq(FIELD_ID, role.getId()), role)).flatMap(updateResult -> findById(role.getId()).toSingle());
+        return Single.fromPublisher(rolesCollection.replaceOne(eq(FIELD_ID, role.getId()), role)).flatMap(updateResult -> afterUpdate(updateResult, role.getId(), () -> convert(role), () -> findById(role.getId())));
     }
 
     @Override
@@ -54,7 +54,7 @@ public class MongoScopeRepository extends AbstractManagementMongoRepository impl
 
     @PostConstruct
     public void init() {
-        scopesCollection = mongoOperations.getCollection("scopes", ScopeMongo.class);
+        scopesCollection = getCollection("scopes", ScopeMongo.class);
         scopesCollection.createIndex(new Document(FIELD_DOMAIN, 1)).subscribe(new LoggableIndexSubscriber());
         scopesCollection.createIndex(new Document(FIELD_DOMAIN, 1).append(FIELD_KEY, 1)).subscribe(new LoggableIndexSubscriber());
     }
@@ -68,13 +68,13 @@ public class MongoScopeRepository extends AbstractManagementMongoRepository impl
     public Single<Scope> create(Scope item) {
         ScopeMongo scope = convert(item);
         scope.setId(scope.getId() == null ? (String) idGenerator.generate() : scope.getId());
-        return Single.fromPublisher(scopesCollection.insertOne(scope)).flatMap(success -> findById(scope.getId()).toSingle());
+        return Single.fromPublisher(scopesCollection.insertOne(scope)).flatMap(success -> afterWrite(() -> convert(scope), () -> findById(scope.getId())));
     }
 
     @Override
     public Single<Scope> update(Scope item) {
         ScopeMongo scope = convert(item);
-        return Single.fromPublisher(scopesCollection.replaceOne(eq(FIELD_ID, scope.getId()), scope)).flatMap(updateResult -> findById(scope.getId()).toSingle());
+        return Single.fromPublisher(scopesCollection.replaceOne(eq(FIELD_ID, scope.getId()), scope)).flatMap(updateResult -> afterUpdate(updateResult, scope.getId(), () -> convert(scope), () -> findById(scope.getId())));
     }
 
     @Override
@@ -31,11 +31,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.inc;
+import static com.mongodb.client.model.Updates.max;
+import static com.mongodb.client.model.Updates.set;
 
 /**
  * @author Titouan COMPIEGNE (david.brassely at graviteesource.com)
@@ -47,6 +52,8 @@ public class MongoUserRepository extends AbstractManagementMongoRepository imple
     private static final String FIELD_ID = "_id";
     private static final String FIELD_DOMAIN = "domain";
     private static final String FIELD_USERNAME = "username";
+    private static final String FIELD_LOGINS_COUNT = "loginsCount";
+    private static final String FIELD_LOGGED_AT = "loggedAt";
 
     private MongoCollection<UserMongo> usersCollection;
 
@@ -55,7 +62,7 @@ public class MongoUserRepository extends AbstractManagementMongoRepository imple
 
     @PostConstruct
     public void init() {
-        usersCollection = mongoOperations.getCollection("users", UserMongo.class);
+        usersCollection = getCollection("users", UserMongo.class);
         usersCollection.createIndex(new Document(FIELD_DOMAIN, 1)).subscribe(new LoggableIndexSubscriber());
         usersCollection.createIndex(new Document(FIELD_DOMAIN, 1).append(FIELD_USERNAME, 1)).subscribe(new LoggableIndexSubscriber());
     }
@@ -83,6 +90,26 @@ public class MongoUserRepository extends AbstractManagementMongoRepository imple
                 .map(this::convert);
     }
 
+    @Override
+    public Completable updateLogins(String id, long logins, Date loggedAt) {
+        return Completable.fromPublisher(usersCollection.updateOne(eq(FIELD_ID, id),
+                combine(inc(FIELD_LOGINS_COUNT, logins), max(FIELD_LOGGED_AT, loggedAt))));
+    }
+
+    @Override
+    public Single<User> updateProfile(User item) {
+        UserMongo user = convert(item);
+        // only the fields provided by the identity provider, the rest of the user may have been changed concurrently
+        // (management API, login statistics moved by updateLogins)
+        return Single.fromPublisher(usersCollection.updateOne(eq(FIELD_ID, user.getId()), combine(
+                set("source", user.getSource()),
+                set("client", user.getClient()),
+                set("roles", user.getRoles()),
+                set("additionalInformation", user.getAdditionalInformation()),
+                set("updatedAt", user.getUpdatedAt()))))
+                .flatMap(updateResult -> afterUpdate(updateResult, user.getId(), () -> convert(user), () -> findById(user.getId())));
+    }
+
     @Override
     public Maybe<User> findById(String userId) {
         return Observable.fromPublisher(usersCollection.find(eq(FIELD_ID, userId)).first()).firstElement().map(this::convert);
@@ -92,13 +119,13 @@ public class MongoUserRepository extends AbstractManagementMongoRepository imple
     public Single<User> create(User item) {
         UserMongo user = convert(item);
         user.setId(user.getId() == null ? (String) idGenerator.generate() : user.getId());
-        return Single.fromPublisher(usersCollection.insertOne(user)).flatMap(success -> findById(user.getId()).toSingle());
+        return Single.fromPublisher(usersCollection.insertOne(user)).flatMap(success -> afterWrite(() -> convert(user), () -> findById(user.getId())));
     }
 
     @Override
     public Single<User> update(User item) {
         UserMongo user = convert(item);
-        return Single.fromPublisher(usersCollection.replaceOne(eq(FIELD_ID, user.getId()), user)).flatMap(updateResult -> findById(user.getId()).toSingle());
+        return Single.fromPublisher(usersCollection.replaceOne(eq(FIELD_ID, user.getId()), user)).flatMap(updateResult -> afterUpdate(updateResult, user.getId(), () -> convert(user), () -> findById(user.getId())));
     }
 
     @Override
@@ -73,6 +73,8 @@ public class ClientMongo extends Auditable {
 
     private boolean enhanceScopesWithUserPermissions;
 
+    private boolean statelessTokens;
+
     private boolean generateNewTokenPerRequest;
 
     public String getId() {
@@ -211,6 +213,14 @@ public class ClientMongo extends Auditable {
         this.enhanceScopesWithUserPermissions = enhanceScopesWithUserPermissions;
     }
 
+    public boolean isStatelessTokens() {
+        return statelessTokens;
+    }
+
+    public void setStatelessTokens(boolean statelessTokens) {
+        this.statelessTokens = statelessTokens;
+    }
+
     public boolean isGenerateNewTokenPerRequest() {
         return generateNewTokenPerRequest;
     }
@@ -52,7 +52,7 @@ public class MongoAccessTokenRepository extends AbstractOAuth2MongoRepository im
 
     @PostConstruct
     public void init() {
-        accessTokenCollection = mongoOperations.getCollection("access_tokens", AccessTokenMongo.class);
+        accessTokenCollection = getCollection("access_tokens", AccessTokenMongo.class);
 
         // one field index
         accessTokenCollection.createIndex(new Document(FIELD_TOKEN, 1)).subscribe(new LoggableIndexSubscriber());
@@ -83,9 +83,10 @@ public class MongoAccessTokenRepository extends AbstractOAuth2MongoRepository im
 
     @Override
     public Single<AccessToken> create(AccessToken accessToken) {
+        AccessTokenMongo accessTokenMongo = convert(accessToken);
         return Single
-                .fromPublisher(accessTokenCollection.insertOne(convert(accessToken)))
-                .flatMap(success -> findById(accessToken.getId()).toSingle());
+                .fromPublisher(accessTokenCollection.insertOne(accessTokenMongo))
+                .flatMap(success -> afterWrite(() -> convert(accessTokenMongo), () -> findById(accessTokenMongo.getId())));
     }
 
     @Override
@@ -54,7 +54,7 @@ public class MongoAuthorizationCodeRepository extends AbstractOAuth2MongoReposit
 
     @PostConstruct
     public void init() {
-        authorizationCodeCollection = mongoOperations.getCollection("authorization_codes", AuthorizationCodeMongo.class);
+        authorizationCodeCollection = getCollection("authorization_codes", AuthorizationCodeMongo.class);
         authorizationCodeCollection.createIndex(new Document(FIELD_CODE, 1)).subscribe(new LoggableIndexSubscriber());
         authorizationCodeCollection.createIndex(new Document(FIELD_RESET_TIME, 1), new IndexOptions().expireAfter(0l, TimeUnit.SECONDS)).subscribe(new LoggableIndexSubscriber());
     }
@@ -72,9 +72,10 @@ public class MongoAuthorizationCodeRepository extends AbstractOAuth2MongoReposit
             authorizationCode.setId((String) idGenerator.generate());
         }
 
+        AuthorizationCodeMongo authorizationCodeMongo = convert(authorizationCode);
         return Single
-                .fromPublisher(authorizationCodeCollection.insertOne(convert(authorizationCode)))
-                .flatMap(success -> findById(authorizationCode.getId()).toSingle());
+                .fromPublisher(authorizationCodeCollection.insertOne(authorizationCodeMongo))
+                .flatMap(success -> afterWrite(() -> convert(authorizationCodeMongo), () -> findById(authorizationCodeMongo.getId())));
     }
 
     @Override
@@ -52,7 +52,7 @@ public class MongoRefreshTokenRepository extends AbstractOAuth2MongoRepository i
 
     @PostConstruct
     public void init() {
-        refreshTokenCollection = mongoOperations.getCollection("refresh_tokens", RefreshTokenMongo.class);
+        refreshTokenCollection = getCollection("refresh_tokens", RefreshTokenMongo.class);
         refreshTokenCollection.createIndex(new Document(FIELD_TOKEN, 1)).subscribe(new LoggableIndexSubscriber());
         refreshTokenCollection.createIndex(new Document(FIELD_RESET_TIME, 1), new IndexOptions().expireAfter(0L, TimeUnit.SECONDS)).subscribe(new LoggableIndexSubscriber());
     }
@@ -79,9 +79,10 @@ public class MongoRefreshTokenRepository extends AbstractOAuth2MongoRepository i
             refreshToken.setId((String) idGenerator.generate());
         }
 
+        RefreshTokenMongo refreshTokenMongo = convert(refreshToken);
         return Single
-                .fromPublisher(refreshTokenCollection.insertOne(convert(refreshToken)))
-                .flatMap(success -> findById(refreshToken.getId()).toSingle());
+                .fromPublisher(refreshTokenCollection.insertOne(refreshTokenMongo))
+                .flatMap(success -> afterWrite(() -> convert(refreshTokenMongo), () -> findById(refreshTokenMongo.getId())));
     }
 
     @Override
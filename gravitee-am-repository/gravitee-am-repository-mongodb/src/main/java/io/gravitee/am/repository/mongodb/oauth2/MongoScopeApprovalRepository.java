@@ -15,7 +15,11 @@
  */
 package io.gravitee.am.repository.mongodb.oauth2;
 
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.reactivestreams.client.MongoCollection;
 import io.gravitee.am.model.oauth2.ScopeApproval;
 import io.gravitee.am.repository.mongodb.common.IdGenerator;
@@ -27,19 +31,26 @@ import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.reactivex.subscribers.DefaultSubscriber;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.set;
+import static com.mongodb.client.model.Updates.setOnInsert;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -56,6 +67,9 @@ public class MongoScopeApprovalRepository extends AbstractOAuth2MongoRepository
     private static final String FIELD_CLIENT_ID = "clientId";
     private static final String FIELD_EXPIRES_AT = "expiresAt";
     private static final String FIELD_SCOPE = "scope";
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_CREATED_AT = "createdAt";
+    private static final String FIELD_UPDATED_AT = "updatedAt";
     private MongoCollection<ScopeApprovalMongo> scopeApprovalsCollection;
 
     @Autowired
@@ -63,7 +77,7 @@ public class MongoScopeApprovalRepository extends AbstractOAuth2MongoRepository
 
     @PostConstruct
     public void init() {
-        scopeApprovalsCollection = mongoOperations.getCollection("scope_approvals", ScopeApprovalMongo.class);
+        scopeApprovalsCollection = getCollection("scope_approvals", ScopeApprovalMongo.class);
         scopeApprovalsCollection.createIndex(new Document(FIELD_EXPIRES_AT, 1),  new IndexOptions().expireAfter(0l, TimeUnit.SECONDS)).subscribe(new IndexSubscriber());
         scopeApprovalsCollection.createIndex(new Document(FIELD_DOMAIN, 1).append(FIELD_CLIENT_ID, 1).append(FIELD_USER_ID, 1)).subscribe(new IndexSubscriber());
         scopeApprovalsCollection.createIndex(new Document(FIELD_DOMAIN, 1).append(FIELD_CLIENT_ID, 1).append(FIELD_USER_ID, 1).append(FIELD_SCOPE, 1)).subscribe(new IndexSubscriber());
@@ -78,28 +92,19 @@ public class MongoScopeApprovalRepository extends AbstractOAuth2MongoRepository
     public Single<ScopeApproval> create(ScopeApproval scopeApproval) {
         ScopeApprovalMongo scopeApprovalMongo = convert(scopeApproval);
         scopeApprovalMongo.setId(scopeApprovalMongo.getId() == null ? (String) idGenerator.generate() : scopeApprovalMongo.getId());
-        return Single.fromPublisher(scopeApprovalsCollection.insertOne(scopeApprovalMongo)).flatMap(success -> _findById(scopeApprovalMongo.getId()));
+        return Single.fromPublisher(scopeApprovalsCollection.insertOne(scopeApprovalMongo)).flatMap(success -> afterWrite(() -> convert(scopeApprovalMongo), () -> _findById(scopeApprovalMongo.getId()).toMaybe()));
     }
 
     @Override
     public Single<ScopeApproval> update(ScopeApproval scopeApproval) {
         ScopeApprovalMongo scopeApprovalMongo = convert(scopeApproval);
 
-        return Single.fromPublisher(scopeApprovalsCollection.replaceOne(
-                and(eq(FIELD_DOMAIN, scopeApproval.getDomain()),
-                        eq(FIELD_CLIENT_ID, scopeApproval.getClientId()),
-                        eq(FIELD_USER_ID, scopeApproval.getUserId()),
-                        eq(FIELD_SCOPE, scopeApproval.getScope()))
-                , scopeApprovalMongo)).flatMap(updateResult -> Single.just(scopeApproval));
+        return Single.fromPublisher(scopeApprovalsCollection.replaceOne(key(scopeApproval), scopeApprovalMongo)).flatMap(updateResult -> Single.just(scopeApproval));
     }
 
     @Override
     public Single<ScopeApproval> upsert(ScopeApproval scopeApproval) {
-        return Observable.fromPublisher(scopeApprovalsCollection.find(
-                and(eq(FIELD_DOMAIN, scopeApproval.getDomain()),
-                        eq(FIELD_CLIENT_ID, scopeApproval.getClientId()),
-                        eq(FIELD_USER_ID, scopeApproval.getUserId()),
-                        eq(FIELD_SCOPE, scopeApproval.getScope()))).first())
+        return Observable.fromPublisher(scopeApprovalsCollection.find(key(scopeApproval)).first())
                 .firstElement()
                 .isEmpty()
                 .flatMap(isEmpty -> {
@@ -112,6 +117,29 @@ public class MongoScopeApprovalRepository extends AbstractOAuth2MongoRepository
                 });
     }
 
+    @Override
+    public Completable upsertAll(Collection<ScopeApproval> scopeApprovals) {
+        if (scopeApprovals == null || scopeApprovals.isEmpty()) {
+            return Completable.complete();
+        }
+
+        // the _id can not be replaced, so it is only set when the approval is inserted
+        Date now = new Date();
+        List<WriteModel<ScopeApprovalMongo>> writes = scopeApprovals.stream()
+                .map(scopeApproval -> new UpdateOneModel<ScopeApprovalMongo>(
+                        key(scopeApproval),
+                        combine(
+                                set(FIELD_STATUS, scopeApproval.getStatus().name().toUpperCase()),
+                                set(FIELD_EXPIRES_AT, scopeApproval.getExpiresAt()),
+                                set(FIELD_UPDATED_AT, now),
+                                setOnInsert(FIELD_ID, idGenerator.generate()),
+                                setOnInsert(FIELD_CREATED_AT, now)),
+                        new UpdateOptions().upsert(true)))
+                .collect(Collectors.toList());
+
+        return Completable.fromPublisher(scopeApprovalsCollection.bulkWrite(writes, new BulkWriteOptions().ordered(false)));
+    }
+
     @Override
     public Completable delete(String domain, String scope) {
         return Completable.fromPublisher(scopeApprovalsCollection.deleteMany(
@@ -128,6 +156,13 @@ public class MongoScopeApprovalRepository extends AbstractOAuth2MongoRepository
         return Observable.fromPublisher(scopeApprovalsCollection.find(and(eq(FIELD_DOMAIN, domain), eq(FIELD_CLIENT_ID, clientId), eq(FIELD_USER_ID, userId)))).map(this::convert).collect(HashSet::new, Set::add);
     }
 
+    private Bson key(ScopeApproval scopeApproval) {
+        return and(eq(FIELD_DOMAIN, scopeApproval.getDomain()),
+                eq(FIELD_CLIENT_ID, scopeApproval.getClientId()),
+                eq(FIELD_USER_ID, scopeApproval.getUserId()),
+                eq(FIELD_SCOPE, scopeApproval.getScope()));
+    }
+
     private Single<ScopeApproval> _findById(String id) {
         return Single.fromPublisher(scopeApprovalsCollection.find(eq(FIELD_ID, id)).first()).map(this::convert);
     }
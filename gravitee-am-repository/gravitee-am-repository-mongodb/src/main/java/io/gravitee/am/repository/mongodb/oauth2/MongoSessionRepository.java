@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.oauth2;
+
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.gravitee.am.repository.mongodb.common.LoggableIndexSubscriber;
+import io.gravitee.am.repository.mongodb.oauth2.internal.model.SessionMongo;
+import io.gravitee.am.repository.oauth2.api.SessionRepository;
+import io.gravitee.am.repository.oauth2.model.Session;
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
+import io.reactivex.Observable;
+import io.reactivex.Single;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gt;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class MongoSessionRepository extends AbstractOAuth2MongoRepository implements SessionRepository {
+
+    private static final String FIELD_ID = "_id";
+    private static final String FIELD_DOMAIN = "domain";
+    private static final String FIELD_REVISION = "revision";
+    private static final String FIELD_RESET_TIME = "expire_at";
+    private MongoCollection<SessionMongo> sessionsCollection;
+
+    @PostConstruct
+    public void init() {
+        sessionsCollection = getCollection("sessions", SessionMongo.class);
+        sessionsCollection.createIndex(new Document(FIELD_DOMAIN, 1)).subscribe(new LoggableIndexSubscriber());
+        sessionsCollection.createIndex(new Document(FIELD_RESET_TIME, 1), new IndexOptions().expireAfter(0l, TimeUnit.SECONDS)).subscribe(new LoggableIndexSubscriber());
+    }
+
+    @Override
+    public Maybe<Session> findById(String id) {
+        return Observable.fromPublisher(sessionsCollection.find(notExpired(id)).first()).firstElement().map(this::convert);
+    }
+
+    @Override
+    public Maybe<String> findRevisionById(String id) {
+        return Observable
+                .fromPublisher(sessionsCollection.find(notExpired(id)).projection(Projections.include(FIELD_REVISION)).first())
+                .firstElement()
+                .filter(sessionMongo -> sessionMongo.getRevision() != null)
+                .map(SessionMongo::getRevision);
+    }
+
+    @Override
+    public Completable save(Session session) {
+        SessionMongo sessionMongo = convert(session);
+        return Single
+                .fromPublisher(sessionsCollection.replaceOne(eq(FIELD_ID, sessionMongo.getId()), sessionMongo, new UpdateOptions().upsert(true)))
+                .toCompletable();
+    }
+
+    @Override
+    public Single<Boolean> replace(Session session, String revision) {
+        SessionMongo sessionMongo = convert(session);
+        return Single
+                .fromPublisher(sessionsCollection.replaceOne(and(eq(FIELD_ID, sessionMongo.getId()), eq(FIELD_REVISION, revision)), sessionMongo))
+                .map(updateResult -> updateResult.getMatchedCount() == 1);
+    }
+
+    @Override
+    public Completable delete(String id) {
+        return Completable.fromPublisher(sessionsCollection.deleteOne(eq(FIELD_ID, id)));
+    }
+
+    @Override
+    public Single<Long> countByDomain(String domain) {
+        return Single.fromPublisher(sessionsCollection.count(eq(FIELD_DOMAIN, domain)));
+    }
+
+    @Override
+    public Completable deleteByDomain(String domain) {
+        return Completable.fromPublisher(sessionsCollection.deleteMany(eq(FIELD_DOMAIN, domain)));
+    }
+
+    private Bson notExpired(String id) {
+        // the TTL monitor only runs periodically, expired sessions may still be there
+        return and(eq(FIELD_ID, id), gt(FIELD_RESET_TIME, new Date()));
+    }
+
+    private Session convert(SessionMongo sessionMongo) {
+        if (sessionMongo == null) {
+            return null;
+        }
+
+        Session session = new Session();
+        session.setId(sessionMongo.getId());
+        session.setDomain(sessionMongo.getDomain());
+        session.setRevision(sessionMongo.getRevision());
+        session.setValue(sessionMongo.getValue());
+        session.setCreatedAt(sessionMongo.getCreatedAt());
+        session.setUpdatedAt(sessionMongo.getUpdatedAt());
+        session.setExpireAt(sessionMongo.getExpireAt());
+        return session;
+    }
+
+    private SessionMongo convert(Session session) {
+        if (session == null) {
+            return null;
+        }
+
+        SessionMongo sessionMongo = new SessionMongo();
+        sessionMongo.setId(session.getId());
+        sessionMongo.setDomain(session.getDomain());
+        sessionMongo.setRevision(session.getRevision());
+        sessionMongo.setValue(session.getValue());
+        sessionMongo.setCreatedAt(session.getCreatedAt());
+        sessionMongo.setUpdatedAt(session.getUpdatedAt());
+        sessionMongo.setExpireAt(session.getExpireAt());
+        return sessionMongo;
+    }
+}
@@ -134,6 +134,19 @@ public class MongoClientRepositoryTest extends AbstractManagementRepositoryTest
         testObserver.assertValue(c -> c.getClientId().equals(updatedClient.getClientId()));
     }
 
+    @Test
+    public void testUpdate_notFound() throws TechnicalException {
+        Client client = new Client();
+        client.setId("unknown-id");
+        client.setClientId("testClientId");
+
+        TestObserver<Client> testObserver = clientRepository.update(client).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertError(TechnicalException.class);
+        testObserver.assertNoValues();
+    }
+
     @Test
     public void testDelete() throws TechnicalException {
         // create client
@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.management;
+
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.model.common.event.SequencedEvent;
+import io.gravitee.am.model.common.event.Type;
+import io.gravitee.am.repository.exceptions.TechnicalException;
+import io.gravitee.am.repository.management.api.EventRepository;
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+import org.bson.Document;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class MongoEventRepositoryTest extends AbstractManagementRepositoryTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private MongoDatabase mongoDatabase;
+
+    @Override
+    public String collectionName() {
+        return "events";
+    }
+
+    @Test
+    public void testCreate() throws TechnicalException {
+        Payload payload = new Payload("client-id", "testDomain", Action.UPDATE);
+        TestObserver<SequencedEvent> testObserver = eventRepository.create(new SequencedEvent("testDomain", Type.CLIENT, payload)).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(e -> e.getId() != null && e.getSequence() > 0 && e.getCreatedAt() != null);
+        testObserver.assertValue(e -> e.getType() == Type.CLIENT && e.getPayload().getAction() == Action.UPDATE);
+    }
+
+    @Test
+    public void testCreate_concurrentAppends() throws TechnicalException {
+        long initialSequence = eventRepository.findLastSequence().blockingGet();
+
+        TestObserver<List<Long>> testObserver = Observable.range(0, 5)
+                .flatMapSingle(i -> eventRepository.create(new SequencedEvent("testDomain", Type.CLIENT, new Payload("client-" + i, "testDomain", Action.UPDATE)))
+                        .subscribeOn(Schedulers.io()))
+                .map(SequencedEvent::getSequence)
+                .sorted()
+                .toList()
+                .test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        // no sequence number is lost nor shared
+        testObserver.assertValue(Arrays.asList(initialSequence + 1, initialSequence + 2, initialSequence + 3, initialSequence + 4, initialSequence + 5));
+    }
+
+    @Test
+    public void testFindAfter() throws TechnicalException {
+        SequencedEvent first = eventRepository.create(new SequencedEvent("testDomain", Type.DOMAIN, new Payload("testDomain", "testDomain", Action.UPDATE))).blockingGet();
+        SequencedEvent second = eventRepository.create(new SequencedEvent("testDomain", Type.ROLE, new Payload("role-id", "testDomain", Action.CREATE))).blockingGet();
+        SequencedEvent third = eventRepository.create(new SequencedEvent("testDomain", Type.SCOPE, new Payload("scope-id", "testDomain", Action.DELETE))).blockingGet();
+
+        TestObserver<List<SequencedEvent>> testObserver = eventRepository.findAfter(first.getSequence(), 10).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(events -> events.size() == 2
+                && events.get(0).getSequence() == second.getSequence()
+                && events.get(1).getSequence() == third.getSequence());
+
+        eventRepository.findAfter(first.getSequence(), 1).test().assertValue(events -> events.size() == 1);
+    }
+
+    @Test
+    public void testFindLastSequence() throws TechnicalException {
+        long initialSequence = eventRepository.findLastSequence().blockingGet();
+
+        eventRepository.create(new SequencedEvent("testDomain", Type.DOMAIN, new Payload("testDomain", "testDomain", Action.CREATE))).blockingGet();
+        SequencedEvent last = eventRepository.create(new SequencedEvent("testDomain", Type.DOMAIN, new Payload("testDomain", "testDomain", Action.UPDATE))).blockingGet();
+
+        TestObserver<Long> testObserver = eventRepository.findLastSequence().test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(last.getSequence());
+        assertTrue(last.getSequence() > initialSequence);
+    }
+
+    @Test
+    public void testFindLastSequence_eventsExpired() throws TechnicalException {
+        SequencedEvent last = eventRepository.create(new SequencedEvent("testDomain", Type.DOMAIN, new Payload("testDomain", "testDomain", Action.UPDATE))).blockingGet();
+
+        // events are removed by the TTL index
+        Observable.fromPublisher(mongoDatabase.getCollection(collectionName()).deleteMany(new Document())).blockingSubscribe();
+
+        TestObserver<Long> testObserver = eventRepository.findLastSequence().test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(last.getSequence());
+    }
+}
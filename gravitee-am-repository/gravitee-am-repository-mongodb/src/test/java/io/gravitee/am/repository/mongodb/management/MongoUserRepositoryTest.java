@@ -23,6 +23,7 @@ import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.Set;
 
 /**
@@ -110,6 +111,84 @@ public class MongoUserRepositoryTest extends AbstractManagementRepositoryTest {
         testObserver.assertValue(u -> u.getUsername().equals(updatedUser.getUsername()));
     }
 
+    @Test
+    public void testUpdateLogins() throws TechnicalException {
+        // create user
+        User user = new User();
+        user.setUsername("testsUsername");
+        user.setLoginsCount(1L);
+        user.setLoggedAt(new Date(1000));
+        User userCreated = userRepository.create(user).blockingGet();
+
+        // record logins, an older login date must not move the last login date backward
+        userRepository.updateLogins(userCreated.getId(), 2, new Date(3000)).blockingAwait();
+        userRepository.updateLogins(userCreated.getId(), 1, new Date(2000)).blockingAwait();
+
+        TestObserver<User> testObserver = userRepository.findById(userCreated.getId()).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(u -> u.getLoginsCount() == 4 && u.getLoggedAt().getTime() == 3000);
+    }
+
+    @Test
+    public void testUpdateProfile_keepLogins() throws TechnicalException {
+        // create user
+        User user = new User();
+        user.setUsername("testsUsername");
+        user.setLoginsCount(1L);
+        user.setLoggedAt(new Date(1000));
+        User userCreated = userRepository.create(user).blockingGet();
+
+        // logins recorded after the user has been read
+        userRepository.updateLogins(userCreated.getId(), 2, new Date(3000)).blockingAwait();
+
+        // update the profile with stale login statistics
+        userCreated.setRoles(Collections.singletonList("role-1"));
+        userCreated.setLoginsCount(2L);
+        userCreated.setLoggedAt(new Date(2000));
+        userRepository.updateProfile(userCreated).blockingGet();
+
+        TestObserver<User> testObserver = userRepository.findById(userCreated.getId()).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(u -> Collections.singletonList("role-1").equals(u.getRoles())
+                && u.getLoginsCount() == 3 && u.getLoggedAt().getTime() == 3000);
+    }
+
+    @Test
+    public void testUpdateProfile_keepOtherFields() throws TechnicalException {
+        // create user
+        User user = new User();
+        user.setUsername("testsUsername");
+        user.setEnabled(true);
+        User userCreated = userRepository.create(user).blockingGet();
+
+        // user changed by the management API after it has been read
+        User disabledUser = userRepository.findById(userCreated.getId()).blockingGet();
+        disabledUser.setEnabled(false);
+        disabledUser.setEmail("test@gravitee.io");
+        userRepository.update(disabledUser).blockingGet();
+
+        // update the profile with the stale user
+        userCreated.setSource("idp-1");
+        userCreated.setAdditionalInformation(Collections.singletonMap("key", "value"));
+        userCreated.setUpdatedAt(new Date(1000));
+        userRepository.updateProfile(userCreated).blockingGet();
+
+        TestObserver<User> testObserver = userRepository.findById(userCreated.getId()).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(u -> !u.isEnabled() && "test@gravitee.io".equals(u.getEmail())
+                && "idp-1".equals(u.getSource()) && "value".equals(u.getAdditionalInformation().get("key"))
+                && u.getUpdatedAt().getTime() == 1000);
+    }
+
     @Test
     public void testDelete() throws TechnicalException {
         // create user
@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.oauth2;
+
+import io.gravitee.am.repository.oauth2.api.AccessTokenRepository;
+import io.gravitee.am.repository.oauth2.model.AccessToken;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Latency of {@link AccessTokenRepository#create(AccessToken)} with and without reading the token after the write.
+ *
+ * Not part of the default build, run it with {@code mvn test -Dtest=MongoAccessTokenRepositoryBenchmark}.
+ *
+ * @author GraviteeSource Team
+ */
+public class MongoAccessTokenRepositoryBenchmark extends AbstractOAuth2RepositoryTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoAccessTokenRepositoryBenchmark.class);
+
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 5000;
+
+    @Autowired
+    private AccessTokenRepository accessTokenRepository;
+
+    @Override
+    public String collectionName() {
+        return "access_tokens";
+    }
+
+    @Test
+    public void create() {
+        for (boolean readAfterWrite : new boolean[] { true, false, true, false }) {
+            ReflectionTestUtils.setField(accessTokenRepository, "readAfterWrite", readAfterWrite);
+            run(WARMUP);
+            long[] latencies = run(ITERATIONS);
+            Arrays.sort(latencies);
+            LOGGER.info("readAfterWrite={}: avg={} us, p50={} us, p99={} us",
+                    readAfterWrite,
+                    Arrays.stream(latencies).average().orElse(0) / 1000,
+                    latencies[latencies.length / 2] / 1000,
+                    latencies[(int) (latencies.length * 0.99)] / 1000);
+        }
+    }
+
+    private long[] run(int iterations) {
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            AccessToken accessToken = new AccessToken();
+            accessToken.setId(UUID.randomUUID().toString());
+            accessToken.setToken(UUID.randomUUID().toString());
+            accessToken.setClient("client");
+            accessToken.setSubject("subject");
+            accessToken.setCreatedAt(new Date());
+
+            long start = System.nanoTime();
+            accessTokenRepository.create(accessToken).blockingGet();
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+}
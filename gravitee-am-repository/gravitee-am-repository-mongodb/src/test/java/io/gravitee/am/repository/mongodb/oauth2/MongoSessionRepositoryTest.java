@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.am.repository.mongodb.oauth2;
+
+import io.gravitee.am.repository.oauth2.api.SessionRepository;
+import io.gravitee.am.repository.oauth2.model.Session;
+import io.reactivex.observers.TestObserver;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class MongoSessionRepositoryTest extends AbstractOAuth2RepositoryTest {
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Override
+    public String collectionName() {
+        return "sessions";
+    }
+
+    @Test
+    public void shouldSaveSession() {
+        sessionRepository.save(session("session-id", "rev-1", 60000)).blockingAwait();
+
+        TestObserver<Session> testObserver = sessionRepository.findById("session-id").test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+        testObserver.assertValue(session -> "rev-1".equals(session.getRevision())
+                && Arrays.equals(new byte[] { 1, 2, 3 }, session.getValue()));
+    }
+
+    @Test
+    public void shouldReplaceSession() {
+        sessionRepository.save(session("session-id", "rev-1", 60000))
+                .andThen(sessionRepository.save(session("session-id", "rev-2", 60000)))
+                .blockingAwait();
+
+        TestObserver<String> testObserver = sessionRepository.findRevisionById("session-id").test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertValue("rev-2");
+        sessionRepository.countByDomain("domain").test().assertValue(1l);
+    }
+
+    @Test
+    public void shouldReplaceSessionWithSameRevision() {
+        sessionRepository.save(session("session-id", "rev-1", 60000)).blockingAwait();
+
+        TestObserver<Boolean> testObserver = sessionRepository.replace(session("session-id", "rev-2", 60000), "rev-1").test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertValue(true);
+        sessionRepository.findRevisionById("session-id").test().assertValue("rev-2");
+    }
+
+    @Test
+    public void shouldNotReplaceSessionUpdatedConcurrently() {
+        sessionRepository.save(session("session-id", "rev-2", 60000)).blockingAwait();
+
+        TestObserver<Boolean> testObserver = sessionRepository.replace(session("session-id", "rev-3", 60000), "rev-1").test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertValue(false);
+        sessionRepository.findRevisionById("session-id").test().assertValue("rev-2");
+    }
+
+    @Test
+    public void shouldNotFindExpiredSession() {
+        sessionRepository.save(session("session-id", "rev-1", -1000)).blockingAwait();
+
+        sessionRepository.findById("session-id").test().assertEmpty();
+        sessionRepository.findRevisionById("session-id").test().assertEmpty();
+    }
+
+    @Test
+    public void shouldDeleteSession() {
+        sessionRepository.save(session("session-id", "rev-1", 60000))
+                .andThen(sessionRepository.delete("session-id"))
+                .blockingAwait();
+
+        sessionRepository.findById("session-id").test().assertEmpty();
+    }
+
+    private Session session(String id, String revision, long ttl) {
+        Session session = new Session();
+        session.setId(id);
+        session.setDomain("domain");
+        session.setRevision(revision);
+        session.setValue(new byte[] { 1, 2, 3 });
+        session.setCreatedAt(new Date());
+        session.setUpdatedAt(session.getCreatedAt());
+        session.setExpireAt(new Date(System.currentTimeMillis() + ttl));
+        return session;
+    }
+}
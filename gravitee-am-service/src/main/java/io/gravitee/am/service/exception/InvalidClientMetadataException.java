@@ -13,25 +13,21 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.gravitee.am.gateway.handler.jwt.impl;
+package io.gravitee.am.service.exception;
 
-import io.gravitee.am.common.jwt.JWT;
-import io.gravitee.am.gateway.handler.jwt.JwtBuilder;
+import io.gravitee.common.http.HttpStatusCode;
 
 /**
- * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class JJwtBuilder implements JwtBuilder {
+public class InvalidClientMetadataException extends AbstractManagementException {
 
-    private io.jsonwebtoken.JwtBuilder jwtBuilder;
-
-    public JJwtBuilder(io.jsonwebtoken.JwtBuilder jwtBuilder) {
-        this.jwtBuilder = jwtBuilder;
+    public InvalidClientMetadataException(String message) {
+        super(message);
     }
 
     @Override
-    public String sign(JWT payload) {
-        return jwtBuilder.setClaims(payload).compact();
+    public int getHttpStatusCode() {
+        return HttpStatusCode.BAD_REQUEST_400;
     }
 }
@@ -15,6 +15,7 @@
  */
 package io.gravitee.am.service.impl;
 
+import io.gravitee.am.common.oauth2.GrantType;
 import io.gravitee.am.model.Client;
 import io.gravitee.am.model.common.Page;
 import io.gravitee.am.model.common.event.Action;
@@ -29,6 +30,7 @@ import io.gravitee.am.service.IdentityProviderService;
 import io.gravitee.am.service.exception.AbstractManagementException;
 import io.gravitee.am.service.exception.ClientAlreadyExistsException;
 import io.gravitee.am.service.exception.ClientNotFoundException;
+import io.gravitee.am.service.exception.InvalidClientMetadataException;
 import io.gravitee.am.service.exception.TechnicalManagementException;
 import io.gravitee.am.service.model.NewClient;
 import io.gravitee.am.service.model.TopClient;
@@ -304,6 +306,12 @@ public class ClientServiceImpl implements ClientService {
                     }
                 })
                 .flatMap(client -> {
+                    // stateless tokens could not be revoked if an authorization code is replayed
+                    if (updateClient.isStatelessTokens() && updateClient.getAuthorizedGrantTypes() != null
+                            && updateClient.getAuthorizedGrantTypes().contains(GrantType.AUTHORIZATION_CODE)) {
+                        throw new InvalidClientMetadataException("Stateless tokens are not supported for the authorization_code grant type");
+                    }
+
                     client.setScopes(updateClient.getScopes());
                     client.setAutoApproveScopes(updateClient.getAutoApproveScopes());
                     client.setAccessTokenValiditySeconds(updateClient.getAccessTokenValiditySeconds());
@@ -317,6 +325,7 @@ public class ClientServiceImpl implements ClientService {
                     client.setIdTokenCustomClaims(updateClient.getIdTokenCustomClaims());
                     client.setCertificate(updateClient.getCertificate());
                     client.setEnhanceScopesWithUserPermissions(updateClient.isEnhanceScopesWithUserPermissions());
+                    client.setStatelessTokens(updateClient.isStatelessTokens());
                     client.setUpdatedAt(new Date());
 
                     return clientRepository.update(client)
@@ -19,9 +19,11 @@ import io.gravitee.am.model.Domain;
 import io.gravitee.am.model.common.event.Action;
 import io.gravitee.am.model.common.event.Event;
 import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.model.common.event.SequencedEvent;
 import io.gravitee.am.model.common.event.Type;
 import io.gravitee.am.model.login.LoginForm;
 import io.gravitee.am.repository.management.api.DomainRepository;
+import io.gravitee.am.repository.management.api.EventRepository;
 import io.gravitee.am.service.*;
 import io.gravitee.am.service.exception.*;
 import io.gravitee.am.service.model.NewDomain;
@@ -58,6 +60,9 @@ public class DomainServiceImpl implements DomainService {
     @Autowired
     private DomainRepository domainRepository;
 
+    @Autowired
+    private EventRepository eventRepository;
+
     @Autowired
     private ClientService clientService;
 
@@ -127,7 +132,8 @@ public class DomainServiceImpl implements DomainService {
                         domain.setCreatedAt(new Date());
                         domain.setUpdatedAt(domain.getCreatedAt());
                         domain.setLastEvent(new Event(Type.DOMAIN, new Payload(id, id, Action.CREATE)));
-                        return domainRepository.create(domain);
+                        return domainRepository.create(domain)
+                                .flatMap(domain1 -> createEvent(id, new Event(Type.DOMAIN, new Payload(id, id, Action.CREATE))).andThen(Single.just(domain1)));
                     }
                 })
                 .flatMap(this::createSystemScopes)
@@ -162,7 +168,8 @@ public class DomainServiceImpl implements DomainService {
                     domain.setLoginForm(oldDomain.getLoginForm());
                     domain.setLastEvent(new Event(Type.DOMAIN, new Payload(domainId, domainId, Action.UPDATE)));
 
-                    return domainRepository.update(domain);
+                    return domainRepository.update(domain)
+                            .flatMap(domain1 -> createEvent(domainId, new Event(Type.DOMAIN, new Payload(domainId, domainId, Action.UPDATE))).andThen(Single.just(domain1)));
                 })
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
@@ -180,10 +187,13 @@ public class DomainServiceImpl implements DomainService {
         return domainRepository.findById(domainId)
                 .switchIfEmpty(Maybe.error(new DomainNotFoundException(domainId)))
                 .flatMapSingle(oldDomain -> {
+                    // the event is appended once the domain is saved, copy it beforehand
+                    Event sequencedEvent = event == null ? null : new Event(event.getType(), new Payload(event.getPayload()));
                     oldDomain.setUpdatedAt(new Date());
                     oldDomain.setLastEvent(event);
 
-                    return domainRepository.update(oldDomain);
+                    return domainRepository.update(oldDomain)
+                            .flatMap(domain1 -> createEvent(domainId, sequencedEvent).andThen(Single.just(domain1)));
                 })
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
@@ -213,7 +223,8 @@ public class DomainServiceImpl implements DomainService {
                     domain.setLoginForm(oldDomain.getLoginForm());
                     domain.setIdentities(oldDomain.getIdentities());
                     domain.setOauth2Identities(oldDomain.getOauth2Identities());
-                    return domainRepository.update(domain);
+                    return domainRepository.update(domain)
+                            .flatMap(domain1 -> createEvent(domainId, new Event(Type.DOMAIN, new Payload(domainId, domainId, Action.UPDATE))).andThen(Single.just(domain1)));
                 })
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
@@ -277,7 +288,8 @@ public class DomainServiceImpl implements DomainService {
                                         List<Completable> deleteScopesCompletable = scopes.stream().map(s -> scopeService.delete(s.getId(), true)).collect(Collectors.toList());
                                         return Completable.concat(deleteScopesCompletable);
                                     })
-                            .andThen(domainRepository.delete(domainId)));
+                            .andThen(domainRepository.delete(domainId))
+                            .andThen(createEvent(domainId, new Event(Type.DOMAIN, new Payload(domainId, domainId, Action.DELETE)))));
                 })
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
@@ -302,8 +314,10 @@ public class DomainServiceImpl implements DomainService {
 
                     domain.setLoginForm(form);
                     domain.setUpdatedAt(new Date());
+                    domain.setLastEvent(new Event(Type.DOMAIN, new Payload(domainId, domainId, Action.UPDATE)));
 
-                    return domainRepository.update(domain).map(domain1 -> form);
+                    return domainRepository.update(domain)
+                            .flatMap(domain1 -> createEvent(domainId, new Event(Type.DOMAIN, new Payload(domainId, domainId, Action.UPDATE))).andThen(Single.just(form)));
                 })
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
@@ -323,8 +337,10 @@ public class DomainServiceImpl implements DomainService {
                 .flatMapSingle(domain -> {
                     domain.setLoginForm(null);
                     domain.setUpdatedAt(new Date());
+                    domain.setLastEvent(new Event(Type.DOMAIN, new Payload(domainId, domainId, Action.UPDATE)));
 
-                    return domainRepository.update(domain);
+                    return domainRepository.update(domain)
+                            .flatMap(domain1 -> createEvent(domainId, new Event(Type.DOMAIN, new Payload(domainId, domainId, Action.UPDATE))).andThen(Single.just(domain1)));
                 })
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
@@ -336,6 +352,13 @@ public class DomainServiceImpl implements DomainService {
                 });
     }
 
+    private Completable createEvent(String domainId, Event event) {
+        if (event == null) {
+            return Completable.complete();
+        }
+        return eventRepository.create(new SequencedEvent(domainId, event.getType(), event.getPayload())).toCompletable();
+    }
+
     private Single<Domain> createSystemScopes(Domain domain) {
         return Observable.fromArray(io.gravitee.am.common.oidc.Scope.values())
                 .flatMapSingle(systemScope -> {
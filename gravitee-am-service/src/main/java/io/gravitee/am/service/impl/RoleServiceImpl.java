@@ -16,7 +16,12 @@
 package io.gravitee.am.service.impl;
 
 import io.gravitee.am.model.Role;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Event;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.model.common.event.Type;
 import io.gravitee.am.repository.management.api.RoleRepository;
+import io.gravitee.am.service.DomainService;
 import io.gravitee.am.service.RoleService;
 import io.gravitee.am.service.exception.AbstractManagementException;
 import io.gravitee.am.service.exception.RoleAlreadyExistsException;
@@ -49,6 +54,9 @@ public class RoleServiceImpl implements RoleService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private DomainService domainService;
+
     @Override
     public Single<Set<Role>> findByDomain(String domain) {
         LOGGER.debug("Find roles by domain: {}", domain);
@@ -99,6 +107,11 @@ public class RoleServiceImpl implements RoleService {
                     role.setUpdatedAt(role.getCreatedAt());
                     return roleRepository.create(role);
                 })
+                .flatMap(role -> {
+                    // Reload domain to take care about role creation
+                    Event event = new Event(Type.ROLE, new Payload(role.getId(), role.getDomain(), Action.CREATE));
+                    return domainService.reload(domain, event).flatMap(domain1 -> Single.just(role));
+                })
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
                         return Single.error(ex);
@@ -124,6 +137,11 @@ public class RoleServiceImpl implements RoleService {
                                 oldRole.setPermissions(updateRole.getPermissions());
                                 oldRole.setUpdatedAt(new Date());
                                 return roleRepository.update(oldRole);
+                            })
+                            .flatMap(role -> {
+                                // Reload domain to take care about role update
+                                Event event = new Event(Type.ROLE, new Payload(role.getId(), role.getDomain(), Action.UPDATE));
+                                return domainService.reload(domain, event).flatMap(domain1 -> Single.just(role));
                             });
                 })
                 .onErrorResumeNext(ex -> {
@@ -142,7 +160,11 @@ public class RoleServiceImpl implements RoleService {
         LOGGER.debug("Delete role {}", roleId);
         return roleRepository.findById(roleId)
                 .switchIfEmpty(Maybe.error(new RoleNotFoundException(roleId)))
-                .flatMapCompletable(role -> roleRepository.delete(roleId))
+                .flatMapCompletable(role -> {
+                    // Reload domain to take care about delete role
+                    Event event = new Event(Type.ROLE, new Payload(roleId, role.getDomain(), Action.DELETE));
+                    return roleRepository.delete(roleId).andThen(domainService.reload(role.getDomain(), event)).toCompletable();
+                })
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
                         return Completable.error(ex);
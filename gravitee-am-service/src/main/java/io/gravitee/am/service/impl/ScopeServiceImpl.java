@@ -16,9 +16,14 @@
 package io.gravitee.am.service.impl;
 
 import io.gravitee.am.model.oauth2.Scope;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Event;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.model.common.event.Type;
 import io.gravitee.am.repository.management.api.ScopeRepository;
 import io.gravitee.am.repository.oauth2.api.ScopeApprovalRepository;
 import io.gravitee.am.service.ClientService;
+import io.gravitee.am.service.DomainService;
 import io.gravitee.am.service.RoleService;
 import io.gravitee.am.service.ScopeService;
 import io.gravitee.am.service.exception.*;
@@ -62,6 +67,9 @@ public class ScopeServiceImpl implements ScopeService {
     @Autowired
     private ClientService clientService;
 
+    @Autowired
+    private DomainService domainService;
+
     @Override
     public Maybe<Scope> findById(String id) {
         LOGGER.debug("Find scope by ID: {}", id);
@@ -94,6 +102,7 @@ public class ScopeServiceImpl implements ScopeService {
 
                         return scopeRepository.create(scope);
                     })
+                .flatMap(scope -> reload(domain, scope, Action.CREATE))
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
                         return Single.error(ex);
@@ -126,6 +135,7 @@ public class ScopeServiceImpl implements ScopeService {
                     scope.setUpdatedAt(new Date());
                     return scopeRepository.create(scope);
                 })
+                .flatMap(scope -> reload(domain, scope, Action.CREATE))
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
                         return Single.error(ex);
@@ -147,6 +157,7 @@ public class ScopeServiceImpl implements ScopeService {
 
                     return scopeRepository.update(scope);
                 })
+                .flatMap(scope -> reload(domain, scope, Action.UPDATE))
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
                         return Single.error(ex);
@@ -169,6 +180,7 @@ public class ScopeServiceImpl implements ScopeService {
                     scope.setClaims(updateScope.getClaims());
                     return scopeRepository.update(scope);
                 })
+                .flatMap(scope -> reload(domain, scope, Action.UPDATE))
                 .onErrorResumeNext(ex -> {
                     if (ex instanceof AbstractManagementException) {
                         return Single.error(ex);
@@ -226,6 +238,7 @@ public class ScopeServiceImpl implements ScopeService {
                                                     updateClient.setCertificate(client.getCertificate());
                                                     updateClient.setEnabled(client.isEnabled());
                                                     updateClient.setEnhanceScopesWithUserPermissions(client.isEnhanceScopesWithUserPermissions());
+                                                    updateClient.setStatelessTokens(client.isStatelessTokens());
                                                     updateClient.setIdentities(client.getIdentities());
                                                     updateClient.setIdTokenCustomClaims(client.getIdTokenCustomClaims());
                                                     updateClient.setIdTokenValiditySeconds(client.getIdTokenValiditySeconds());
@@ -236,7 +249,10 @@ public class ScopeServiceImpl implements ScopeService {
                                 // 3_ Remove scopes from scope_approvals
                                 .andThen(scopeApprovalRepository.delete(scope.getDomain(), scope.getKey()))
                                 // 4_ Delete scope
-                                .andThen(scopeRepository.delete(scopeId)))
+                                .andThen(scopeRepository.delete(scopeId))
+                                // 5_ Reload domain to take care about scope removal
+                                .andThen(domainService.reload(scope.getDomain(),
+                                        new Event(Type.SCOPE, new Payload(scopeId, scope.getDomain(), Action.DELETE))).toCompletable()))
                                 .onErrorResumeNext(ex -> {
                                     if (ex instanceof AbstractManagementException) {
                                         return Completable.error(ex);
@@ -258,4 +274,10 @@ public class ScopeServiceImpl implements ScopeService {
                             String.format("An error occurs while trying to find scopes by domain: %s", domain), ex));
                 });
     }
+
+    private Single<Scope> reload(String domain, Scope scope, Action action) {
+        // Reload domain to take care about scope creation / update
+        Event event = new Event(Type.SCOPE, new Payload(scope.getId(), domain, action));
+        return domainService.reload(domain, event).flatMap(domain1 -> Single.just(scope));
+    }
 }
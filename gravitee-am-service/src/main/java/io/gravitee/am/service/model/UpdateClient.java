@@ -51,6 +51,8 @@ public class UpdateClient {
 
     private boolean enhanceScopesWithUserPermissions;
 
+    private boolean statelessTokens;
+
     public List<String> getRedirectUris() {
         return redirectUris;
     }
@@ -154,4 +156,12 @@ public class UpdateClient {
     public void setEnhanceScopesWithUserPermissions(boolean enhanceScopesWithUserPermissions) {
         this.enhanceScopesWithUserPermissions = enhanceScopesWithUserPermissions;
     }
+
+    public boolean isStatelessTokens() {
+        return statelessTokens;
+    }
+
+    public void setStatelessTokens(boolean statelessTokens) {
+        this.statelessTokens = statelessTokens;
+    }
 }
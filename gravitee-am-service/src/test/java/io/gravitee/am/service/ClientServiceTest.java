@@ -23,6 +23,7 @@ import io.gravitee.am.repository.exceptions.TechnicalException;
 import io.gravitee.am.repository.management.api.ClientRepository;
 import io.gravitee.am.service.exception.ClientAlreadyExistsException;
 import io.gravitee.am.service.exception.ClientNotFoundException;
+import io.gravitee.am.service.exception.InvalidClientMetadataException;
 import io.gravitee.am.service.exception.TechnicalManagementException;
 import io.gravitee.am.service.impl.ClientServiceImpl;
 import io.gravitee.am.service.model.NewClient;
@@ -473,6 +474,22 @@ public class ClientServiceTest {
         verify(clientRepository, never()).update(any(Client.class));
     }
 
+    @Test
+    public void shouldNotUpdate_statelessTokensWithAuthorizationCode() {
+        UpdateClient updateClient = new UpdateClient();
+        updateClient.setStatelessTokens(true);
+        updateClient.setAuthorizedGrantTypes(Arrays.asList("authorization_code", "refresh_token"));
+        when(clientRepository.findById("my-client")).thenReturn(Maybe.just(new Client()));
+
+        TestObserver testObserver = clientService.update(DOMAIN, "my-client", updateClient).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertError(InvalidClientMetadataException.class);
+        testObserver.assertNotComplete();
+
+        verify(clientRepository, never()).update(any(Client.class));
+    }
+
     @Test
     public void shouldDelete() {
         Client existingClient = Mockito.mock(Client.class);
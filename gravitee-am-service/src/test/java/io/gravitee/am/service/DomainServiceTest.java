@@ -16,9 +16,15 @@
 package io.gravitee.am.service;
 
 import io.gravitee.am.model.*;
+import io.gravitee.am.model.common.event.Action;
+import io.gravitee.am.model.common.event.Event;
+import io.gravitee.am.model.common.event.Payload;
+import io.gravitee.am.model.common.event.SequencedEvent;
+import io.gravitee.am.model.common.event.Type;
 import io.gravitee.am.model.oauth2.Scope;
 import io.gravitee.am.repository.exceptions.TechnicalException;
 import io.gravitee.am.repository.management.api.DomainRepository;
+import io.gravitee.am.repository.management.api.EventRepository;
 import io.gravitee.am.service.exception.DomainAlreadyExistsException;
 import io.gravitee.am.service.exception.DomainDeleteMasterException;
 import io.gravitee.am.service.exception.DomainNotFoundException;
@@ -34,6 +40,7 @@ import io.reactivex.Single;
 import io.reactivex.observers.TestObserver;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -44,6 +51,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -85,6 +93,9 @@ public class DomainServiceTest {
     @Mock
     private DomainRepository domainRepository;
 
+    @Mock
+    private EventRepository eventRepository;
+
     @Mock
     private ClientService clientService;
 
@@ -183,6 +194,7 @@ public class DomainServiceTest {
         when(newDomain.getName()).thenReturn("my-domain");
         when(domainRepository.findById("my-domain")).thenReturn(Maybe.empty());
         when(domainRepository.create(any(Domain.class))).thenReturn(Single.just(new Domain()));
+        when(eventRepository.create(any(SequencedEvent.class))).thenReturn(Single.just(new SequencedEvent(DOMAIN_ID, Type.DOMAIN, null)));
         when(scopeService.create(anyString(), any(NewSystemScope.class))).thenReturn(Single.just(new Scope()));
 
         TestObserver testObserver = domainService.create(newDomain).test();
@@ -193,6 +205,7 @@ public class DomainServiceTest {
 
         verify(domainRepository, times(1)).findById(anyString());
         verify(domainRepository, times(1)).create(any(Domain.class));
+        verify(eventRepository, times(1)).create(any(SequencedEvent.class));
         verify(scopeService, times(io.gravitee.am.common.oidc.Scope.values().length)).create(anyString(), any(NewSystemScope.class));
     }
 
@@ -247,6 +260,7 @@ public class DomainServiceTest {
         UpdateDomain updateDomain = Mockito.mock(UpdateDomain.class);
         when(domainRepository.findById("my-domain")).thenReturn(Maybe.just(new Domain()));
         when(domainRepository.update(any(Domain.class))).thenReturn(Single.just(new Domain()));
+        when(eventRepository.create(any(SequencedEvent.class))).thenReturn(Single.just(new SequencedEvent(DOMAIN_ID, Type.DOMAIN, null)));
 
         TestObserver testObserver = domainService.update("my-domain", updateDomain).test();
         testObserver.awaitTerminalEvent();
@@ -256,6 +270,23 @@ public class DomainServiceTest {
 
         verify(domainRepository, times(1)).findById(anyString());
         verify(domainRepository, times(1)).update(any(Domain.class));
+        verify(eventRepository, times(1)).create(any(SequencedEvent.class));
+    }
+
+    @Test
+    public void shouldUpdate_eventAppendFailure() {
+        UpdateDomain updateDomain = Mockito.mock(UpdateDomain.class);
+        when(domainRepository.findById("my-domain")).thenReturn(Maybe.just(new Domain()));
+        when(domainRepository.update(any(Domain.class))).thenReturn(Single.just(new Domain()));
+        when(eventRepository.create(any(SequencedEvent.class))).thenReturn(Single.error(TechnicalException::new));
+
+        TestObserver testObserver = domainService.update("my-domain", updateDomain).test();
+        testObserver.awaitTerminalEvent();
+
+        // the domain is saved without any event, gateways pick the change up when reconciling their domains
+        testObserver.assertError(TechnicalManagementException.class);
+        verify(domainRepository, times(1)).update(any(Domain.class));
+        verify(eventRepository, times(1)).create(any(SequencedEvent.class));
     }
 
     @Test
@@ -314,6 +345,7 @@ public class DomainServiceTest {
 
         when(domainRepository.findById(DOMAIN_ID)).thenReturn(Maybe.just(domain));
         when(domainRepository.delete(DOMAIN_ID)).thenReturn(Completable.complete());
+        when(eventRepository.create(any(SequencedEvent.class))).thenReturn(Single.just(new SequencedEvent(DOMAIN_ID, Type.DOMAIN, null)));
         when(clientService.findByDomain(DOMAIN_ID)).thenReturn(Single.just(mockClients));
         when(clientService.delete(anyString())).thenReturn(Completable.complete());
         when(certificate.getId()).thenReturn(CERTIFICATE_ID);
@@ -350,6 +382,7 @@ public class DomainServiceTest {
     public void shouldDeleteWithoutRelatedData() {
         when(domainRepository.findById(DOMAIN_ID)).thenReturn(Maybe.just(domain));
         when(domainRepository.delete(DOMAIN_ID)).thenReturn(Completable.complete());
+        when(eventRepository.create(any(SequencedEvent.class))).thenReturn(Single.just(new SequencedEvent(DOMAIN_ID, Type.DOMAIN, null)));
         when(clientService.findByDomain(DOMAIN_ID)).thenReturn(Single.just(Collections.emptySet()));
         when(certificateService.findByDomain(DOMAIN_ID)).thenReturn(Single.just(Collections.emptyList()));
         when(identityProviderService.findByDomain(DOMAIN_ID)).thenReturn(Single.just(Collections.emptyList()));
@@ -417,6 +450,7 @@ public class DomainServiceTest {
         UpdateLoginForm updateLoginForm = mock(UpdateLoginForm.class);
         when(domainRepository.findById(DOMAIN_ID)).thenReturn(Maybe.just(new Domain()));
         when(domainRepository.update(any(Domain.class))).thenReturn(Single.just(new Domain()));
+        when(eventRepository.create(any(SequencedEvent.class))).thenReturn(Single.just(new SequencedEvent(DOMAIN_ID, Type.DOMAIN, null)));
 
         TestObserver testObserver = domainService.updateLoginForm(DOMAIN_ID, updateLoginForm).test();
         testObserver.awaitTerminalEvent();
@@ -457,6 +491,7 @@ public class DomainServiceTest {
     public void shouldDeleteLoginForm() {
         when(domainRepository.findById(DOMAIN_ID)).thenReturn(Maybe.just(new Domain()));
         when(domainRepository.update(any(Domain.class))).thenReturn(Single.just(new Domain()));
+        when(eventRepository.create(any(SequencedEvent.class))).thenReturn(Single.just(new SequencedEvent(DOMAIN_ID, Type.DOMAIN, null)));
 
         TestObserver testObserver = domainService.deleteLoginForm(DOMAIN_ID).test();
         testObserver.awaitTerminalEvent();
@@ -495,6 +530,7 @@ public class DomainServiceTest {
     public void shouldSetMasterDomain() {
         when(domainRepository.findById(DOMAIN_ID)).thenReturn(Maybe.just(new Domain()));
         when(domainRepository.update(any(Domain.class))).thenReturn(Single.just(new Domain()));
+        when(eventRepository.create(any(SequencedEvent.class))).thenReturn(Single.just(new SequencedEvent(DOMAIN_ID, Type.DOMAIN, null)));
 
         TestObserver testObserver = domainService.setMasterDomain(DOMAIN_ID, true).test();
         testObserver.awaitTerminalEvent();
@@ -566,4 +602,61 @@ public class DomainServiceTest {
 
         verify(domainRepository, never()).update(any(Domain.class));
     }
+
+    @Test
+    public void shouldReload_appendEvent() {
+        when(domainRepository.findById(DOMAIN_ID)).thenReturn(Maybe.just(new Domain()));
+        when(domainRepository.update(any(Domain.class))).thenReturn(Single.just(new Domain()));
+        when(eventRepository.create(any(SequencedEvent.class))).thenReturn(Single.just(new SequencedEvent(DOMAIN_ID, Type.DOMAIN, null)));
+
+        TestObserver testObserver = domainService.reload(DOMAIN_ID, new Event(Type.CLIENT, new Payload("client-id", DOMAIN_ID, Action.UPDATE))).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+
+        ArgumentCaptor<SequencedEvent> eventCaptor = ArgumentCaptor.forClass(SequencedEvent.class);
+        verify(eventRepository, times(1)).create(eventCaptor.capture());
+        assertEquals(DOMAIN_ID, eventCaptor.getValue().getDomain());
+        assertEquals(Type.CLIENT, eventCaptor.getValue().getType());
+        assertEquals(Action.UPDATE, eventCaptor.getValue().getPayload().getAction());
+    }
+
+    @Test
+    public void shouldUpdateLoginForm_appendEvent() {
+        when(domainRepository.findById(DOMAIN_ID)).thenReturn(Maybe.just(new Domain()));
+        when(domainRepository.update(any(Domain.class))).thenReturn(Single.just(new Domain()));
+        when(eventRepository.create(any(SequencedEvent.class))).thenReturn(Single.just(new SequencedEvent(DOMAIN_ID, Type.DOMAIN, null)));
+
+        TestObserver testObserver = domainService.updateLoginForm(DOMAIN_ID, mock(UpdateLoginForm.class)).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+
+        ArgumentCaptor<SequencedEvent> eventCaptor = ArgumentCaptor.forClass(SequencedEvent.class);
+        verify(eventRepository, times(1)).create(eventCaptor.capture());
+        assertEquals(DOMAIN_ID, eventCaptor.getValue().getDomain());
+        assertEquals(Type.DOMAIN, eventCaptor.getValue().getType());
+        assertEquals(Action.UPDATE, eventCaptor.getValue().getPayload().getAction());
+    }
+
+    @Test
+    public void shouldDeleteLoginForm_appendEvent() {
+        when(domainRepository.findById(DOMAIN_ID)).thenReturn(Maybe.just(new Domain()));
+        when(domainRepository.update(any(Domain.class))).thenReturn(Single.just(new Domain()));
+        when(eventRepository.create(any(SequencedEvent.class))).thenReturn(Single.just(new SequencedEvent(DOMAIN_ID, Type.DOMAIN, null)));
+
+        TestObserver testObserver = domainService.deleteLoginForm(DOMAIN_ID).test();
+        testObserver.awaitTerminalEvent();
+
+        testObserver.assertComplete();
+        testObserver.assertNoErrors();
+
+        ArgumentCaptor<SequencedEvent> eventCaptor = ArgumentCaptor.forClass(SequencedEvent.class);
+        verify(eventRepository, times(1)).create(eventCaptor.capture());
+        assertEquals(DOMAIN_ID, eventCaptor.getValue().getDomain());
+        assertEquals(Type.DOMAIN, eventCaptor.getValue().getType());
+        assertEquals(Action.UPDATE, eventCaptor.getValue().getPayload().getAction());
+    }
 }
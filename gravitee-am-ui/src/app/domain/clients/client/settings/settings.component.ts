@@ -154,6 +154,15 @@ export class ClientSettingsComponent implements OnInit {
     return this.client.enhanceScopesWithUserPermissions;
   }
 
+  enableStatelessTokens(event) {
+    this.client.statelessTokens = event.checked;
+    this.formChanged = true;
+  }
+
+  isStatelessTokens() {
+    return this.client.statelessTokens;
+  }
+
   update() {
     this.client.authorizedGrantTypes = this.selectedGrantTypes.concat(this.selectedCustomGrantTypes);
     this.client.scopes = _.map(this.selectedScopes, scope => scope.key);